@@ -0,0 +1,56 @@
+package org.observertc.webrtc.connector;
+
+import org.observertc.webrtc.schemas.reports.Report;
+import org.observertc.webrtc.schemas.reports.ReportType;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.function.Supplier;
+
+/**
+ * Synthetic reports of one report type made by the {@link ReportGenerator} of the tests.
+ * Benchmarks extending it are measured for every report type the generator can make.
+ */
+@State(Scope.Thread)
+public abstract class ReportsState {
+    public static final int POOL_SIZE = 1024;
+
+    @Param({"INITIATED_CALL", "FINISHED_CALL", "JOINED_PEER_CONNECTION", "EXTENSION"})
+    public ReportType reportType;
+
+    protected Report[] reports;
+    private int index = 0;
+
+    @Setup
+    public void setupReports() {
+        Supplier<Report> supplier = makeSupplier(this.reportType);
+        this.reports = new Report[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; ++i) {
+            this.reports[i] = supplier.get();
+        }
+    }
+
+    protected Report nextReport() {
+        Report result = this.reports[this.index];
+        this.index = (this.index + 1) % POOL_SIZE;
+        return result;
+    }
+
+    private static Supplier<Report> makeSupplier(ReportType reportType) {
+        ReportGenerator generator = new ReportGenerator();
+        switch (reportType) {
+            case INITIATED_CALL:
+                return generator.initiatedCallReportSupplier("myCall", "myOtherCall", "anotherCall");
+            case FINISHED_CALL:
+                return generator.finishedCallReportSupplier("myCall", "myOtherCall", "anotherCall");
+            case JOINED_PEER_CONNECTION:
+                return generator.joinedPeerConnectionReportSupplier("myCall", "myOtherCall", "anotherCall");
+            case EXTENSION:
+                return generator.extensionStatReportSupplier("CUSTOM_TYPE_1", "{\"value\": 1}");
+            default:
+                throw new IllegalArgumentException("The report generator cannot make reports of type " + reportType);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.observertc.webrtc.connector.databases;
+
+import org.observertc.webrtc.connector.ReportsState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReportMapperBenchmark extends ReportsState {
+
+    private ReportMapper jdbcMapper;
+    private ReportMapper bigQueryMapper;
+    private Object[] row;
+
+    @Setup
+    public void setup() {
+        this.jdbcMapper = ReportMappers.makeJDBCReportMapper(this.reports[0]);
+        this.bigQueryMapper = ReportMappers.makeBigQueryReportMapper(this.reports[0]);
+        this.row = new Object[this.jdbcMapper.getColumnNames().length];
+    }
+
+    @Benchmark
+    public Map<String, Object> jdbcApply() {
+        return this.jdbcMapper.apply(this.nextReport());
+    }
+
+    @Benchmark
+    public Object[] jdbcWrite() {
+        this.jdbcMapper.write(this.nextReport(), this.row, 0);
+        return this.row;
+    }
+
+    @Benchmark
+    public Map<String, Object> bigQueryApply() {
+        return this.bigQueryMapper.apply(this.nextReport());
+    }
+}
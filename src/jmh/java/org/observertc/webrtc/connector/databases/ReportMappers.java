@@ -0,0 +1,27 @@
+package org.observertc.webrtc.connector.databases;
+
+import org.apache.avro.specific.SpecificRecordBase;
+import org.observertc.webrtc.connector.databases.bigquery.version1.BigQuerySchemaMapper;
+import org.observertc.webrtc.connector.databases.jdbc.version1.PostgresSchemaMapper;
+import org.observertc.webrtc.schemas.reports.Report;
+
+/**
+ * Makes the report mappers of the schema mappers without connecting to any database.
+ */
+public class ReportMappers {
+
+    public static ReportMapper makeJDBCReportMapper(Report report) {
+        SchemaMapperAbstract schemaMapper = new PostgresSchemaMapper(() -> null);
+        return makeReportMapper(schemaMapper, report);
+    }
+
+    public static ReportMapper makeBigQueryReportMapper(Report report) {
+        SchemaMapperAbstract schemaMapper = new BigQuerySchemaMapper(null, "project", "dataset");
+        return makeReportMapper(schemaMapper, report);
+    }
+
+    private static ReportMapper makeReportMapper(SchemaMapperAbstract schemaMapper, Report report) {
+        SpecificRecordBase payload = (SpecificRecordBase) report.getPayload();
+        return schemaMapper.makeReportMapper(report.getType(), payload.getSchema());
+    }
+}
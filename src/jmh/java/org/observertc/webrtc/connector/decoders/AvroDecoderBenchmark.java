@@ -0,0 +1,73 @@
+package org.observertc.webrtc.connector.decoders;
+
+import org.observertc.webrtc.connector.ReportsState;
+import org.observertc.webrtc.connector.common.StringInterner;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AvroDecoderBenchmark extends ReportsState {
+
+    private AvroDecoder decoder;
+    private AvroDecoder rejectingDecoder;
+    private AvroDecoder interningDecoder;
+    private byte[][] messages;
+    private int index = 0;
+    private Report reused = null;
+
+    @Setup
+    public void setup() throws Exception {
+        this.decoder = new AvroDecoder();
+        this.rejectingDecoder = new AvroDecoder().withEnvelopeFilter(envelope -> false);
+        this.interningDecoder = new AvroDecoder().withStringInterner(new StringInterner(4096, 64));
+        this.messages = new byte[POOL_SIZE][];
+        for (int i = 0; i < POOL_SIZE; ++i) {
+            this.messages[i] = this.reports[i].toByteBuffer().array();
+        }
+    }
+
+    @Benchmark
+    public Report decode() {
+        byte[] message = this.messages[this.index];
+        this.index = (this.index + 1) % POOL_SIZE;
+        return this.decoder.decode(message);
+    }
+
+    @Benchmark
+    public Report decodeReusingReport() {
+        byte[] message = this.messages[this.index];
+        this.index = (this.index + 1) % POOL_SIZE;
+        this.reused = this.decoder.decode(message, this.reused);
+        return this.reused;
+    }
+
+    /**
+     * Measures reading the envelope of reports the filters drop before their payload is decoded.
+     */
+    @Benchmark
+    public Report decodeRejectedEnvelope() {
+        byte[] message = this.messages[this.index];
+        this.index = (this.index + 1) % POOL_SIZE;
+        return this.rejectingDecoder.decode(message);
+    }
+
+    @Benchmark
+    public Report decodeInterningStrings() {
+        byte[] message = this.messages[this.index];
+        this.index = (this.index + 1) % POOL_SIZE;
+        return this.interningDecoder.decode(message);
+    }
+}
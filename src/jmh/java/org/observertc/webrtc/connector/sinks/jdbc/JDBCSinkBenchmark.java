@@ -0,0 +1,92 @@
+package org.observertc.webrtc.connector.sinks.jdbc;
+
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.observertc.webrtc.connector.ReportsState;
+import org.observertc.webrtc.connector.databases.ReportMapper;
+import org.observertc.webrtc.connector.databases.ReportMappers;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures mapping and binding the reports to the prepared statements of the {@link JDBCSink}.
+ * The connection is a stub discarding the bound values, so the database is not measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JDBCSinkBenchmark extends ReportsState {
+    private static final int BATCH_SIZE = 128;
+
+    private JDBCSink sink;
+    private List<Report> batch;
+
+    @Setup
+    public void setup() {
+        Connection connection = makeConnection();
+        this.sink = new JDBCSink(() -> DSL.using(connection, SQLDialect.POSTGRES));
+        ReportMapper mapper = ReportMappers.makeJDBCReportMapper(this.reports[0]);
+        List<Field> fields = Arrays.stream(mapper.getColumnNames())
+                .map(columnName -> DSL.field(DSL.name(columnName)))
+                .collect(Collectors.toList());
+        this.sink.withRoute(this.reportType, DSL.table(DSL.name(this.reportType.name().toLowerCase())), mapper, fields);
+        this.batch = Arrays.asList(Arrays.copyOf(this.reports, BATCH_SIZE));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void bindBatch() {
+        this.sink.onNext(this.batch);
+    }
+
+    private static Connection makeConnection() {
+        PreparedStatement statement = makeStub(PreparedStatement.class);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        return statement;
+                    }
+                    return defaultValue(method);
+                });
+    }
+
+    private static <T> T makeStub(Class<T> klass) {
+        Object result = Proxy.newProxyInstance(klass.getClassLoader(), new Class[]{klass},
+                (proxy, method, args) -> defaultValue(method));
+        return klass.cast(result);
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (boolean.class.equals(returnType)) {
+            return false;
+        } else if (int.class.equals(returnType)) {
+            return 0;
+        } else if (long.class.equals(returnType)) {
+            return 0L;
+        } else if (int[].class.equals(returnType)) {
+            return new int[0];
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package org.observertc.webrtc.connector.transformations;
+
+import org.observertc.webrtc.connector.ReportsState;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.observertc.webrtc.schemas.reports.ReportType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransformationBenchmark extends ReportsState {
+
+    private Filter filter;
+    private CallSanitizer callSanitizer;
+    private ReportObfuscator reportObfuscator;
+    private ExtensionStatEvaluator extensionStatEvaluator;
+
+    @Setup
+    public void setup() throws Exception {
+        List<String> reportTypes = Arrays.stream(ReportType.values()).map(Enum::name).collect(Collectors.toList());
+        FilterBuilder filterBuilder = new FilterBuilder();
+        filterBuilder.withConfiguration(Map.of("reportType", Map.of("including", reportTypes)));
+        this.filter = filterBuilder.build();
+        this.reportObfuscator = new ReportObfuscator(MessageDigest.getInstance("SHA-256"));
+        ExtensionStatEvaluatorBuilder.Config config = new ExtensionStatEvaluatorBuilder.Config();
+        config.enabled = true;
+        this.extensionStatEvaluator = new ExtensionStatEvaluator().withConfig(config);
+    }
+
+    /**
+     * The sanitizer remembers the calls it has seen, so after the first round over the reports
+     * it measures the path of the duplicated reports.
+     */
+    @Setup(Level.Iteration)
+    public void setupCallSanitizer() {
+        this.callSanitizer = new CallSanitizer();
+    }
+
+    @Benchmark
+    public Optional<Report> filter() throws Throwable {
+        return this.filter.transform(this.nextReport());
+    }
+
+    @Benchmark
+    public Optional<Report> callSanitizer() throws Throwable {
+        return this.callSanitizer.transform(this.nextReport());
+    }
+
+    @Benchmark
+    public Optional<Report> reportObfuscator() throws Throwable {
+        return this.reportObfuscator.transform(this.nextReport());
+    }
+
+    @Benchmark
+    public Optional<Report> extensionStatEvaluator() throws Throwable {
+        return this.extensionStatEvaluator.transform(this.nextReport());
+    }
+}
@@ -2,6 +2,7 @@ package org.observertc.webrtc.connector.common;
 
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.NoCredentials;
 import com.google.cloud.bigquery.BigQuery;
 import com.google.cloud.bigquery.BigQueryOptions;
 import org.slf4j.Logger;
@@ -20,9 +21,24 @@ public class BigQueryService {
     private final BigQuery bigQuery;
 
     public BigQueryService(String projectId, String datasetId, String credentialFile) {
+        this(projectId, datasetId, credentialFile, null);
+    }
+
+    /**
+     * @param host the host of the API (i.e.: http://localhost:9050 for an emulator), no credentials are used if it is given
+     */
+    public BigQueryService(String projectId, String datasetId, String credentialFile, String host) {
         this.projectId = projectId;
         this.datasetId = datasetId;
-        if (Objects.isNull(credentialFile)) {
+        if (Objects.nonNull(host)) {
+            logger.info("Host {} is used for BigQuery without credentials", host);
+            this.bigQuery = BigQueryOptions.newBuilder()
+                    .setHost(host)
+                    .setProjectId(projectId)
+                    .setCredentials(NoCredentials.getInstance())
+                    .build()
+                    .getService();
+        } else if (Objects.isNull(credentialFile)) {
             logger.info("No crednetialfile has been set, the default (GOOGLE_APPLICATION_CREDENTIALS) will be used");
             this.bigQuery = BigQueryOptions.getDefaultInstance().getService();
         } else {
@@ -0,0 +1,32 @@
+package org.observertc.webrtc.connector.common;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how often a recurring event is logged. Events between two logs are counted,
+ * so the next log can tell how many of them have been suppressed.
+ */
+public class LogRateLimiter {
+    private final long periodInNanos;
+    private final AtomicLong nextLog;
+    private final AtomicLong suppressed = new AtomicLong(0);
+
+    public LogRateLimiter(Duration period) {
+        this.periodInNanos = period.toNanos();
+        this.nextLog = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * @return the number of events suppressed since the last log if this event should be logged, otherwise -1
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        long nextLog = this.nextLog.get();
+        if (now - nextLog < 0 || !this.nextLog.compareAndSet(nextLog, now + this.periodInNanos)) {
+            this.suppressed.incrementAndGet();
+            return -1;
+        }
+        return this.suppressed.getAndSet(0);
+    }
+}
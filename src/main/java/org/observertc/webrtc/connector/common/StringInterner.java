@@ -0,0 +1,75 @@
+package org.observertc.webrtc.connector.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A bounded cache of strings keyed by their UTF-8 bytes, so the decoders can return the same instance
+ * for the values repeating across reports (service names, call names, media unit ids, etc.)
+ * without making a new string from the bytes first.
+ *
+ * <p>The cache is a table indexed by the hash of the bytes, and a new string replaces the one
+ * having the same index, hence the number of retained strings never exceeds the capacity.
+ * The table is read and written without locks: its entries are immutable, and a racing
+ * thread at most misses a cached string and makes a new one.
+ */
+public class StringInterner {
+
+    private final Entry[] table;
+    private final int mask;
+    private final int maxLength;
+
+    /**
+     * @param capacity  the number of cached strings, rounded up to a power of two
+     * @param maxLength strings encoded to more bytes than this are not cached
+     */
+    public StringInterner(int capacity, int maxLength) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of the interned strings must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.table = new Entry[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    public String intern(byte[] bytes, int offset, int length) {
+        if (this.maxLength < length) {
+            return new String(bytes, offset, length, StandardCharsets.UTF_8);
+        }
+        int hash = hash(bytes, offset, length);
+        int index = hash & this.mask;
+        Entry entry = this.table[index];
+        if (Objects.nonNull(entry) && entry.hash == hash &&
+                Arrays.equals(entry.bytes, 0, entry.bytes.length, bytes, offset, offset + length)) {
+            return entry.value;
+        }
+        String value = new String(bytes, offset, length, StandardCharsets.UTF_8);
+        this.table[index] = new Entry(hash, Arrays.copyOfRange(bytes, offset, offset + length), value);
+        return value;
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int result = 1;
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            result = 31 * result + bytes[i];
+        }
+        return result ^ (result >>> 16);
+    }
+
+    private static class Entry {
+        final int hash;
+        final byte[] bytes;
+        final String value;
+
+        Entry(int hash, byte[] bytes, String value) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.value = value;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.function.Function;
 
 public class FieldValueResolver implements Function<SpecificRecordBase, Map.Entry<String, Optional<Object>>> {
     private final String fieldName;
+    private final String columnName;
     private final Function valueResolver;
     private final Function<String, String> fieldNameResolver;
 
@@ -20,12 +21,13 @@ public class FieldValueResolver implements Function<SpecificRecordBase, Map.Entr
         this.fieldName = fieldName;
         this.fieldNameResolver = fieldNameResolver;
         this.valueResolver = valueResolver;
+        this.columnName = fieldNameResolver.apply(fieldName).toLowerCase();
     }
 
     public Map.Entry<String, Optional<Object>> apply(SpecificRecordBase record) {
         Object fieldValue = record.get(this.fieldName);
         String newField = this.fieldNameResolver.apply(this.fieldName);
-        Object newValue = this.valueResolver.apply(fieldValue);
+        Object newValue = this.resolve(fieldValue);
         if (Objects.isNull(newValue)) {
             return Map.entry(newField, Optional.empty());
         } else {
@@ -33,4 +35,24 @@ public class FieldValueResolver implements Function<SpecificRecordBase, Map.Entr
         }
     }
 
+    /**
+     * Converts the value of the field, null values are not converted
+     */
+    public Object resolve(Object fieldValue) {
+        if (Objects.isNull(fieldValue)) {
+            return null;
+        }
+        return this.valueResolver.apply(fieldValue);
+    }
+
+    public String getFieldName() {
+        return this.fieldName;
+    }
+
+    /**
+     * The lowercase name the value is mapped to
+     */
+    public String getColumnName() {
+        return this.columnName;
+    }
 }
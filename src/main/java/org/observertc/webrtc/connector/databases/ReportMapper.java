@@ -1,47 +1,131 @@
 package org.observertc.webrtc.connector.databases;
 
+import org.apache.avro.Schema;
 import org.apache.avro.specific.SpecificRecordBase;
 
 import java.util.*;
 import java.util.function.Function;
 
+/**
+ * Maps avro records to rows.
+ *
+ * <p>Columns are the mapped fields in the order they are added, followed by the columns
+ * of the embedded mappers. The positions of the fields are resolved once for every record schema,
+ * so {@link #write(SpecificRecordBase, Object[], int)} does not look up fields by name and
+ * does not allocate anything for a record.
+ */
 public class ReportMapper implements Function<SpecificRecordBase, Map<String, Object>> {
-    private List<FieldValueResolver> resolvers = new LinkedList<>();
-    private Map<String, ReportMapper> embeddedResolvers = new HashMap<>();
+    private List<FieldValueResolver> resolvers = new ArrayList<>();
+    private Map<String, ReportMapper> embeddedResolvers = new LinkedHashMap<>();
+    private volatile Positions positions = null;
+    private String[] columnNames = null;
 
     @Override
     public Map<String, Object> apply(SpecificRecordBase subject) {
+        String[] columnNames = this.getColumnNames();
+        Object[] row = new Object[columnNames.length];
+        this.write(subject, row, 0);
         Map<String, Object> result = new HashMap<>();
-        for (FieldValueResolver resolver : this.resolvers) {
-            Map.Entry<String, Optional<Object>> kv = resolver.apply(subject);
-            Optional<Object> valueHolder = kv.getValue();
-            String fieldName = kv.getKey().toLowerCase();
-            if (valueHolder.isPresent()) {
-                result.put(fieldName, valueHolder.get());
+        for (int i = 0; i < columnNames.length; ++i) {
+            result.put(columnNames[i], row[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the mapped values of the record into the row from the given offset.
+     *
+     * @return the offset right after the last written column
+     */
+    public int write(SpecificRecordBase record, Object[] row, int offset) {
+        Positions positions = this.getPositions(record.getSchema());
+        for (int i = 0; i < positions.fields.length; ++i) {
+            int position = positions.fields[i];
+            Object value = position < 0 ? null : record.get(position);
+            row[offset++] = this.resolvers.get(i).resolve(value);
+        }
+        int embeddedIndex = 0;
+        for (ReportMapper embeddedMapper : this.embeddedResolvers.values()) {
+            int position = positions.embedded[embeddedIndex++];
+            Object embeddedRecord = position < 0 ? null : record.get(position);
+            if (embeddedRecord instanceof SpecificRecordBase) {
+                offset = embeddedMapper.write((SpecificRecordBase) embeddedRecord, row, offset);
             } else {
-                result.put(fieldName, null);
+                int columns = embeddedMapper.getColumnNames().length;
+                Arrays.fill(row, offset, offset + columns, null);
+                offset += columns;
             }
         }
+        return offset;
+    }
 
-        for (Map.Entry<String, ReportMapper> entry : embeddedResolvers.entrySet()) {
-            String fieldName = entry.getKey();
-            ReportMapper reportMapper = entry.getValue();
-            SpecificRecordBase embeddedRecord = (SpecificRecordBase) subject.get(fieldName);
-            Map<String, Object> embeddedResult = reportMapper.apply(embeddedRecord);
-            result.putAll(embeddedResult);
+    /**
+     * The lowercase names of the columns in the order {@link #write(SpecificRecordBase, Object[], int)} writes them
+     */
+    public String[] getColumnNames() {
+        String[] result = this.columnNames;
+        if (Objects.nonNull(result)) {
+            return result;
+        }
+        List<String> names = new ArrayList<>();
+        for (FieldValueResolver resolver : this.resolvers) {
+            names.add(resolver.getColumnName());
         }
+        for (ReportMapper embeddedMapper : this.embeddedResolvers.values()) {
+            names.addAll(Arrays.asList(embeddedMapper.getColumnNames()));
+        }
+        result = names.toArray(new String[0]);
+        this.columnNames = result;
         return result;
     }
 
     public<TIn, TOut> ReportMapper add(String fieldName, Function<String, String> fieldAdapter, Function<TIn, TOut> valueAdapter) {
         var resolver = new FieldValueResolver(fieldName, fieldAdapter, valueAdapter);
         this.resolvers.add(resolver);
+        this.columnNames = null;
         return this;
     }
 
     public ReportMapper add(String fieldName, ReportMapper reportMapper) {
         this.embeddedResolvers.put(fieldName, reportMapper);
+        this.columnNames = null;
         return this;
     }
 
+    private Positions getPositions(Schema schema) {
+        Positions result = this.positions;
+        if (Objects.nonNull(result) && result.schema == schema) {
+            return result;
+        }
+        result = new Positions(schema);
+        this.positions = result;
+        return result;
+    }
+
+    private class Positions {
+        final Schema schema;
+        final int[] fields;
+        final int[] embedded;
+
+        Positions(Schema schema) {
+            this.schema = schema;
+            this.fields = new int[resolvers.size()];
+            for (int i = 0; i < this.fields.length; ++i) {
+                this.fields[i] = positionOf(schema, resolvers.get(i).getFieldName());
+            }
+            this.embedded = new int[embeddedResolvers.size()];
+            int index = 0;
+            for (String fieldName : embeddedResolvers.keySet()) {
+                this.embedded[index++] = positionOf(schema, fieldName);
+            }
+        }
+
+        private int positionOf(Schema schema, String fieldName) {
+            Schema.Field field = schema.getField(fieldName);
+            if (Objects.isNull(field)) {
+                return -1;
+            }
+            return field.pos();
+        }
+    }
 }
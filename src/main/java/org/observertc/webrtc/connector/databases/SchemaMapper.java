@@ -1,5 +1,6 @@
 package org.observertc.webrtc.connector.databases;
 
+import org.apache.avro.Schema;
 import org.observertc.webrtc.connector.common.Task;
 import org.observertc.webrtc.schemas.reports.ReportType;
 import org.slf4j.Logger;
@@ -18,6 +19,8 @@ public interface SchemaMapper extends Task {
 
     ReportMapper getReportMapper(ReportType reportType);
 
+    Schema getSchema(ReportType reportType);
+
     Map<ReportType, ReportMapper> getReportMappers();
 
 }
@@ -88,6 +88,13 @@ public abstract class SchemaMapperAbstract extends Job implements SchemaMapper {
         return this.reportMappers.get(reportType);
     }
 
+    /**
+     * @return the schema of the payload the reports of the given type are mapped from
+     */
+    public Schema getSchema(ReportType reportType) {
+        return this.schemaMap.get(reportType);
+    }
+
     protected abstract boolean isDatabaseExists();
     protected abstract boolean isTableExistsForReportType(ReportType reportType, Schema schema);
     protected abstract void createDatabase();
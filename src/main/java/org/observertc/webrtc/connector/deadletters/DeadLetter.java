@@ -0,0 +1,58 @@
+package org.observertc.webrtc.connector.deadletters;
+
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.util.Objects;
+
+/**
+ * A message or a report the pipeline could not process, together with the reason of the failure.
+ * The payload of a rejected report is its avro single object encoded form, the same format the decoder reads.
+ */
+public class DeadLetter {
+    public enum Stage {
+        /**
+         * The message could not be decoded
+         */
+        DECODER,
+        /**
+         * The report was rejected by the sink
+         */
+        SINK
+    }
+
+    public static DeadLetter ofMessage(byte[] message, Throwable error) {
+        return new DeadLetter(Stage.DECODER, describe(error), null, message);
+    }
+
+    public static DeadLetter ofReport(Report report, String error) {
+        String reportType = Objects.isNull(report.getType()) ? null : report.getType().name();
+        byte[] payload;
+        try {
+            payload = report.toByteBuffer().array();
+        } catch (Exception ex) {
+            return new DeadLetter(Stage.SINK, error + "; the report cannot be encoded: " + describe(ex), reportType, null);
+        }
+        return new DeadLetter(Stage.SINK, error, reportType, payload);
+    }
+
+    private static String describe(Throwable error) {
+        if (Objects.isNull(error)) {
+            return null;
+        }
+        return error.getClass().getName() + ": " + error.getMessage();
+    }
+
+    public final Stage stage;
+    public final String error;
+    public final String reportType;
+    public final long timestamp;
+    public final byte[] payload;
+
+    private DeadLetter(Stage stage, String error, String reportType, byte[] payload) {
+        this.stage = stage;
+        this.error = error;
+        this.reportType = reportType;
+        this.timestamp = System.currentTimeMillis();
+        this.payload = payload;
+    }
+}
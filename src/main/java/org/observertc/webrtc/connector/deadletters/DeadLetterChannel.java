@@ -0,0 +1,111 @@
+package org.observertc.webrtc.connector.deadletters;
+
+import io.micrometer.core.instrument.Counter;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.processors.FlowableProcessor;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.observertc.webrtc.connector.common.LogRateLimiter;
+import org.observertc.webrtc.connector.pipelines.PipelineMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the dead letters of a pipeline into batches, and writes the batches on a separate thread,
+ * so the components of the pipeline are never blocked by the dead letter writer.
+ *
+ * <p>If the writer cannot keep up, the batches exceeding {@link DeadLetterChannelBuilder.Config#maxPendingBatches}
+ * are dropped and counted as lost.
+ */
+public class DeadLetterChannel {
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterChannel.class);
+    private static final long CLOSE_TIMEOUT_IN_S = 30;
+
+    /**
+     * Dead letters are only counted, components not part of a pipeline built with dead letters use it
+     */
+    public static DeadLetterChannel disabled() {
+        return new DeadLetterChannel(null, new DeadLetterChannelBuilder.Config(), PipelineMetrics.disabled());
+    }
+
+    private final DeadLetterWriter writer;
+    private final FlowableProcessor<DeadLetter> deadLetters;
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private final Counter[] accepted;
+    private final Counter lost;
+    private final LogRateLimiter logRateLimiter = new LogRateLimiter(Duration.ofSeconds(10));
+
+    DeadLetterChannel(DeadLetterWriter writer, DeadLetterChannelBuilder.Config config, PipelineMetrics metrics) {
+        this.writer = writer;
+        DeadLetter.Stage[] stages = DeadLetter.Stage.values();
+        this.accepted = new Counter[stages.length];
+        for (DeadLetter.Stage stage : stages) {
+            this.accepted[stage.ordinal()] = metrics.makeDeadLettersCounter(stage.name());
+        }
+        this.lost = metrics.makeDeadLettersLostCounter();
+        this.deadLetters = PublishProcessor.<DeadLetter>create().toSerialized();
+        if (Objects.isNull(writer)) {
+            this.closed.countDown();
+            return;
+        }
+        Flowable<List<DeadLetter>> batches;
+        if (config.maxWaitingTimeInS < 1) {
+            batches = this.deadLetters.buffer(config.maxItems);
+        } else {
+            batches = this.deadLetters.buffer(config.maxWaitingTimeInS, TimeUnit.SECONDS, Schedulers.computation(), config.maxItems);
+        }
+        batches
+                .filter(batch -> !batch.isEmpty())
+                .onBackpressureDrop(batch -> this.lost.increment(batch.size()))
+                .observeOn(Schedulers.io(), false, config.maxPendingBatches)
+                .doFinally(this.closed::countDown)
+                .subscribe(this::write, error -> logger.warn("Dead letter channel is terminated by an error", error));
+    }
+
+    public boolean isEnabled() {
+        return Objects.nonNull(this.writer);
+    }
+
+    public void accept(DeadLetter deadLetter) {
+        this.accepted[deadLetter.stage.ordinal()].increment();
+        if (Objects.isNull(this.writer)) {
+            return;
+        }
+        this.deadLetters.onNext(deadLetter);
+    }
+
+    /**
+     * Writes the pending dead letters and closes the writer
+     */
+    public void close() {
+        this.deadLetters.onComplete();
+        try {
+            if (!this.closed.await(CLOSE_TIMEOUT_IN_S, TimeUnit.SECONDS)) {
+                logger.warn("Pending dead letters are not written in {}s", CLOSE_TIMEOUT_IN_S);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Objects.nonNull(this.writer)) {
+            this.writer.close();
+        }
+    }
+
+    private void write(List<DeadLetter> batch) {
+        try {
+            this.writer.write(batch);
+        } catch (Throwable t) {
+            this.lost.increment(batch.size());
+            long suppressed = this.logRateLimiter.tryAcquire();
+            if (0 <= suppressed) {
+                logger.warn("Cannot write {} dead letters, {} failures suppressed since the last log", batch.size(), suppressed, t);
+            }
+        }
+    }
+}
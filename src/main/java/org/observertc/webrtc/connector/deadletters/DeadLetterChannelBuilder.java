@@ -0,0 +1,92 @@
+package org.observertc.webrtc.connector.deadletters;
+
+import org.observertc.webrtc.connector.configbuilders.AbstractBuilder;
+import org.observertc.webrtc.connector.configbuilders.ConfigConverter;
+import org.observertc.webrtc.connector.pipelines.PipelineMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class DeadLetterChannelBuilder extends AbstractBuilder {
+    public enum Type {
+        FILE,
+        KAFKA
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterChannelBuilder.class);
+    private String pipelineName = "pipeline";
+    private PipelineMetrics metrics = PipelineMetrics.disabled();
+
+    /**
+     * @return the channel, or null if it is not configured properly
+     */
+    public DeadLetterChannel build() {
+        Config config = this.convertAndValidate(Config.class);
+        DeadLetterWriter writer;
+        switch (config.type) {
+            case FILE:
+                if (Objects.isNull(config.path)) {
+                    logger.warn("Dead letters of pipeline {} cannot be written into files without a path", this.pipelineName);
+                    return null;
+                }
+                writer = new FileDeadLetterWriter(config.path, this.pipelineName);
+                break;
+            case KAFKA:
+                if (Objects.isNull(config.topic)) {
+                    logger.warn("Dead letters of pipeline {} cannot be sent to kafka without a topic", this.pipelineName);
+                    return null;
+                }
+                Map<String, Object> properties = ConfigConverter.flatten(config.properties, ".");
+                writer = new KafkaDeadLetterWriter(properties, config.topic, this.pipelineName);
+                break;
+            default:
+                logger.warn("Unknown dead letter channel type {}", config.type);
+                return null;
+        }
+        return new DeadLetterChannel(writer, config, this.metrics);
+    }
+
+    public DeadLetterChannelBuilder withPipelineName(String pipelineName) {
+        this.pipelineName = pipelineName;
+        return this;
+    }
+
+    public DeadLetterChannelBuilder withMetrics(PipelineMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    public static class Config {
+
+        @NotNull
+        public Type type = Type.FILE;
+
+        /**
+         * The directory the files are written into if the type is FILE
+         */
+        public String path;
+
+        /**
+         * The topic the dead letters are sent to if the type is KAFKA
+         */
+        public String topic;
+
+        /**
+         * The properties of the kafka producer if the type is KAFKA
+         */
+        public Map<String, Object> properties = new HashMap<>();
+
+        @Min(1)
+        public int maxItems = 1000;
+
+        public int maxWaitingTimeInS = 10;
+
+        @Min(1)
+        public int maxPendingBatches = 16;
+    }
+}
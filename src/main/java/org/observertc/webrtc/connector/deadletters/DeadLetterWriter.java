@@ -0,0 +1,15 @@
+package org.observertc.webrtc.connector.deadletters;
+
+import java.util.List;
+
+/**
+ * Writes the batches of a {@link DeadLetterChannel}. Batches are written one at a time.
+ */
+public interface DeadLetterWriter {
+
+    void write(List<DeadLetter> deadLetters) throws Exception;
+
+    default void close() {
+
+    }
+}
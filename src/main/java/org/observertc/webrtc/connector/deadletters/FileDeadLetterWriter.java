@@ -0,0 +1,39 @@
+package org.observertc.webrtc.connector.deadletters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Writes every batch of dead letters into a new file of the directory, one JSON object per line.
+ * The payload is base64 encoded.
+ */
+class FileDeadLetterWriter implements DeadLetterWriter {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Path directory;
+    private final String pipelineName;
+    private int seqNum = 0;
+
+    FileDeadLetterWriter(String path, String pipelineName) {
+        this.directory = Paths.get(path);
+        this.pipelineName = pipelineName;
+    }
+
+    @Override
+    public void write(List<DeadLetter> deadLetters) throws Exception {
+        Files.createDirectories(this.directory);
+        String fileName = String.format("%s-%d-%05d.jsonl", this.pipelineName, System.currentTimeMillis(), ++this.seqNum);
+        try (BufferedWriter writer = Files.newBufferedWriter(this.directory.resolve(fileName), StandardCharsets.UTF_8)) {
+            for (DeadLetter deadLetter : deadLetters) {
+                writer.write(OBJECT_MAPPER.writeValueAsString(deadLetter));
+                writer.newLine();
+            }
+        }
+    }
+}
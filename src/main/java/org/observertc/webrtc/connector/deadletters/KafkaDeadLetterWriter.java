@@ -0,0 +1,69 @@
+package org.observertc.webrtc.connector.deadletters;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.Future;
+
+/**
+ * Sends the payloads of the dead letters to a kafka topic as they are,
+ * and the reason of the failure in the headers of the records.
+ */
+class KafkaDeadLetterWriter implements DeadLetterWriter {
+    static final String PIPELINE_HEADER = "pipeline";
+    static final String STAGE_HEADER = "stage";
+    static final String ERROR_HEADER = "error";
+    static final String REPORT_TYPE_HEADER = "reportType";
+    static final String TIMESTAMP_HEADER = "timestamp";
+
+    private final KafkaProducer<byte[], byte[]> producer;
+    private final String topic;
+    private final String pipelineName;
+
+    KafkaDeadLetterWriter(Map<String, Object> properties, String topic, String pipelineName) {
+        Properties producerProperties = new Properties();
+        producerProperties.putAll(properties);
+        this.producer = new KafkaProducer<>(producerProperties, new ByteArraySerializer(), new ByteArraySerializer());
+        this.topic = topic;
+        this.pipelineName = pipelineName;
+    }
+
+    @Override
+    public void write(List<DeadLetter> deadLetters) throws Exception {
+        List<Future<?>> sent = new ArrayList<>(deadLetters.size());
+        for (DeadLetter deadLetter : deadLetters) {
+            RecordHeaders headers = new RecordHeaders();
+            this.addHeader(headers, PIPELINE_HEADER, this.pipelineName);
+            this.addHeader(headers, STAGE_HEADER, deadLetter.stage.name());
+            this.addHeader(headers, ERROR_HEADER, deadLetter.error);
+            this.addHeader(headers, REPORT_TYPE_HEADER, deadLetter.reportType);
+            this.addHeader(headers, TIMESTAMP_HEADER, Long.toString(deadLetter.timestamp));
+            sent.add(this.producer.send(new ProducerRecord<byte[], byte[]>(this.topic, null, null, deadLetter.payload, headers)));
+        }
+        this.producer.flush();
+        for (Future<?> future : sent) {
+            future.get();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.producer.close(Duration.ofSeconds(10));
+    }
+
+    private void addHeader(RecordHeaders headers, String key, String value) {
+        if (Objects.isNull(value)) {
+            return;
+        }
+        headers.add(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -17,23 +17,68 @@
 package org.observertc.webrtc.connector.decoders;
 
 import io.reactivex.rxjava3.annotations.NonNull;
-import io.reactivex.rxjava3.core.Observer;
-import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.SchemaStore;
+import org.apache.avro.specific.SpecificData;
 import org.apache.avro.specific.SpecificDatumReader;
+import org.observertc.webrtc.connector.common.LogRateLimiter;
+import org.observertc.webrtc.connector.common.StringInterner;
+import org.observertc.webrtc.connector.deadletters.DeadLetter;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
+import org.observertc.webrtc.connector.pipelines.PipelineMetrics;
 import org.observertc.webrtc.schemas.reports.Report;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Objects;
+import java.util.function.Predicate;
 
-
+/**
+ * Decodes avro single object encoded reports.
+ *
+ * <p>Messages encoded with the schema of the {@link Report} the connector is built with are read
+ * by one reused {@link BinaryDecoder} directly from the received bytes. Messages encoded with other schemas
+ * are resolved by the writer schema their fingerprint refers to, if that schema is given by
+ * {@link #withWriterSchemas(Collection)}. The resolvers are cached for every writer schema.
+ *
+ * <p>If a {@link StringInterner} is set, the string fields of the reports are looked up by their bytes in it,
+ * so the values repeating across reports share one instance.
+ *
+ * <p>If an envelope filter is set, the fields of the reports encoded with the same schema are read first,
+ * the payload is skipped, and the payload is decoded only if the envelope filter accepts the report.
+ *
+ * <p>Not thread safe, every lane has its own decoder.
+ */
 public class AvroDecoder implements Decoder {
 	private static final Logger logger = LoggerFactory.getLogger(AvroDecoder.class);
+	// avro single object encoding: 2 bytes of marker followed by the 8 bytes long little endian schema fingerprint
+	private static final int SINGLE_OBJECT_HEADER_LENGTH = 10;
+	private static final byte[] SINGLE_OBJECT_HEADER = makeSingleObjectHeader();
+	private static final String PAYLOAD_FIELD_NAME = "payload";
 
-	private final SpecificDatumReader<Report> reader;
+	private SpecificDatumReader<Report> reader;
 	private final boolean rethrowException;
+	private BinaryDecoder decoder = null;
+	private BinaryMessageDecoder<Report> messageDecoder = Report.getDecoder();
+	private SchemaStore.Cache schemaStore = null;
+	private StringInterner stringInterner = null;
+	private PipelineMetrics metrics = PipelineMetrics.disabled();
+	private DeadLetterChannel deadLetters = DeadLetterChannel.disabled();
+	private final LogRateLimiter logRateLimiter = new LogRateLimiter(Duration.ofSeconds(10));
+	private Predicate<Report> envelopeFilter = null;
+	private Report envelope = null;
 
 	public AvroDecoder() {
 		this(false);
@@ -44,43 +89,105 @@ public class AvroDecoder implements Decoder {
 		this.rethrowException = rethrowException;
 	}
 
+	@Override
+	public AvroDecoder withMetrics(PipelineMetrics metrics) {
+		this.metrics = metrics;
+		return this;
+	}
+
+	/**
+	 * Sets the schemas of the earlier generations of the report, the messages encoded with them are
+	 * resolved to the report schema the connector is built with.
+	 */
+	public AvroDecoder withWriterSchemas(Collection<Schema> writerSchemas) {
+		this.schemaStore = new SchemaStore.Cache();
+		writerSchemas.forEach(this.schemaStore::addSchema);
+		this.messageDecoder = this.makeMessageDecoder();
+		return this;
+	}
+
+	/**
+	 * Sets the cache the decoded strings are interned by, it can be shared by the decoders of several lanes.
+	 */
+	public AvroDecoder withStringInterner(StringInterner stringInterner) {
+		this.stringInterner = stringInterner;
+		this.reader = Objects.isNull(stringInterner) ? new SpecificDatumReader<>(Report.class) :
+				new InterningDatumReader<>(Report.class, stringInterner);
+		this.messageDecoder = this.makeMessageDecoder();
+		return this;
+	}
+
+	@Override
+	public AvroDecoder withDeadLetters(DeadLetterChannel deadLetters) {
+		this.deadLetters = deadLetters;
+		return this;
+	}
+
+	@Override
+	public AvroDecoder withEnvelopeFilter(Predicate<Report> envelopeFilter) {
+		this.envelopeFilter = envelopeFilter;
+		this.envelope = Objects.isNull(envelopeFilter) ? null : new Report();
+		return this;
+	}
+
 	@NonNull
 	@Override
-	public Observer<? super byte[]> apply(@NonNull Observer<? super Report> observer) throws Exception {
-		return new Observer<byte[]>() {
-			Disposable disposable;
+	public Subscriber<? super byte[]> apply(@NonNull Subscriber<? super Report> subscriber) throws Exception {
+		return new FlowableSubscriber<byte[]>() {
+			Subscription upstream;
 			@Override
-			public void onSubscribe(@NonNull Disposable d) {
-				disposable = d;
+			public void onSubscribe(@NonNull Subscription s) {
+				upstream = s;
+				subscriber.onSubscribe(s);
 			}
 
 			@Override
 			public void onNext(@NonNull byte[] bytes) {
 				Report result = decode(bytes);
 				if (Objects.isNull(result)) {
+					// the dropped message was requested by the downstream, so we ask for another one
+					upstream.request(1);
 					return;
 				}
-				observer.onNext(result);
+				subscriber.onNext(result);
 			}
 
 			@Override
 			public void onError(@NonNull Throwable e) {
-				observer.onError(e);
+				subscriber.onError(e);
 			}
 
 			@Override
 			public void onComplete() {
-				observer.onComplete();
+				subscriber.onComplete();
 			}
 		};
 	}
 
 	public Report decode(byte[] bytes) {
+		return this.decode(bytes, null);
+	}
+
+	/**
+	 * Decodes the bytes into the given report if it is not null.
+	 * The reused report must not be referenced anymore when it is passed, hence
+	 * it can be used only if the previous report is processed before the next one is decoded.
+	 *
+	 * @return the decoded report, or null if it cannot be decoded or the envelope filter rejects it
+	 */
+	public Report decode(byte[] bytes, Report reuse) {
 		Report report;
 		try {
-			report = Report.fromByteBuffer(ByteBuffer.wrap(bytes));
+			report = this.read(bytes, reuse);
 		} catch (Exception e) {
-			logger.error("Error during avro decoding process. BYTES:" + Arrays.toString(bytes), e);
+			this.metrics.incrementDecodeFailures();
+			this.deadLetters.accept(DeadLetter.ofMessage(bytes, e));
+			// a burst of corrupt messages must not flood the log, the failures are counted by the metrics
+			long suppressed = this.logRateLimiter.tryAcquire();
+			if (0 <= suppressed) {
+				logger.error("Error during avro decoding process of a message with {} bytes, {} failures are suppressed since the last log",
+						bytes.length, suppressed, e);
+			}
 			if (rethrowException) {
 				throw new RuntimeException(e);
 			}
@@ -89,4 +196,96 @@ public class AvroDecoder implements Decoder {
 		return report;
 	}
 
+	/**
+	 * Decodes the bytes without handling the failures, used by the decoders decoding a message
+	 * of several reports entirely or not at all.
+	 *
+	 * @return the decoded report, or null if the envelope filter rejects it
+	 */
+	Report read(byte[] bytes, Report reuse) throws IOException {
+		if (!this.isEncodedWithReportSchema(bytes)) {
+			return this.messageDecoder.decode(ByteBuffer.wrap(bytes), reuse);
+		}
+		if (Objects.nonNull(this.envelopeFilter) && !this.acceptEnvelope(bytes)) {
+			this.metrics.incrementEnvelopeDrops();
+			return null;
+		}
+		this.decoder = DecoderFactory.get().binaryDecoder(bytes, SINGLE_OBJECT_HEADER_LENGTH,
+				bytes.length - SINGLE_OBJECT_HEADER_LENGTH, this.decoder);
+		return this.reader.read(reuse, this.decoder);
+	}
+
+	/**
+	 * Reads every field of the report except the payload into the reused envelope, and tests it by the envelope filter.
+	 */
+	private boolean acceptEnvelope(byte[] bytes) throws IOException {
+		this.decoder = DecoderFactory.get().binaryDecoder(bytes, SINGLE_OBJECT_HEADER_LENGTH,
+				bytes.length - SINGLE_OBJECT_HEADER_LENGTH, this.decoder);
+		for (Schema.Field field : Report.getClassSchema().getFields()) {
+			if (PAYLOAD_FIELD_NAME.equals(field.name())) {
+				GenericDatumReader.skip(field.schema(), this.decoder);
+				this.envelope.put(field.pos(), null);
+				continue;
+			}
+			this.envelope.put(field.pos(), this.readEnvelopeValue(field.schema()));
+		}
+		return this.envelopeFilter.test(this.envelope);
+	}
+
+	private Object readEnvelopeValue(Schema schema) throws IOException {
+		switch (schema.getType()) {
+			case NULL:
+				this.decoder.readNull();
+				return null;
+			case BOOLEAN:
+				return this.decoder.readBoolean();
+			case INT:
+				return this.decoder.readInt();
+			case LONG:
+				return this.decoder.readLong();
+			case STRING:
+				if (this.reader instanceof InterningDatumReader) {
+					return ((InterningDatumReader<Report>) this.reader).readString(this.decoder);
+				}
+				return this.decoder.readString();
+			case ENUM:
+				String symbol = schema.getEnumSymbols().get(this.decoder.readEnum());
+				return SpecificData.get().createEnum(symbol, schema);
+			case UNION:
+				return this.readEnvelopeValue(schema.getTypes().get(this.decoder.readIndex()));
+			default:
+				throw new IOException("Field type " + schema.getType() + " is not supported in the envelope of a report");
+		}
+	}
+
+	private BinaryMessageDecoder<Report> makeMessageDecoder() {
+		if (Objects.nonNull(this.stringInterner)) {
+			return new BinaryMessageDecoder<>(InterningDatumReader.makeModel(this.stringInterner),
+					Report.getClassSchema(), this.schemaStore);
+		}
+		return Objects.isNull(this.schemaStore) ? Report.getDecoder() : Report.createDecoder(this.schemaStore);
+	}
+
+	private boolean isEncodedWithReportSchema(byte[] bytes) {
+		if (bytes.length < SINGLE_OBJECT_HEADER_LENGTH) {
+			return false;
+		}
+		for (int i = 0; i < SINGLE_OBJECT_HEADER_LENGTH; ++i) {
+			if (bytes[i] != SINGLE_OBJECT_HEADER[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static byte[] makeSingleObjectHeader() {
+		long fingerprint = SchemaNormalization.parsingFingerprint64(Report.getClassSchema());
+		byte[] result = new byte[SINGLE_OBJECT_HEADER_LENGTH];
+		result[0] = (byte) 0xC3;
+		result[1] = (byte) 0x01;
+		for (int i = 0; i < 8; ++i) {
+			result[2 + i] = (byte) (fingerprint >>> (8 * i));
+		}
+		return result;
+	}
 }
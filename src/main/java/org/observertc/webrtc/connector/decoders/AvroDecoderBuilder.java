@@ -0,0 +1,93 @@
+package org.observertc.webrtc.connector.decoders;
+
+import io.micronaut.context.annotation.Prototype;
+import org.apache.avro.Schema;
+import org.observertc.webrtc.connector.common.StringInterner;
+import org.observertc.webrtc.connector.configbuilders.AbstractBuilder;
+import org.observertc.webrtc.connector.configbuilders.Builder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Prototype
+public class AvroDecoderBuilder extends AbstractBuilder implements Builder<Decoder> {
+    private static final Logger logger = LoggerFactory.getLogger(AvroDecoderBuilder.class);
+    private static final String SCHEMA_FILE_EXTENSION = ".avsc";
+
+    // the decoders built by this builder share the interned strings, the decoders of the lanes
+    // of a pipeline are built by one builder (see DecoderBuilder)
+    private StringInterner stringInterner = null;
+
+    @Override
+    public AvroDecoder build() {
+        Config config = this.convertAndValidate(Config.class);
+        AvroDecoder result = new AvroDecoder();
+        List<Schema> writerSchemas = new ArrayList<>();
+        for (String location : config.writerSchemas) {
+            for (Path path : this.listSchemaFiles(Paths.get(location))) {
+                try {
+                    // every generation of the report schema has the same full name, so they are parsed separately
+                    writerSchemas.add(new Schema.Parser().parse(path.toFile()));
+                } catch (Exception ex) {
+                    logger.warn("Cannot parse writer schema {}, it will not be used for decoding", path, ex);
+                }
+            }
+        }
+        if (0 < writerSchemas.size()) {
+            result.withWriterSchemas(writerSchemas);
+        }
+        if (0 < config.internedStrings) {
+            if (Objects.isNull(this.stringInterner)) {
+                this.stringInterner = new StringInterner(config.internedStrings, config.maxInternedStringLength);
+            }
+            result.withStringInterner(this.stringInterner);
+        }
+        return result;
+    }
+
+    private List<Path> listSchemaFiles(Path location) {
+        if (!Files.isDirectory(location)) {
+            return List.of(location);
+        }
+        try (Stream<Path> paths = Files.list(location)) {
+            return paths
+                    .filter(path -> path.getFileName().toString().endsWith(SCHEMA_FILE_EXTENSION))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException ex) {
+            logger.warn("Cannot list writer schemas in {}", location, ex);
+            return List.of();
+        }
+    }
+
+    public static class Config {
+
+        /**
+         * Schema files (.avsc) or directories of schema files of the earlier generations of the reports.
+         * Messages encoded with any of them are resolved to the report schema the connector is built with.
+         */
+        public List<String> writerSchemas = new ArrayList<>();
+
+        /**
+         * The number of decoded strings cached, so reports share the instances of the repeating values. 0 turns off the cache.
+         */
+        @Min(0)
+        public int internedStrings = 0;
+
+        /**
+         * Strings longer than this (in UTF-8 bytes) are not cached
+         */
+        @Min(0)
+        public int maxInternedStringLength = 64;
+    }
+}
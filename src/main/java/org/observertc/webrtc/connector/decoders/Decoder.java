@@ -1,8 +1,71 @@
 package org.observertc.webrtc.connector.decoders;
 
-import io.reactivex.rxjava3.core.ObservableOperator;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableOperator;
+import io.reactivex.rxjava3.core.Scheduler;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
+import org.observertc.webrtc.connector.pipelines.PipelineMetrics;
 import org.observertc.webrtc.schemas.reports.Report;
 
-public interface Decoder extends ObservableOperator<Report, byte[]> {
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
+public interface Decoder extends FlowableOperator<Report, byte[]> {
+
+    /**
+     * Decodes the messages of a lane. The messages are emitted on the given single threaded scheduler,
+     * and the reports must be emitted on it as well.
+     *
+     * @param onMessage called on the scheduler for every message in the order they are received,
+     *                  right before the last report of the message is emitted, or when the message is dropped
+     */
+    default Flowable<Report> decode(Flowable<byte[]> messages, Scheduler scheduler, Consumer<byte[]> onMessage) {
+        return messages
+                .doOnNext(onMessage::accept)
+                .lift(this);
+    }
+
+    default Decoder withMetrics(PipelineMetrics metrics) {
+        return this;
+    }
+
+    /**
+     * Sets the channel the messages cannot be decoded are sent to
+     */
+    default Decoder withDeadLetters(DeadLetterChannel deadLetters) {
+        return this;
+    }
+
+    /**
+     * Sets a predicate the decoder may test the envelope of a report with (every field except the payload)
+     * before the payload is decoded. Reports the predicate rejects are dropped by the decoder.
+     * Decoders not able to read the envelope separately ignore it, and the report is filtered after decoding.
+     */
+    default Decoder withEnvelopeFilter(Predicate<Report> envelopeFilter) {
+        return this;
+    }
+
+    /**
+     * @return true if every message is one avro encoded report, so the serviceUUID of a message can be read
+     * before it is decoded, and the messages can be routed amongst the lanes by {@code partitionKey: SERVICE_UUID}
+     */
+    default boolean isRoutableByServiceUUID() {
+        return true;
+    }
+
+    /**
+     * Sets the pool the decoder decodes the messages on, it is shared by the lanes of the pipeline.
+     * Decoders decoding on the thread of the lane ignore it.
+     */
+    default Decoder withExecutor(Executor executor) {
+        return this;
+    }
+
+    /**
+     * @return the number of threads the decoder decodes the messages on, the pool of the pipeline has that many threads
+     */
+    default int getParallelism() {
+        return 1;
+    }
 }
@@ -2,27 +2,61 @@ package org.observertc.webrtc.connector.decoders;
 
 import io.micronaut.context.annotation.Prototype;
 import org.observertc.webrtc.connector.configbuilders.AbstractBuilder;
+import org.observertc.webrtc.connector.configbuilders.Builder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.validation.constraints.Min;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Prototype
 public class DecoderBuilder extends AbstractBuilder {
 
     private static final Logger logger = LoggerFactory.getLogger(DecoderBuilder.class);
+    // every decoder is built by the same builder of the decoder type
+    private Supplier<Optional<Decoder>> decoderSupplier = null;
 
     public DecoderBuilder() {
 
     }
 
+    /**
+     * The decoders built by one builder share the state of the builder of their type,
+     * so a pipeline builds the decoders of its lanes by one builder.
+     */
     public Optional<Decoder> build() {
         Config config = this.convertAndValidate(Config.class);
 
-        Optional<Decoder> result = this.tryInvoke(config.type);
-        return result;
+        if (Objects.isNull(this.decoderSupplier)) {
+            this.decoderSupplier = this.makeDecoderSupplier(config);
+        }
+        Supplier<Optional<Decoder>> decoderSupplier = this.decoderSupplier;
+        Optional<Decoder> result = decoderSupplier.get();
+        if (config.parallelism < 2 || !result.isPresent()) {
+            return result;
+        }
+        if (!(result.get() instanceof AvroDecoder)) {
+            logger.warn("Decoder {} cannot decode in parallel, parallelism {} is ignored", config.type, config.parallelism);
+            return result;
+        }
+        return Optional.of(new ParallelDecoder(() -> (AvroDecoder) decoderSupplier.get().get(), config.parallelism, config.batchSize));
+    }
+
+    /**
+     * Decoders having a builder are built with the given config, others are invoked by their constructor without parameters
+     */
+    private Supplier<Optional<Decoder>> makeDecoderSupplier(Config config) {
+        Optional<Builder> builderHolder = this.tryInvoke(AbstractBuilder.getBuilderClassName(config.type));
+        if (!builderHolder.isPresent()) {
+            return () -> this.tryInvoke(config.type);
+        }
+        Builder<Decoder> decoderBuilder = (Builder<Decoder>) builderHolder.get();
+        decoderBuilder.withConfiguration(config.config);
+        return () -> Optional.ofNullable(decoderBuilder.build());
     }
 
     public static class Config {
@@ -30,5 +64,17 @@ public class DecoderBuilder extends AbstractBuilder {
         public String type = AvroDecoder.class.getName();
 
         public Map<String, Object> config = new HashMap<>();
+
+        /**
+         * The number of threads of the pool the lanes of the pipeline decode their messages on, the largest value of the lanes is used
+         */
+        @Min(1)
+        public int parallelism = 1;
+
+        /**
+         * The maximum number of messages decoded together by one thread if parallelism is more than 1
+         */
+        @Min(1)
+        public int batchSize = 64;
     }
 }
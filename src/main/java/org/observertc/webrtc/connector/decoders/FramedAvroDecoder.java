@@ -0,0 +1,240 @@
+package org.observertc.webrtc.connector.decoders;
+
+import com.github.luben.zstd.ZstdInputStream;
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
+import io.reactivex.rxjava3.core.Scheduler;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.observertc.webrtc.connector.common.LogRateLimiter;
+import org.observertc.webrtc.connector.deadletters.DeadLetter;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
+import org.observertc.webrtc.connector.pipelines.PipelineMetrics;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decodes messages containing several reports. The format of a message is detected by its leading bytes.
+ *
+ * <p>A message can be compressed as a whole by gzip, zstd or lz4 (frame format). The (decompressed) message is either
+ * <ul>
+ *     <li>an avro object container holding reports, compressed by any codec of the container, or</li>
+ *     <li>a concatenation of avro single object encoded reports, each of them prefixed by its length
+ *     as a 4 bytes big endian integer.</li>
+ * </ul>
+ * A message holding one single object encoded report without length prefix is decoded as the {@link AvroDecoder} does.
+ *
+ * <p>A frame longer than the maximum frame size, or than the bytes left in an uncompressed message, is rejected
+ * before it is read. A message is decoded entirely or not at all, a message failing halfway is sent
+ * to the dead letters as a whole, and none of its reports are emitted.
+ *
+ * <p>Not thread safe, every lane has its own decoder.
+ */
+public class FramedAvroDecoder implements Decoder {
+    private static final Logger logger = LoggerFactory.getLogger(FramedAvroDecoder.class);
+    static final int DEFAULT_MAX_FRAME_SIZE = 1024 * 1024;
+    private static final byte[] GZIP_MAGIC = new byte[]{(byte) 0x1F, (byte) 0x8B};
+    private static final byte[] ZSTD_MAGIC = new byte[]{(byte) 0x28, (byte) 0xB5, (byte) 0x2F, (byte) 0xFD};
+    private static final byte[] LZ4_FRAME_MAGIC = new byte[]{(byte) 0x04, (byte) 0x22, (byte) 0x4D, (byte) 0x18};
+    private static final byte[] CONTAINER_MAGIC = new byte[]{(byte) 'O', (byte) 'b', (byte) 'j', (byte) 1};
+    private static final byte[] SINGLE_OBJECT_MAGIC = new byte[]{(byte) 0xC3, (byte) 0x01};
+
+    private final AvroDecoder frameDecoder = new AvroDecoder();
+    private final SpecificDatumReader<Report> containerReader = new SpecificDatumReader<>(Report.class);
+    private final LogRateLimiter logRateLimiter = new LogRateLimiter(Duration.ofSeconds(10));
+    private PipelineMetrics metrics = PipelineMetrics.disabled();
+    private DeadLetterChannel deadLetters = DeadLetterChannel.disabled();
+    private int maxFrameSize = DEFAULT_MAX_FRAME_SIZE;
+
+    @Override
+    public FramedAvroDecoder withMetrics(PipelineMetrics metrics) {
+        this.metrics = metrics;
+        this.frameDecoder.withMetrics(metrics);
+        return this;
+    }
+
+    @Override
+    public FramedAvroDecoder withDeadLetters(DeadLetterChannel deadLetters) {
+        this.deadLetters = deadLetters;
+        this.frameDecoder.withDeadLetters(deadLetters);
+        return this;
+    }
+
+    /**
+     * The envelope filter is applied on length prefixed frames, the reports of containers are decoded entirely
+     */
+    @Override
+    public FramedAvroDecoder withEnvelopeFilter(Predicate<Report> envelopeFilter) {
+        this.frameDecoder.withEnvelopeFilter(envelopeFilter);
+        return this;
+    }
+
+    /**
+     * A message holds several reports, possibly of several services
+     */
+    @Override
+    public boolean isRoutableByServiceUUID() {
+        return false;
+    }
+
+    @Override
+    public Flowable<Report> decode(Flowable<byte[]> messages, Scheduler scheduler, Consumer<byte[]> onMessage) {
+        // the reports are emitted as they are requested, regardless of how many of them a message holds
+        return messages.concatMapIterable(message -> MessageReports.of(message, this.decode(message), onMessage));
+    }
+
+    /**
+     * Emits every report of a message to the subscriber, used only if the decoder is lifted outside of a lane.
+     * Use {@link #decode(Flowable, Scheduler, Consumer)} to emit the reports as they are requested.
+     */
+    @NonNull
+    @Override
+    public Subscriber<? super byte[]> apply(@NonNull Subscriber<? super Report> subscriber) throws Exception {
+        return new FlowableSubscriber<byte[]>() {
+            Subscription upstream;
+
+            @Override
+            public void onSubscribe(@NonNull Subscription s) {
+                upstream = s;
+                subscriber.onSubscribe(s);
+            }
+
+            @Override
+            public void onNext(byte[] bytes) {
+                List<Report> reports = decode(bytes);
+                if (reports.isEmpty()) {
+                    upstream.request(1);
+                    return;
+                }
+                reports.forEach(subscriber::onNext);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                subscriber.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        };
+    }
+
+    /**
+     * @return the reports of the message, or an empty list if the message cannot be decoded entirely
+     */
+    public List<Report> decode(byte[] message) {
+        if (startsWith(message, SINGLE_OBJECT_MAGIC)) {
+            Report report = this.frameDecoder.decode(message);
+            return Objects.isNull(report) ? Collections.emptyList() : Collections.singletonList(report);
+        }
+        List<Report> result = new ArrayList<>();
+        try (InputStream input = this.decompress(message)) {
+            // the bytes left are known only if the message is not compressed
+            this.readFrames(input, result, input instanceof ByteArrayInputStream);
+        } catch (Exception e) {
+            this.metrics.incrementDecodeFailures();
+            this.deadLetters.accept(DeadLetter.ofMessage(message, e));
+            long suppressed = this.logRateLimiter.tryAcquire();
+            if (0 <= suppressed) {
+                logger.error("Error during decoding a framed message with {} bytes after {} reports, {} failures are suppressed since the last log",
+                        message.length, result.size(), suppressed, e);
+            }
+            // the whole message is a dead letter, so none of its reports are emitted
+            return Collections.emptyList();
+        }
+        return result;
+    }
+
+    private InputStream decompress(byte[] message) throws IOException {
+        InputStream input = new ByteArrayInputStream(message);
+        if (startsWith(message, GZIP_MAGIC)) {
+            return new GZIPInputStream(input);
+        }
+        if (startsWith(message, ZSTD_MAGIC)) {
+            return new ZstdInputStream(input);
+        }
+        if (startsWith(message, LZ4_FRAME_MAGIC)) {
+            return new LZ4FrameInputStream(input);
+        }
+        return input;
+    }
+
+    private void readFrames(InputStream input, List<Report> result, boolean bounded) throws IOException {
+        DataInputStream frames = new DataInputStream(input.markSupported() ? input : new BufferedInputStream(input));
+        frames.mark(CONTAINER_MAGIC.length);
+        byte[] magic = new byte[CONTAINER_MAGIC.length];
+        int read = frames.readNBytes(magic, 0, magic.length);
+        frames.reset();
+        if (read == CONTAINER_MAGIC.length && startsWith(magic, CONTAINER_MAGIC)) {
+            try (DataFileStream<Report> container = new DataFileStream<>(frames, this.containerReader)) {
+                while (container.hasNext()) {
+                    result.add(container.next());
+                }
+            }
+            return;
+        }
+        while (true) {
+            int length;
+            try {
+                length = frames.readInt();
+            } catch (EOFException e) {
+                return;
+            }
+            if (length < 0 || this.maxFrameSize < length) {
+                throw new IOException("Invalid frame length " + length + ", the maximum frame size is " + this.maxFrameSize);
+            }
+            if (bounded && frames.available() < length) {
+                throw new IOException("Invalid frame length " + length + ", the message has " + frames.available() + " bytes left");
+            }
+            byte[] frame = new byte[length];
+            frames.readFully(frame);
+            // a frame failing fails the whole message
+            Report report = this.frameDecoder.read(frame, null);
+            if (Objects.nonNull(report)) {
+                result.add(report);
+            }
+        }
+    }
+
+    /**
+     * Sets the maximum length of a length prefixed frame, a message having a longer frame cannot be decoded
+     */
+    public FramedAvroDecoder withMaxFrameSize(int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+        return this;
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; ++i) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,27 @@
+package org.observertc.webrtc.connector.decoders;
+
+import io.micronaut.context.annotation.Prototype;
+import org.observertc.webrtc.connector.configbuilders.AbstractBuilder;
+import org.observertc.webrtc.connector.configbuilders.Builder;
+
+import javax.validation.constraints.Min;
+
+@Prototype
+public class FramedAvroDecoderBuilder extends AbstractBuilder implements Builder<Decoder> {
+
+    @Override
+    public FramedAvroDecoder build() {
+        Config config = this.convertAndValidate(Config.class);
+        return new FramedAvroDecoder()
+                .withMaxFrameSize(config.maxFrameSize);
+    }
+
+    public static class Config {
+
+        /**
+         * The maximum length of a length prefixed frame in bytes, a message having a longer frame is not decoded
+         */
+        @Min(1)
+        public int maxFrameSize = FramedAvroDecoder.DEFAULT_MAX_FRAME_SIZE;
+    }
+}
@@ -0,0 +1,60 @@
+package org.observertc.webrtc.connector.decoders;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.util.Utf8;
+import org.observertc.webrtc.connector.common.StringInterner;
+
+import java.io.IOException;
+
+/**
+ * Reads the string fields mapped to {@link String} through a {@link StringInterner},
+ * the bytes of a string are read into a reused buffer and a new string is made only if it is not cached.
+ *
+ * <p>Not thread safe, the interner can be shared by the readers of several threads.
+ */
+class InterningDatumReader<T> extends SpecificDatumReader<T> {
+    private static final String JAVA_STRING = "String";
+
+    private final StringInterner interner;
+    private Utf8 buffer = null;
+
+    InterningDatumReader(Class<T> c, StringInterner interner) {
+        super(c);
+        this.interner = interner;
+    }
+
+    InterningDatumReader(Schema writer, Schema reader, SpecificData data, StringInterner interner) {
+        super(writer, reader, data);
+        this.interner = interner;
+    }
+
+    /**
+     * Makes a model which creates interning readers, so the message decoders resolving the writer schemas intern the strings as well
+     */
+    static SpecificData makeModel(StringInterner interner) {
+        return new SpecificData() {
+            @Override
+            public DatumReader createDatumReader(Schema writer, Schema reader) {
+                return new InterningDatumReader<>(writer, reader, this, interner);
+            }
+        };
+    }
+
+    String readString(Decoder in) throws IOException {
+        this.buffer = in.readString(this.buffer);
+        return this.interner.intern(this.buffer.getBytes(), 0, this.buffer.getByteLength());
+    }
+
+    @Override
+    protected Object readString(Object old, Schema expected, Decoder in) throws IOException {
+        if (!JAVA_STRING.equals(expected.getProp(GenericData.STRING_PROP))) {
+            return super.readString(old, expected, in);
+        }
+        return this.readString(in);
+    }
+}
@@ -0,0 +1,238 @@
+package org.observertc.webrtc.connector.decoders;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
+import io.reactivex.rxjava3.core.Scheduler;
+import org.apache.avro.Schema;
+import org.observertc.webrtc.connector.common.LogRateLimiter;
+import org.observertc.webrtc.connector.deadletters.DeadLetter;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
+import org.observertc.webrtc.connector.pipelines.PipelineMetrics;
+import org.observertc.webrtc.schemas.reports.ClientDetails;
+import org.observertc.webrtc.schemas.reports.DetachedPeerConnection;
+import org.observertc.webrtc.schemas.reports.ExtensionReport;
+import org.observertc.webrtc.schemas.reports.FinishedCall;
+import org.observertc.webrtc.schemas.reports.ICECandidatePair;
+import org.observertc.webrtc.schemas.reports.ICELocalCandidate;
+import org.observertc.webrtc.schemas.reports.ICERemoteCandidate;
+import org.observertc.webrtc.schemas.reports.InboundRTP;
+import org.observertc.webrtc.schemas.reports.InitiatedCall;
+import org.observertc.webrtc.schemas.reports.JoinedPeerConnection;
+import org.observertc.webrtc.schemas.reports.MediaDevice;
+import org.observertc.webrtc.schemas.reports.MediaSource;
+import org.observertc.webrtc.schemas.reports.ObserverEventReport;
+import org.observertc.webrtc.schemas.reports.OutboundRTP;
+import org.observertc.webrtc.schemas.reports.RemoteInboundRTP;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.observertc.webrtc.schemas.reports.ReportType;
+import org.observertc.webrtc.schemas.reports.Track;
+import org.observertc.webrtc.schemas.reports.UserMediaError;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Decodes reports encoded as JSON objects, with the same field names the avro schema of the reports has.
+ * A message is either one report, several reports separated by whitespaces (JSON lines), or an array of reports.
+ *
+ * <p>The payload of a report is read as the record its type determines, hence the payload is a JSON object
+ * of the payload fields, not a union wrapped in an object named by its type as the avro JSON encoding makes it.
+ *
+ * <p>Not thread safe, every lane has its own decoder.
+ */
+public class JsonDecoder implements Decoder {
+    private static final Logger logger = LoggerFactory.getLogger(JsonDecoder.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Schema.Field PAYLOAD_FIELD = Report.getClassSchema().getField("payload");
+    private static final Schema.Field TYPE_FIELD = Report.getClassSchema().getField("type");
+    private static final JsonRecordReader REPORT_READER = new JsonRecordReader(Report.getClassSchema());
+    private static final Map<ReportType, JsonRecordReader> PAYLOAD_READERS = makePayloadReaders();
+
+    private final LogRateLimiter logRateLimiter = new LogRateLimiter(Duration.ofSeconds(10));
+    private PipelineMetrics metrics = PipelineMetrics.disabled();
+    private DeadLetterChannel deadLetters = DeadLetterChannel.disabled();
+
+    @Override
+    public JsonDecoder withMetrics(PipelineMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    @Override
+    public JsonDecoder withDeadLetters(DeadLetterChannel deadLetters) {
+        this.deadLetters = deadLetters;
+        return this;
+    }
+
+    /**
+     * A message holds several reports, possibly of several services
+     */
+    @Override
+    public boolean isRoutableByServiceUUID() {
+        return false;
+    }
+
+    @Override
+    public Flowable<Report> decode(Flowable<byte[]> messages, Scheduler scheduler, Consumer<byte[]> onMessage) {
+        // the reports are emitted as they are requested, regardless of how many of them a message holds
+        return messages.concatMapIterable(message -> MessageReports.of(message, this.decode(message), onMessage));
+    }
+
+    /**
+     * Emits every report of a message to the subscriber, used only if the decoder is lifted outside of a lane.
+     * Use {@link #decode(Flowable, Scheduler, Consumer)} to emit the reports as they are requested.
+     */
+    @NonNull
+    @Override
+    public Subscriber<? super byte[]> apply(@NonNull Subscriber<? super Report> subscriber) throws Exception {
+        return new FlowableSubscriber<byte[]>() {
+            Subscription upstream;
+
+            @Override
+            public void onSubscribe(@NonNull Subscription s) {
+                upstream = s;
+                subscriber.onSubscribe(s);
+            }
+
+            @Override
+            public void onNext(byte[] bytes) {
+                List<Report> reports = decode(bytes);
+                if (reports.isEmpty()) {
+                    upstream.request(1);
+                    return;
+                }
+                reports.forEach(subscriber::onNext);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                subscriber.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        };
+    }
+
+    /**
+     * @return the reports of the message, or an empty list if the message cannot be decoded entirely
+     */
+    public List<Report> decode(byte[] message) {
+        List<Report> result = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(message)) {
+            for (JsonToken token = parser.nextToken(); Objects.nonNull(token); token = parser.nextToken()) {
+                if (token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        result.add(this.readReport(parser));
+                    }
+                    continue;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Report object is expected at " + parser.getCurrentLocation());
+                }
+                result.add(this.readReport(parser));
+            }
+        } catch (Exception e) {
+            this.metrics.incrementDecodeFailures();
+            this.deadLetters.accept(DeadLetter.ofMessage(message, e));
+            long suppressed = this.logRateLimiter.tryAcquire();
+            if (0 <= suppressed) {
+                logger.error("Error during decoding a JSON message with {} bytes after {} reports, {} failures are suppressed since the last log",
+                        message.length, result.size(), suppressed, e);
+            }
+            // the whole message is a dead letter, so none of its reports are emitted
+            return Collections.emptyList();
+        }
+        return result;
+    }
+
+    private Report readReport(JsonParser parser) throws IOException {
+        Report report = (Report) REPORT_READER.newRecord();
+        long[] read = REPORT_READER.newReadFields();
+        Object payload = null;
+        TokenBuffer bufferedPayload = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if (PAYLOAD_FIELD.name().equals(name)) {
+                ReportType type = (ReportType) report.get(TYPE_FIELD.pos());
+                if (Objects.isNull(type)) {
+                    // the type comes after the payload, so the payload is read when the type is known
+                    bufferedPayload = new TokenBuffer(parser);
+                    bufferedPayload.copyCurrentStructure(parser);
+                    continue;
+                }
+                payload = readPayload(type, parser);
+                continue;
+            }
+            if (!REPORT_READER.readField(report, name, parser, read)) {
+                parser.skipChildren();
+            }
+        }
+        REPORT_READER.complete(report, read);
+        if (Objects.nonNull(bufferedPayload)) {
+            try (JsonParser payloadParser = bufferedPayload.asParser()) {
+                payloadParser.nextToken();
+                payload = readPayload(report.getType(), payloadParser);
+            }
+        }
+        report.put(PAYLOAD_FIELD.pos(), payload);
+        return report;
+    }
+
+    private static Object readPayload(ReportType type, JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        JsonRecordReader payloadReader = PAYLOAD_READERS.get(type);
+        if (Objects.isNull(payloadReader)) {
+            throw new IOException("Report type " + type + " has no payload");
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Payload object is expected at " + parser.getCurrentLocation());
+        }
+        return payloadReader.read(parser);
+    }
+
+    private static Map<ReportType, JsonRecordReader> makePayloadReaders() {
+        Map<ReportType, Schema> schemas = new EnumMap<>(ReportType.class);
+        schemas.put(ReportType.INITIATED_CALL, InitiatedCall.getClassSchema());
+        schemas.put(ReportType.FINISHED_CALL, FinishedCall.getClassSchema());
+        schemas.put(ReportType.JOINED_PEER_CONNECTION, JoinedPeerConnection.getClassSchema());
+        schemas.put(ReportType.DETACHED_PEER_CONNECTION, DetachedPeerConnection.getClassSchema());
+        schemas.put(ReportType.INBOUND_RTP, InboundRTP.getClassSchema());
+        schemas.put(ReportType.REMOTE_INBOUND_RTP, RemoteInboundRTP.getClassSchema());
+        schemas.put(ReportType.OUTBOUND_RTP, OutboundRTP.getClassSchema());
+        schemas.put(ReportType.MEDIA_SOURCE, MediaSource.getClassSchema());
+        schemas.put(ReportType.TRACK, Track.getClassSchema());
+        schemas.put(ReportType.ICE_CANDIDATE_PAIR, ICECandidatePair.getClassSchema());
+        schemas.put(ReportType.ICE_REMOTE_CANDIDATE, ICERemoteCandidate.getClassSchema());
+        schemas.put(ReportType.ICE_LOCAL_CANDIDATE, ICELocalCandidate.getClassSchema());
+        schemas.put(ReportType.USER_MEDIA_ERROR, UserMediaError.getClassSchema());
+        schemas.put(ReportType.EXTENSION, ExtensionReport.getClassSchema());
+        schemas.put(ReportType.OBSERVER_EVENT, ObserverEventReport.getClassSchema());
+        schemas.put(ReportType.MEDIA_DEVICE, MediaDevice.getClassSchema());
+        schemas.put(ReportType.CLIENT_DETAILS, ClientDetails.getClassSchema());
+        Map<ReportType, JsonRecordReader> result = new EnumMap<>(ReportType.class);
+        schemas.forEach((type, schema) -> result.put(type, new JsonRecordReader(schema)));
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,180 @@
+package org.observertc.webrtc.connector.decoders;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.specific.SpecificData;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads JSON objects from a streaming parser into the specific records of a schema.
+ * The reader of every field is resolved from the schema once, when the record reader is made,
+ * so reading a field is one map lookup by its name.
+ *
+ * <p>Unknown fields are skipped. Missing fields get their default value, or null if they are nullable,
+ * otherwise the record cannot be read.
+ *
+ * <p>Thread safe, the readers hold no state of the parsing.
+ */
+class JsonRecordReader {
+
+    @FunctionalInterface
+    interface ValueReader {
+        Object read(JsonParser parser) throws IOException;
+    }
+
+    private static class FieldReader {
+        final Schema.Field field;
+        final ValueReader reader;
+
+        FieldReader(Schema.Field field, ValueReader reader) {
+            this.field = field;
+            this.reader = reader;
+        }
+    }
+
+    private final Schema schema;
+    private final Map<String, FieldReader> fieldReaders = new HashMap<>();
+    private final FieldReader[] fieldReadersByPos;
+
+    JsonRecordReader(Schema schema) {
+        this.schema = schema;
+        List<Schema.Field> fields = schema.getFields();
+        this.fieldReadersByPos = new FieldReader[fields.size()];
+        for (Schema.Field field : fields) {
+            FieldReader fieldReader = new FieldReader(field, makeValueReader(field.schema()));
+            this.fieldReaders.put(field.name(), fieldReader);
+            this.fieldReadersByPos[field.pos()] = fieldReader;
+        }
+    }
+
+    /**
+     * @param parser its current token is the start of the object
+     */
+    IndexedRecord read(JsonParser parser) throws IOException {
+        IndexedRecord result = this.newRecord();
+        long[] read = this.newReadFields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if (!this.readField(result, name, parser, read)) {
+                parser.skipChildren();
+            }
+        }
+        this.complete(result, read);
+        return result;
+    }
+
+    IndexedRecord newRecord() {
+        return (IndexedRecord) SpecificData.get().newRecord(null, this.schema);
+    }
+
+    long[] newReadFields() {
+        return new long[(this.fieldReadersByPos.length + 63) / 64];
+    }
+
+    /**
+     * @param parser its current token is the value of the field
+     * @return false if the record has no field with the given name
+     */
+    boolean readField(IndexedRecord record, String name, JsonParser parser, long[] read) throws IOException {
+        FieldReader fieldReader = this.fieldReaders.get(name);
+        if (Objects.isNull(fieldReader)) {
+            return false;
+        }
+        int pos = fieldReader.field.pos();
+        record.put(pos, fieldReader.reader.read(parser));
+        read[pos / 64] |= 1L << (pos % 64);
+        return true;
+    }
+
+    /**
+     * Sets the fields not read
+     */
+    void complete(IndexedRecord record, long[] read) throws IOException {
+        for (int pos = 0; pos < this.fieldReadersByPos.length; ++pos) {
+            if ((read[pos / 64] & (1L << (pos % 64))) != 0) {
+                continue;
+            }
+            Schema.Field field = this.fieldReadersByPos[pos].field;
+            if (field.hasDefaultValue()) {
+                record.put(pos, SpecificData.get().getDefaultValue(field));
+            } else if (!isNullable(field.schema())) {
+                throw new IOException("Field " + field.name() + " of " + this.schema.getName() + " is missing");
+            }
+        }
+    }
+
+    private static ValueReader makeValueReader(Schema schema) {
+        switch (schema.getType()) {
+            case NULL:
+                return parser -> null;
+            case BOOLEAN:
+                return JsonParser::getBooleanValue;
+            case INT:
+                return JsonParser::getIntValue;
+            case LONG:
+                return JsonParser::getLongValue;
+            case FLOAT:
+                return JsonParser::getFloatValue;
+            case DOUBLE:
+                return JsonParser::getDoubleValue;
+            case STRING:
+                return parser -> {
+                    if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                        throw new IOException("String is expected at " + parser.getCurrentLocation());
+                    }
+                    return parser.getText();
+                };
+            case ENUM:
+                Map<String, Object> symbols = new HashMap<>();
+                for (String symbol : schema.getEnumSymbols()) {
+                    symbols.put(symbol, SpecificData.get().createEnum(symbol, schema));
+                }
+                return parser -> {
+                    Object result = symbols.get(parser.getText());
+                    if (Objects.isNull(result)) {
+                        throw new IOException("Unknown symbol " + parser.getText() + " for " + schema.getName());
+                    }
+                    return result;
+                };
+            case RECORD:
+                JsonRecordReader recordReader = new JsonRecordReader(schema);
+                return recordReader::read;
+            case UNION:
+                Schema nonNull = null;
+                for (Schema type : schema.getTypes()) {
+                    if (type.getType() == Schema.Type.NULL) {
+                        continue;
+                    }
+                    if (Objects.nonNull(nonNull)) {
+                        // the branch of the value is not known from JSON, the owner of the record reads such fields
+                        return parser -> {
+                            throw new IOException("Only nullable unions can be read from JSON, " + schema.getTypes().size() + " branches are given");
+                        };
+                    }
+                    nonNull = type;
+                }
+                ValueReader valueReader = makeValueReader(nonNull);
+                return parser -> parser.currentToken() == JsonToken.VALUE_NULL ? null : valueReader.read(parser);
+            default:
+                throw new IllegalArgumentException("Type " + schema.getType() + " cannot be read from JSON");
+        }
+    }
+
+    private static boolean isNullable(Schema schema) {
+        if (schema.getType() == Schema.Type.NULL) {
+            return true;
+        }
+        if (schema.getType() != Schema.Type.UNION) {
+            return false;
+        }
+        return schema.getTypes().stream().anyMatch(type -> type.getType() == Schema.Type.NULL);
+    }
+}
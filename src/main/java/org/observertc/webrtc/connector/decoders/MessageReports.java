@@ -0,0 +1,58 @@
+package org.observertc.webrtc.connector.decoders;
+
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The reports decoded from one message, emitted by the decoders decoding several reports from a message.
+ * The message is passed to onMessage right before its last report is emitted, so the lane tracks it
+ * in the batch its last report is buffered into, even if the reports of the message span several batches.
+ */
+class MessageReports implements Iterable<Report> {
+
+    /**
+     * @return the reports to emit, onMessage is called at once if the message has no reports
+     */
+    static Iterable<Report> of(byte[] message, List<Report> reports, Consumer<byte[]> onMessage) {
+        if (reports.isEmpty()) {
+            onMessage.accept(message);
+            return reports;
+        }
+        return new MessageReports(message, reports, onMessage);
+    }
+
+    private final byte[] message;
+    private final List<Report> reports;
+    private final Consumer<byte[]> onMessage;
+
+    private MessageReports(byte[] message, List<Report> reports, Consumer<byte[]> onMessage) {
+        this.message = message;
+        this.reports = reports;
+        this.onMessage = onMessage;
+    }
+
+    @Override
+    public Iterator<Report> iterator() {
+        return new Iterator<>() {
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.position < reports.size();
+            }
+
+            @Override
+            public Report next() {
+                Report result = reports.get(this.position++);
+                if (reports.size() <= this.position) {
+                    // the report is emitted right after it is returned
+                    onMessage.accept(message);
+                }
+                return result;
+            }
+        };
+    }
+}
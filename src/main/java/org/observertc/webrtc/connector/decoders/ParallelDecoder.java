@@ -0,0 +1,336 @@
+package org.observertc.webrtc.connector.decoders;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
+import io.reactivex.rxjava3.core.Scheduler;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
+import org.observertc.webrtc.connector.pipelines.PipelineMetrics;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Decodes the messages of a lane in micro batches on a pool of threads, and emits the reports
+ * on the thread of the lane in the order the messages have been received, hence the order
+ * of the reports of any partition key is kept as well.
+ *
+ * <p>A batch is submitted to the pool when it is full, or when the lane has no more messages queued to be decoded,
+ * so a batch never waits for messages not received yet. At most two batches per thread are in flight,
+ * the decoder requests messages from the lane only if the previous ones are emitted.
+ *
+ * <p>The pool is shared by the lanes of the pipeline, and it has as many threads as the parallelism of the decoder.
+ * The decoders are not shared amongst the threads, a thread borrows an idle decoder for a batch,
+ * or makes a new one if none of them is idle, so a thread never waits for a decoder.
+ */
+public class ParallelDecoder implements Decoder {
+    private final Supplier<AvroDecoder> decoderSupplier;
+    private final List<AvroDecoder> decoders = new CopyOnWriteArrayList<>();
+    private final Queue<AvroDecoder> idleDecoders = new ConcurrentLinkedQueue<>();
+    private final int parallelism;
+    private final int batchSize;
+    private PipelineMetrics metrics = null;
+    private DeadLetterChannel deadLetters = null;
+    private Predicate<Report> envelopeFilter = null;
+    // the pool of the pipeline, or the common pool if the decoder is used outside of a pipeline
+    private Executor executor = ForkJoinPool.commonPool();
+
+    public ParallelDecoder(Supplier<AvroDecoder> decoderSupplier, int parallelism, int batchSize) {
+        this.decoderSupplier = decoderSupplier;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        for (int i = 0; i < parallelism; ++i) {
+            this.idleDecoders.add(this.makeDecoder());
+        }
+    }
+
+    @Override
+    public ParallelDecoder withMetrics(PipelineMetrics metrics) {
+        this.metrics = metrics;
+        this.decoders.forEach(decoder -> decoder.withMetrics(metrics));
+        return this;
+    }
+
+    @Override
+    public ParallelDecoder withDeadLetters(DeadLetterChannel deadLetters) {
+        this.deadLetters = deadLetters;
+        this.decoders.forEach(decoder -> decoder.withDeadLetters(deadLetters));
+        return this;
+    }
+
+    @Override
+    public ParallelDecoder withEnvelopeFilter(Predicate<Report> envelopeFilter) {
+        this.envelopeFilter = envelopeFilter;
+        this.decoders.forEach(decoder -> decoder.withEnvelopeFilter(envelopeFilter));
+        return this;
+    }
+
+    @Override
+    public ParallelDecoder withExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    @Override
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Decodes the messages sequentially, used only if the decoder is lifted outside of a lane
+     */
+    @NonNull
+    @Override
+    public Subscriber<? super byte[]> apply(@NonNull Subscriber<? super Report> subscriber) throws Exception {
+        return this.decoders.get(0).apply(subscriber);
+    }
+
+    @Override
+    public Flowable<Report> decode(Flowable<byte[]> messages, Scheduler scheduler, Consumer<byte[]> onMessage) {
+        return messages.lift(subscriber -> new Stage(subscriber, scheduler, onMessage));
+    }
+
+    private void decode(Batch batch) {
+        AvroDecoder decoder = null;
+        try {
+            decoder = this.idleDecoders.poll();
+            if (Objects.isNull(decoder)) {
+                decoder = this.makeDecoder();
+            }
+            for (int i = 0; i < batch.messages.size(); ++i) {
+                batch.reports[i] = decoder.decode(batch.messages.get(i));
+            }
+        } catch (Throwable t) {
+            batch.error = t;
+        } finally {
+            if (Objects.nonNull(decoder)) {
+                this.idleDecoders.add(decoder);
+            }
+        }
+        batch.decoded = true;
+    }
+
+    private AvroDecoder makeDecoder() {
+        AvroDecoder result = this.decoderSupplier.get();
+        if (Objects.nonNull(this.metrics)) {
+            result.withMetrics(this.metrics);
+        }
+        if (Objects.nonNull(this.deadLetters)) {
+            result.withDeadLetters(this.deadLetters);
+        }
+        if (Objects.nonNull(this.envelopeFilter)) {
+            result.withEnvelopeFilter(this.envelopeFilter);
+        }
+        this.decoders.add(result);
+        return result;
+    }
+
+    private static class Batch {
+        final List<byte[]> messages;
+        final Report[] reports;
+        int position = 0;
+        Throwable error = null;
+        volatile boolean decoded = false;
+
+        Batch(int size) {
+            this.messages = new ArrayList<>(size);
+            this.reports = new Report[size];
+        }
+    }
+
+    /**
+     * Everything except requesting and cancelling runs on the thread of the lane,
+     * so the batches are accessed without synchronization. Nothing is scheduled on the lane
+     * once the stage is terminated, as the pipeline may have shut the lane down.
+     */
+    private class Stage implements FlowableSubscriber<byte[]>, Subscription {
+        private final Subscriber<? super Report> downstream;
+        private final Scheduler scheduler;
+        private final Consumer<byte[]> onMessage;
+        private final AtomicLong requested = new AtomicLong(0);
+        private final Deque<Batch> batches = new ArrayDeque<>();
+        private Subscription upstream;
+        private Batch current = null;
+        private boolean flushScheduled = false;
+        private boolean done = false;
+        private Throwable error = null;
+        private volatile boolean terminated = false;
+
+        Stage(Subscriber<? super Report> downstream, Scheduler scheduler, Consumer<byte[]> onMessage) {
+            this.downstream = downstream;
+            this.scheduler = scheduler;
+            this.onMessage = onMessage;
+        }
+
+        @Override
+        public void onSubscribe(@NonNull Subscription s) {
+            this.upstream = s;
+            this.downstream.onSubscribe(this);
+            this.upstream.request(2L * parallelism * batchSize);
+        }
+
+        @Override
+        public void onNext(byte[] message) {
+            if (Objects.isNull(this.current)) {
+                this.current = new Batch(batchSize);
+            }
+            this.current.messages.add(message);
+            if (this.current.messages.size() < batchSize) {
+                if (!this.flushScheduled) {
+                    // runs after the messages already queued for the lane are received
+                    this.flushScheduled = true;
+                    this.schedule(this::flush);
+                }
+                return;
+            }
+            this.submit();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            this.error = t;
+            this.onComplete();
+        }
+
+        @Override
+        public void onComplete() {
+            this.done = true;
+            this.submit();
+            this.drain();
+        }
+
+        @Override
+        public void request(long n) {
+            long current, next;
+            do {
+                current = this.requested.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!this.requested.compareAndSet(current, next));
+            this.schedule(this::drain);
+        }
+
+        @Override
+        public void cancel() {
+            this.terminated = true;
+            this.upstream.cancel();
+        }
+
+        private void flush() {
+            this.flushScheduled = false;
+            this.submit();
+        }
+
+        private void submit() {
+            Batch batch = this.current;
+            if (Objects.isNull(batch) || batch.messages.isEmpty()) {
+                return;
+            }
+            this.current = null;
+            this.batches.addLast(batch);
+            try {
+                executor.execute(() -> {
+                    if (!this.terminated) {
+                        decode(batch);
+                    }
+                    this.schedule(this::drain);
+                });
+            } catch (RejectedExecutionException ex) {
+                // the pool of the pipeline is shut down
+                batch.error = ex;
+                batch.decoded = true;
+                this.schedule(this::drain);
+            }
+        }
+
+        private void schedule(Runnable task) {
+            if (this.terminated) {
+                return;
+            }
+            try {
+                this.scheduler.scheduleDirect(task);
+            } catch (RejectedExecutionException ex) {
+                // the lane is shut down
+            }
+        }
+
+        private void drain() {
+            if (this.terminated) {
+                return;
+            }
+            long consumed = 0;
+            while (!this.batches.isEmpty()) {
+                Batch batch = this.batches.peekFirst();
+                if (!batch.decoded) {
+                    break;
+                }
+                if (Objects.nonNull(batch.error)) {
+                    this.upstream.cancel();
+                    this.terminate(batch.error);
+                    return;
+                }
+                if (!this.emit(batch)) {
+                    break;
+                }
+                consumed += batch.messages.size();
+                this.batches.pollFirst();
+            }
+            if (this.done) {
+                if (this.batches.isEmpty()) {
+                    this.terminate(this.error);
+                }
+                return;
+            }
+            if (0 < consumed) {
+                this.upstream.request(consumed);
+            }
+        }
+
+        /**
+         * @return true if every report of the batch is emitted, false if the downstream has not requested more
+         */
+        private boolean emit(Batch batch) {
+            for (; batch.position < batch.messages.size(); ++batch.position) {
+                Report report = batch.reports[batch.position];
+                long requested = this.requested.get();
+                if (Objects.nonNull(report) && requested < 1) {
+                    return false;
+                }
+                this.onMessage.accept(batch.messages.get(batch.position));
+                if (Objects.isNull(report)) {
+                    continue;
+                }
+                if (requested != Long.MAX_VALUE) {
+                    this.requested.decrementAndGet();
+                }
+                batch.reports[batch.position] = null;
+                this.downstream.onNext(report);
+            }
+            return true;
+        }
+
+        private void terminate(Throwable error) {
+            this.terminated = true;
+            if (Objects.nonNull(error)) {
+                this.downstream.onError(error);
+            } else {
+                this.downstream.onComplete();
+            }
+        }
+    }
+}
@@ -9,4 +9,10 @@ public class BufferConfig {
 
     @Min(0)
     public int maxWaitingTimeInS = 30;
+
+    /**
+     * The maximum number of messages a lane requests from the source ahead of processing them.
+     */
+    @Min(1)
+    public int maxInFlightItems = 5000;
 }
@@ -0,0 +1,277 @@
+package org.observertc.webrtc.connector.pipelines;
+
+import io.micrometer.core.instrument.Counter;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
+import org.observertc.webrtc.connector.decoders.Decoder;
+import org.observertc.webrtc.connector.sinks.Sink;
+import org.observertc.webrtc.connector.transformations.Filter;
+import org.observertc.webrtc.connector.transformations.Transformation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A lane is one decoder -> transformations -> buffer -> sink chain of a pipeline.
+ * A pipeline has one lane by default, and several ones if parallelism is configured.
+ * Components of a lane are never shared with other lanes.
+ * If the source emits reports, the lane starts with the transformations and its decoder is not used.
+ *
+ * <p>Every component of a lane runs on the single thread of the scheduler the lane is attached to,
+ * and the lane requests at most {@link BufferConfig#maxInFlightItems} messages ahead from the source.
+ * Hence if the sink slows down, the source is paused instead of queueing messages in the memory.
+ *
+ * <p>An exception thrown by the sink ends the lane, the failed batch is not retried (see {@link SinkStage}).
+ */
+class Lane {
+    private static final Logger logger = LoggerFactory.getLogger(Lane.class);
+    private final int index;
+    private Decoder decoder;
+    private List<Transformation> transformations = new LinkedList<>();
+    private Sink sink;
+    private Consumer<List<byte[]>> acknowledgement = null;
+    private Consumer<List<Report>> reportAcknowledgement = null;
+    private DeadLetterChannel deadLetters = DeadLetterChannel.disabled();
+
+    Lane(int index) {
+        this.index = index;
+    }
+
+    int getIndex() {
+        return this.index;
+    }
+
+    void validate(String pipelineName) {
+        if (Objects.isNull(this.decoder)) {
+            throw new IllegalStateException(pipelineName + ": a pipeline cannot be started without a decoder");
+        }
+        if (Objects.isNull(this.sink)) {
+            throw new IllegalStateException(pipelineName + ": a pipeline cannot be started without a sink");
+        }
+    }
+
+    /**
+     * @param scheduler must be backed by a single thread
+     * @param sinkExecutor writes the batches, it should have as many threads as the max in flight batches of the sink
+     */
+    void attach(Flowable<byte[]> flowableBytes, Scheduler scheduler, Executor sinkExecutor, BufferConfig bufferConfig, PipelineMetrics metrics, Runnable onTerminated) {
+        MessageTracker<byte[]> messageTracker = new MessageTracker<>();
+        Flowable<byte[]> flowableMessages = flowableBytes
+                .observeOn(scheduler, false, bufferConfig.maxInFlightItems);
+        Consumer<byte[]> onMessage = Objects.nonNull(this.acknowledgement) ? messageTracker::received : message -> {};
+        Decoder decoder = this.decoder
+                .withMetrics(metrics)
+                .withDeadLetters(this.deadLetters);
+        Predicate<Report> envelopeFilter = this.makeEnvelopeFilter();
+        if (Objects.nonNull(envelopeFilter)) {
+            decoder = decoder.withEnvelopeFilter(envelopeFilter);
+        }
+        Flowable<Report> flowableReport = decoder.decode(flowableMessages, scheduler, onMessage);
+        this.process(flowableReport, scheduler, sinkExecutor, bufferConfig, metrics, messageTracker, this.acknowledgement, onTerminated);
+    }
+
+    /**
+     * Attaches the lane to the reports of a source emitting reports, the decoder of the lane is not used.
+     *
+     * @param scheduler must be backed by a single thread
+     * @param sinkExecutor writes the batches, it should have as many threads as the max in flight batches of the sink
+     */
+    void attachReports(Flowable<Report> reports, Scheduler scheduler, Executor sinkExecutor, BufferConfig bufferConfig, PipelineMetrics metrics, Runnable onTerminated) {
+        MessageTracker<Report> reportTracker = new MessageTracker<>();
+        Flowable<Report> flowableReport = reports
+                .observeOn(scheduler, false, bufferConfig.maxInFlightItems);
+        if (Objects.nonNull(this.reportAcknowledgement)) {
+            // the reports are tracked as they are emitted by the source, before any transformation replaces them
+            flowableReport = flowableReport.doOnNext(reportTracker::received);
+        }
+        this.process(flowableReport, scheduler, sinkExecutor, bufferConfig, metrics, reportTracker, this.reportAcknowledgement, onTerminated);
+    }
+
+    /**
+     * Transforms, buffers and writes the reports of the lane
+     *
+     * @param acknowledgement the tracked messages are acknowledged with, or null if they are not acknowledged
+     */
+    private <T> void process(Flowable<Report> flowableReport, Scheduler scheduler, Executor sinkExecutor, BufferConfig bufferConfig,
+                             PipelineMetrics metrics, MessageTracker<T> messageTracker, Consumer<List<T>> acknowledgement, Runnable onTerminated) {
+        for (Transformation transformation : this.transformations) {
+            flowableReport = flowableReport.lift(transformation.withMetrics(metrics));
+        }
+
+        AtomicInteger bufferLevel = metrics.makeBufferLevel(this.index);
+        AtomicBoolean completed = new AtomicBoolean(false);
+        flowableReport = flowableReport
+                .doOnNext(report -> bufferLevel.incrementAndGet())
+                // the buffer emits the last batch after the completion is signalled
+                .doOnComplete(() -> completed.set(true));
+
+        Flowable<List<Report>> flowableReports;
+        if (bufferConfig.maxWaitingTimeInS < 1) {
+            flowableReports = flowableReport.buffer(bufferConfig.maxItems);
+        } else {
+            // the timed buffer emits on the thread of the lane, so it never runs concurrently with the decoding
+            flowableReports = flowableReport.buffer(bufferConfig.maxWaitingTimeInS, TimeUnit.SECONDS, scheduler, bufferConfig.maxItems);
+        }
+
+        Counter fullFlushes = metrics.makeBufferFlushCounter(PipelineMetrics.FLUSH_REASON_FULL);
+        Counter timeoutFlushes = metrics.makeBufferFlushCounter(PipelineMetrics.FLUSH_REASON_TIMEOUT);
+        Counter completedFlushes = metrics.makeBufferFlushCounter(PipelineMetrics.FLUSH_REASON_COMPLETED);
+        flowableReports
+                .doOnNext(reports -> {
+                    if (Objects.nonNull(acknowledgement)) {
+                        messageTracker.emitted();
+                    }
+                    if (reports.isEmpty()) {
+                        return;
+                    }
+                    bufferLevel.addAndGet(-reports.size());
+                    if (bufferConfig.maxItems <= reports.size()) {
+                        fullFlushes.increment();
+                    } else if (completed.get()) {
+                        completedFlushes.increment();
+                    } else {
+                        timeoutFlushes.increment();
+                    }
+                })
+                .doFinally(onTerminated::run)
+                .subscribe(this.makeSinkStage(sinkExecutor, metrics, messageTracker, acknowledgement));
+    }
+
+    /**
+     * Combines the envelope predicates of the filters the lane starts with.
+     * Filters after any other transformation are not considered, as that transformation may change the envelope.
+     *
+     * @return null if there is no envelope predicate to evaluate before the payload is decoded
+     */
+    private Predicate<Report> makeEnvelopeFilter() {
+        List<Filter> filters = new ArrayList<>();
+        for (Transformation transformation : this.transformations) {
+            if (!(transformation instanceof Filter)) {
+                break;
+            }
+            Filter filter = (Filter) transformation;
+            if (filter.hasEnvelopePredicates()) {
+                filters.add(filter);
+            }
+        }
+        if (filters.isEmpty()) {
+            return null;
+        }
+        return envelope -> {
+            try {
+                for (Filter filter : filters) {
+                    if (!filter.testEnvelope(envelope)) {
+                        return false;
+                    }
+                }
+            } catch (Throwable t) {
+                // the filter evaluates the decoded report again and handles the error
+                logger.warn("Cannot evaluate the envelope filter in lane {}", this.index, t);
+            }
+            return true;
+        };
+    }
+
+    private <T> SinkStage makeSinkStage(Executor sinkExecutor, PipelineMetrics metrics, MessageTracker<T> messageTracker, Consumer<List<T>> acknowledgement) {
+        this.sink.withDeadLetters(this.deadLetters);
+        SinkStage result = new SinkStage(this.sink, sinkExecutor).withMetrics(metrics);
+        if (Objects.isNull(acknowledgement)) {
+            return result;
+        }
+        return result.withAcknowledgement(reports -> acknowledgement.accept(messageTracker.written()));
+    }
+
+    Lane withDecoder(Decoder decoder) {
+        if (Objects.nonNull(this.decoder)) {
+            throw new IllegalStateException("Cannot set the decoder for lane " + this.index + " twice");
+        }
+        this.decoder = decoder;
+        return this;
+    }
+
+    Lane withTransformation(Transformation transformation) {
+        this.transformations.add(transformation);
+        return this;
+    }
+
+    Lane withSink(Sink sink) {
+        if (Objects.nonNull(this.sink)) {
+            throw new IllegalStateException("Cannot set the sink for lane " + this.index + " twice");
+        }
+        this.sink = sink;
+        return this;
+    }
+
+    /**
+     * Sets the consumer the messages of the lane are acknowledged with once they are written by the sink.
+     * Messages dropped by the decoder or the transformations are acknowledged with the batch emitted after them.
+     */
+    Lane withAcknowledgement(Consumer<List<byte[]>> acknowledgement) {
+        this.acknowledgement = acknowledgement;
+        return this;
+    }
+
+    /**
+     * Sets the consumer the reports of a source emitting reports are acknowledged with once they are written by the sink.
+     * Reports dropped by the transformations are acknowledged with the batch emitted after them.
+     */
+    Lane withReportAcknowledgement(Consumer<List<Report>> reportAcknowledgement) {
+        this.reportAcknowledgement = reportAcknowledgement;
+        return this;
+    }
+
+    /**
+     * Sets the channel the decoder and the sink of the lane send the messages and reports they cannot process to
+     */
+    Lane withDeadLetters(DeadLetterChannel deadLetters) {
+        this.deadLetters = deadLetters;
+        return this;
+    }
+
+    Decoder getDecoder() {
+        return this.decoder;
+    }
+
+    Sink getSink() {
+        return this.sink;
+    }
+
+    /**
+     * Messages are tracked by the decoder right before their last report is emitted, and every component after
+     * the decoder processes a report synchronously on the thread of the lane, so when the buffer emits a batch,
+     * all the reports of the messages tracked before are either in this batch, in a previous one, or dropped.
+     * The reports of a source emitting reports are tracked the same way, as messages of one report.
+     */
+    private static class MessageTracker<T> {
+        private List<T> received = new ArrayList<>();
+        // the received messages of the emitted batches in order, the sink stage acknowledges the batches in the same order
+        private final Queue<List<T>> emitted = new ConcurrentLinkedQueue<>();
+
+        void received(T message) {
+            this.received.add(message);
+        }
+
+        void emitted() {
+            this.emitted.add(this.received);
+            this.received = new ArrayList<>();
+        }
+
+        List<T> written() {
+            return this.emitted.poll();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.observertc.webrtc.connector.pipelines;
+
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.util.Utf8;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Selects the lane a message is processed on.
+ *
+ * <p>For {@link ParallelismConfig.PartitionKey#SERVICE_UUID} only the first two fields
+ * of the avro encoded Report (version, serviceUUID) are read after the single object encoding header, the rest of the message is
+ * decoded later by the decoder of the selected lane. Pipelines decoding messages of other formats
+ * (i.e.: JSON or framed messages of several reports) cannot be built with this partition key, as their bytes
+ * are often read as a serviceUUID without an error. If the bytes cannot be interpreted the message is routed round robin.
+ *
+ * <p>For {@link ParallelismConfig.PartitionKey#SOURCE_PARTITION} the partition is given by the source,
+ * and messages without a partition are routed round robin.
+ *
+ * <p>Reports emitted by the source without encoding are routed by their serviceUUID for
+ * {@link ParallelismConfig.PartitionKey#SERVICE_UUID}, otherwise round robin.
+ *
+ * <p>Not thread safe, messages must be routed serially, as the source emits them.
+ */
+class LaneRouter implements ToIntFunction<byte[]> {
+    private static final Logger logger = LoggerFactory.getLogger(LaneRouter.class);
+    // avro single object encoding: 2 bytes of marker followed by the 8 bytes long schema fingerprint
+    private static final int SINGLE_OBJECT_HEADER_LENGTH = 10;
+
+    private final int lanes;
+    private final ParallelismConfig.PartitionKey partitionKey;
+    private ToIntFunction<byte[]> sourcePartitions = bytes -> -1;
+    private BinaryDecoder decoder = null;
+    private Utf8 serviceUUID = new Utf8();
+    private int next = 0;
+    private boolean warned = false;
+
+    LaneRouter(int lanes, ParallelismConfig.PartitionKey partitionKey) {
+        this.lanes = lanes;
+        this.partitionKey = partitionKey;
+    }
+
+    /**
+     * @param sourcePartitions gives the partition of the message the source has just emitted, or -1 if it has none
+     */
+    LaneRouter withSourcePartitions(ToIntFunction<byte[]> sourcePartitions) {
+        this.sourcePartitions = sourcePartitions;
+        return this;
+    }
+
+    @Override
+    public int applyAsInt(byte[] bytes) {
+        if (this.lanes < 2) {
+            return 0;
+        }
+        switch (this.partitionKey) {
+            case SERVICE_UUID:
+                return this.byServiceUUID(bytes);
+            case SOURCE_PARTITION:
+                return this.bySourcePartition(bytes);
+            case ROUND_ROBIN:
+            default:
+                return this.roundRobin();
+        }
+    }
+
+    int route(Report report) {
+        if (this.lanes < 2) {
+            return 0;
+        }
+        if (ParallelismConfig.PartitionKey.SERVICE_UUID.equals(this.partitionKey) && Objects.nonNull(report.getServiceUUID())) {
+            return Math.floorMod(report.getServiceUUID().hashCode(), this.lanes);
+        }
+        if (ParallelismConfig.PartitionKey.SOURCE_PARTITION.equals(this.partitionKey) && !this.warned) {
+            logger.warn("Reports emitted by the source have no partitions, they are routed round robin");
+            this.warned = true;
+        }
+        return this.roundRobin();
+    }
+
+    private int byServiceUUID(byte[] bytes) {
+        try {
+            int offset = this.isSingleObjectEncoded(bytes) ? SINGLE_OBJECT_HEADER_LENGTH : 0;
+            this.decoder = DecoderFactory.get().binaryDecoder(bytes, offset, bytes.length - offset, this.decoder);
+            this.decoder.readInt(); // version
+            this.serviceUUID = this.decoder.readString(this.serviceUUID);
+        } catch (Exception ex) {
+            if (!this.warned) {
+                logger.warn("Cannot read serviceUUID from the received message, messages which cannot be interpreted are routed round robin", ex);
+                this.warned = true;
+            }
+            return this.roundRobin();
+        }
+        return Math.floorMod(this.hashServiceUUID(), this.lanes);
+    }
+
+    private int bySourcePartition(byte[] bytes) {
+        int partition = this.sourcePartitions.applyAsInt(bytes);
+        if (partition < 0) {
+            if (!this.warned) {
+                logger.warn("The source has not given the partition of the received message, messages without partitions are routed round robin");
+                this.warned = true;
+            }
+            return this.roundRobin();
+        }
+        return Math.floorMod(partition, this.lanes);
+    }
+
+    // Utf8#hashCode is cached and not reset when the instance is reused
+    private int hashServiceUUID() {
+        byte[] bytes = this.serviceUUID.getBytes();
+        int result = 0;
+        for (int i = 0, length = this.serviceUUID.getByteLength(); i < length; ++i) {
+            result = 31 * result + bytes[i];
+        }
+        return result;
+    }
+
+    private boolean isSingleObjectEncoded(byte[] bytes) {
+        return SINGLE_OBJECT_HEADER_LENGTH < bytes.length && bytes[0] == (byte) 0xC3 && bytes[1] == (byte) 0x01;
+    }
+
+    private int roundRobin() {
+        int result = this.next;
+        this.next = (this.next + 1) % this.lanes;
+        return result;
+    }
+}
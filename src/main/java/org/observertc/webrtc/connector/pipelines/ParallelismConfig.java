@@ -0,0 +1,32 @@
+package org.observertc.webrtc.connector.pipelines;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+public class ParallelismConfig {
+
+    public enum PartitionKey {
+        /**
+         * Reports of the same service (and therefore of the same call)
+         * are always processed by the same lane in the order they arrived.
+         */
+        SERVICE_UUID,
+        /**
+         * Reports are distributed evenly amongst the lanes, no ordering
+         * is kept. Use it only if the pipeline has no stateful transformation.
+         */
+        ROUND_ROBIN,
+        /**
+         * Messages of the same partition of the source (i.e.: the partition of a kafka topic)
+         * are always processed by the same lane in the order they arrived. Messages of sources
+         * without partitions are distributed round robin.
+         */
+        SOURCE_PARTITION
+    }
+
+    @Min(1)
+    public int lanes = 1;
+
+    @NotNull
+    public PartitionKey partitionKey = PartitionKey.SERVICE_UUID;
+}
@@ -1,18 +1,24 @@
 package org.observertc.webrtc.connector.pipelines;
 
-import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOperator;
-import org.observertc.webrtc.connector.sinks.Sink;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
 import org.observertc.webrtc.connector.sources.Source;
-import org.observertc.webrtc.connector.transformations.Transformation;
 import org.observertc.webrtc.schemas.reports.Report;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
 
 public class Pipeline implements Runnable {
     public enum State {
@@ -31,15 +37,17 @@ public class Pipeline implements Runnable {
     private static final Logger DEFAULT_LOGGER = LoggerFactory.getLogger(Pipeline.class);
     private String name;
     private Source source;
-    private ObservableOperator<Report, byte[]> decoder;
-    private List<Transformation> transformations = new LinkedList<>();
+    private final List<Lane> lanes = new ArrayList<>();
     private Runnable closingCallback = () -> {};
-    private Sink sink;
     private BufferConfig bufferConfig = null;
+    private ParallelismConfig parallelismConfig = new ParallelismConfig();
+    private PipelineMetrics metrics = PipelineMetrics.disabled();
+    private DeadLetterChannel deadLetters = null;
     private final Logger logger;
     private volatile State state = State.CREATED;
 
     public Pipeline(String name) {
+        this.name = name;
         this.logger = LoggerFactory.getLogger(name);
     }
 
@@ -48,37 +56,55 @@ public class Pipeline implements Runnable {
         if (Objects.isNull(this.source)) {
             throw new IllegalStateException("A pipeline cannot be started without a source");
         }
-        if (Objects.isNull(this.decoder)) {
-            throw new IllegalStateException("A pipeline cannot be started without a decoder");
+        if (this.lanes.size() < 1) {
+            throw new IllegalStateException("A pipeline cannot be started without a decoder and a sink");
         }
-        if (Objects.isNull(this.sink)) {
-            throw new IllegalStateException("A pipeline cannot be started without a sink");
+        this.lanes.forEach(lane -> lane.validate(this.getName()));
+        if (Objects.nonNull(this.deadLetters)) {
+            this.lanes.forEach(lane -> lane.withDeadLetters(this.deadLetters));
         }
-
-        Observable<byte[]> observableBytes = this.source;
-
-        Observable<Report> observableReport = observableBytes.lift(this.decoder).share();
-
-        for (Transformation transformation : this.transformations) {
-            observableReport = observableReport.lift(transformation).share();
-        }
-
-        Observable<List<Report>> observableReports;
-        if (this.bufferConfig.maxWaitingTimeInS < 1) {
-            observableReports = observableReport.buffer(this.bufferConfig.maxItems).share();
-        } else {
-            observableReports = observableReport.buffer(this.bufferConfig.maxWaitingTimeInS, TimeUnit.SECONDS, this.bufferConfig.maxItems).share();
+        if (this.source.isAcknowledging() && this.source.isEmittingReports()) {
+            this.lanes.forEach(lane -> lane.withReportAcknowledgement(this.source::acknowledgeReports));
+        } else if (this.source.isAcknowledging()) {
+            this.lanes.forEach(lane -> lane.withAcknowledgement(this.source::acknowledge));
         }
 
-        observableReports.subscribe(this.sink);
+        List<ExecutorService> laneExecutors = new ArrayList<>();
+        CountDownLatch lanesTerminated = new CountDownLatch(this.lanes.size());
         try {
+            List<Scheduler> laneSchedulers = new ArrayList<>();
+            List<Executor> sinkExecutors = new ArrayList<>();
+            for (Lane lane : this.lanes) {
+                String laneName = String.format("%s-lane-%d", this.getName(), lane.getIndex() + 1);
+                ExecutorService laneExecutor = this.makeExecutor(laneName, 1);
+                ExecutorService sinkExecutor = this.makeExecutor(laneName + "-sink", lane.getSink().getMaxInFlight());
+                laneExecutors.add(laneExecutor);
+                laneExecutors.add(sinkExecutor);
+                laneSchedulers.add(Schedulers.from(laneExecutor));
+                sinkExecutors.add(sinkExecutor);
+            }
+            int decoderParallelism = this.lanes.stream().mapToInt(lane -> lane.getDecoder().getParallelism()).max().orElse(1);
+            if (1 < decoderParallelism) {
+                // one pool decodes the messages of all the lanes
+                ExecutorService decoderExecutor = this.makeExecutor(this.getName() + "-decoder", decoderParallelism);
+                laneExecutors.add(decoderExecutor);
+                this.lanes.forEach(lane -> lane.getDecoder().withExecutor(decoderExecutor));
+            }
+            this.attachLanes(laneSchedulers, sinkExecutors, lanesTerminated::countDown);
             this.state = State.RUN;
-            this.source.run();
+            if (!this.source.isEmittingReports()) {
+                this.source.run();
+            }
+            lanesTerminated.await();
             this.state = State.FINISHED;
         } catch(Throwable t) {
             logger.error("Exception occurred during the execution of the pipeline", t);
             this.state = State.FINISHED.withException(t);
         } finally{
+            laneExecutors.forEach(ExecutorService::shutdownNow);
+            if (Objects.nonNull(this.deadLetters)) {
+                this.deadLetters.close();
+            }
             try {
                 this.closingCallback.run();
             } catch (Throwable t) {
@@ -91,6 +117,64 @@ public class Pipeline implements Runnable {
         }
     }
 
+    private void attachLanes(List<Scheduler> laneSchedulers, List<Executor> sinkExecutors, Runnable onLaneTerminated) {
+        LaneRouter router = new LaneRouter(this.lanes.size(), this.parallelismConfig.partitionKey)
+                .withSourcePartitions(this.source::getPartition);
+        if (this.source.isEmittingReports()) {
+            // a report handed over by the source is counted as a message without bytes
+            Flowable<Report> reports = this.source.reports().doOnNext(report -> this.metrics.recordSourceMessage(0));
+            this.distribute(reports, router::route, onLaneTerminated, (laneReports, index) ->
+                    this.lanes.get(index).attachReports(laneReports, laneSchedulers.get(index), sinkExecutors.get(index),
+                            this.bufferConfig, this.metrics, onLaneTerminated));
+            return;
+        }
+        Flowable<byte[]> messages = this.source.doOnNext(bytes -> this.metrics.recordSourceMessage(bytes.length));
+        this.distribute(messages, router::applyAsInt, onLaneTerminated, (laneMessages, index) ->
+                this.lanes.get(index).attach(laneMessages, laneSchedulers.get(index), sinkExecutors.get(index),
+                        this.bufferConfig, this.metrics, onLaneTerminated));
+    }
+
+    /**
+     * Attaches the lanes to the items routed to them
+     */
+    private <T> void distribute(Flowable<T> items, ToIntFunction<T> router, Runnable onLaneTerminated, ObjIntConsumer<Flowable<T>> attach) {
+        if (this.lanes.size() == 1) {
+            attach.accept(items, 0);
+            return;
+        }
+        // groups are emitted on the thread of the source, lanes never received a message are terminated
+        // when the source terminates
+        boolean[] attached = new boolean[this.lanes.size()];
+        Runnable terminateIdleLanes = () -> {
+            for (int i = 0; i < attached.length; ++i) {
+                if (!attached[i]) {
+                    attached[i] = true;
+                    onLaneTerminated.run();
+                }
+            }
+        };
+        items
+                .groupBy(router::applyAsInt, item -> item, false, this.bufferConfig.maxInFlightItems)
+                .subscribe(group -> {
+                    int index = group.getKey();
+                    attached[index] = true;
+                    attach.accept(group, index);
+                }, error -> {
+                    logger.warn("Error occurred while distributing messages amongst lanes", error);
+                    terminateIdleLanes.run();
+                }, terminateIdleLanes::run);
+    }
+
+    private ExecutorService makeExecutor(String threadName, int threads) {
+        AtomicInteger threadCounter = new AtomicInteger(0);
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            String name = threads < 2 ? threadName : String.format("%s-%d", threadName, threadCounter.incrementAndGet());
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     public State getState() {
         return this.state;
     }
@@ -112,31 +196,33 @@ public class Pipeline implements Runnable {
         return this;
     }
 
-    Pipeline withDecoder(ObservableOperator<Report, byte[]> decoder) {
-        if (Objects.nonNull(this.decoder)) {
-            throw new IllegalStateException(this.getName() + ": cannot set the source for a pipeline twice");
-        }
-        this.decoder = decoder;
+    Pipeline withBuffer(BufferConfig bufferConfig) {
+        this.bufferConfig = bufferConfig;
         return this;
     }
 
-    Pipeline withBuffer(BufferConfig bufferConfig) {
-        this.bufferConfig = bufferConfig;
+    Pipeline withParallelism(ParallelismConfig parallelismConfig) {
+        this.parallelismConfig = parallelismConfig;
         return this;
     }
 
-    Pipeline withTransformation(Transformation transformation) {
-        this.transformations.add(transformation);
+    Pipeline withMetrics(PipelineMetrics metrics) {
+        this.metrics = metrics;
         return this;
     }
 
-    Pipeline withSink(Sink sink) {
-        if (Objects.nonNull(this.sink)) {
-            throw new IllegalStateException(this.getName() + ": cannot set the source for a pipeline twice");
+    Pipeline withDeadLetters(DeadLetterChannel deadLetters) {
+        this.deadLetters = deadLetters;
+        return this;
+    }
+
+    Pipeline withLane(Lane lane) {
+        if (Objects.nonNull(lane.getSink())) {
+            lane.getSink()
+                    .withLogger(logger)
+                    .inPipeline(this);
         }
-        this.sink = sink
-                .withLogger(logger)
-                .inPipeline(this);
+        this.lanes.add(lane);
         return this;
     }
 
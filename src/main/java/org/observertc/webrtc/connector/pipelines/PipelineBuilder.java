@@ -1,11 +1,15 @@
 package org.observertc.webrtc.connector.pipelines;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.micronaut.context.annotation.Prototype;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.Function;
 import org.observertc.webrtc.ObjectToString;
 import org.observertc.webrtc.connector.configbuilders.AbstractBuilder;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannelBuilder;
 import org.observertc.webrtc.connector.decoders.Decoder;
 import org.observertc.webrtc.connector.decoders.DecoderBuilder;
 import org.observertc.webrtc.connector.sinks.Sink;
@@ -17,6 +21,7 @@ import org.observertc.webrtc.connector.transformations.TransformationBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.inject.Inject;
 import java.util.*;
 
 @Prototype
@@ -25,9 +30,15 @@ public class PipelineBuilder extends AbstractBuilder implements Function<Map<Str
     protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private Disposable disposable;
+    private final MeterRegistry meterRegistry;
 
     public PipelineBuilder() {
+        this(Metrics.globalRegistry);
+    }
 
+    @Inject
+    public PipelineBuilder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -45,6 +56,8 @@ public class PipelineBuilder extends AbstractBuilder implements Function<Map<Str
     public Optional<Pipeline> build() {
         PipelineConfig config = this.convertAndValidate(PipelineConfig.class);
         Pipeline result = new Pipeline(config.name);
+        PipelineMetrics metrics = new PipelineMetrics(this.meterRegistry, config.name);
+        result.withMetrics(metrics);
 
         SourceBuilder sourceBuilder = new SourceBuilder();
         sourceBuilder.withConfiguration(config.source);
@@ -55,8 +68,47 @@ public class PipelineBuilder extends AbstractBuilder implements Function<Map<Str
         }
         result.withSource(source);
 
+        if (Objects.nonNull(config.deadLetters)) {
+            DeadLetterChannelBuilder deadLetterChannelBuilder = new DeadLetterChannelBuilder()
+                    .withPipelineName(config.name)
+                    .withMetrics(metrics);
+            deadLetterChannelBuilder.withConfiguration(config.deadLetters);
+            DeadLetterChannel deadLetters = deadLetterChannelBuilder.build();
+            if (Objects.isNull(deadLetters)) {
+                logger.warn("Dead letter channel was not build for pipeline {}, this pipeline cannot be built.", config.name);
+                return Optional.empty();
+            }
+            result.withDeadLetters(deadLetters);
+        }
+
+        result.withBuffer(config.buffer);
+        result.withParallelism(config.parallelism);
+
+        // the decoders of the lanes are built by one builder, so they share the state of their builder (i.e.: interned strings)
         DecoderBuilder decoderBuilder = new DecoderBuilder();
         decoderBuilder.withConfiguration(config.decoder);
+        for (int index = 0; index < config.parallelism.lanes; ++index) {
+            Optional<Lane> laneHolder = this.buildLane(config, index, decoderBuilder);
+            if (!laneHolder.isPresent()) {
+                return Optional.empty();
+            }
+            Decoder decoder = laneHolder.get().getDecoder();
+            if (1 < config.parallelism.lanes && !source.isEmittingReports() && !decoder.isRoutableByServiceUUID() &&
+                    ParallelismConfig.PartitionKey.SERVICE_UUID.equals(config.parallelism.partitionKey)) {
+                logger.error("The serviceUUID of the messages {} decodes cannot be read before decoding, so pipeline {} " +
+                                "cannot be partitioned by {}. Use {} or {} partitionKey instead.", decoder.getClass().getSimpleName(),
+                        config.name, ParallelismConfig.PartitionKey.SERVICE_UUID, ParallelismConfig.PartitionKey.ROUND_ROBIN,
+                        ParallelismConfig.PartitionKey.SOURCE_PARTITION);
+                return Optional.empty();
+            }
+            result.withLane(laneHolder.get());
+        }
+
+        return Optional.of(result);
+    }
+
+    private Optional<Lane> buildLane(PipelineConfig config, int index, DecoderBuilder decoderBuilder) {
+        Lane result = new Lane(index);
         Optional<Decoder> decoderHolder = decoderBuilder.build();
         if (!decoderHolder.isPresent()) {
             logger.warn("{} is cannot build without a decoder.",
@@ -87,15 +139,13 @@ public class PipelineBuilder extends AbstractBuilder implements Function<Map<Str
             transformations.add(transformation);
         }
         indexes.sort(Integer::compareTo);
-        for (Integer index : indexes) {
-            List<Transformation> transformations = orderedTransformations.get(index);
+        for (Integer transformationIndex : indexes) {
+            List<Transformation> transformations = orderedTransformations.get(transformationIndex);
             for (Transformation transformation : transformations) {
                 result.withTransformation(transformation);
             }
         }
 
-        result.withBuffer(config.buffer);
-
         SinkBuilder sinkBuilder = new SinkBuilder();
         sinkBuilder.withConfiguration(config.sink);
         Sink sink = sinkBuilder.build();
@@ -104,7 +154,6 @@ public class PipelineBuilder extends AbstractBuilder implements Function<Map<Str
             return Optional.empty();
         }
         result.withSink(sink);
-
         return Optional.of(result);
     }
 
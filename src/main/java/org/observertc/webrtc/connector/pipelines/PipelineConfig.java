@@ -20,7 +20,14 @@ public class PipelineConfig {
 
     public BufferConfig buffer = new BufferConfig();
 
+    public ParallelismConfig parallelism = new ParallelismConfig();
+
     @NotNull
     public Map<String, Object> sink;
 
+    /**
+     * The channel undecodable messages and reports rejected by the sink are written to, none by default
+     */
+    public Map<String, Object> deadLetters = null;
+
 }
@@ -0,0 +1,151 @@
+package org.observertc.webrtc.connector.pipelines;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.observertc.webrtc.schemas.reports.ReportType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Makes the meters of the stages of a pipeline. Every meter is tagged by the name of the pipeline.
+ *
+ * <p>Meters of the same stage are shared amongst the lanes of the pipeline, except the level of the buffers,
+ * which is tagged by the lane as well.
+ */
+public class PipelineMetrics {
+    public static final String PIPELINE_TAG = "pipeline";
+    public static final String LANE_TAG = "lane";
+    public static final String TRANSFORMATION_TAG = "transformation";
+    public static final String OUTCOME_TAG = "outcome";
+    public static final String REASON_TAG = "reason";
+    public static final String REPORT_TYPE_TAG = "reportType";
+    public static final String STAGE_TAG = "stage";
+
+    public static final String FLUSH_REASON_FULL = "full";
+    public static final String FLUSH_REASON_TIMEOUT = "timeout";
+    public static final String FLUSH_REASON_COMPLETED = "completed";
+
+    /**
+     * Metrics are not exported anywhere, used by components not part of a pipeline built by the {@link PipelineBuilder}
+     */
+    public static PipelineMetrics disabled() {
+        return new PipelineMetrics(new CompositeMeterRegistry(), "disabled");
+    }
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final Counter sourceMessages;
+    private final Counter sourceBytes;
+    private final Counter decodeFailures;
+    private final Counter envelopeDrops;
+
+    public PipelineMetrics(MeterRegistry registry, String pipelineName) {
+        this.registry = registry;
+        this.tags = Tags.of(PIPELINE_TAG, pipelineName);
+        this.sourceMessages = Counter.builder("connector.source.messages")
+                .description("The number of messages the source emitted")
+                .tags(this.tags)
+                .register(registry);
+        this.sourceBytes = Counter.builder("connector.source.bytes")
+                .description("The number of bytes the source emitted")
+                .baseUnit("bytes")
+                .tags(this.tags)
+                .register(registry);
+        this.decodeFailures = Counter.builder("connector.decoder.failures")
+                .description("The number of messages could not be decoded")
+                .tags(this.tags)
+                .register(registry);
+        this.envelopeDrops = Counter.builder("connector.decoder.dropped")
+                .description("The number of reports dropped by the filters before their payload is decoded")
+                .tags(this.tags)
+                .register(registry);
+    }
+
+    public void recordSourceMessage(int bytes) {
+        this.sourceMessages.increment();
+        this.sourceBytes.increment(bytes);
+    }
+
+    public void incrementDecodeFailures() {
+        this.decodeFailures.increment();
+    }
+
+    public void incrementEnvelopeDrops() {
+        this.envelopeDrops.increment();
+    }
+
+    /**
+     * @param passed true if the counter counts the reports passed the transformation, false if it counts the dropped ones
+     */
+    public Counter makeTransformationCounter(String transformation, boolean passed) {
+        return Counter.builder("connector.transformation.reports")
+                .description("The number of reports passed or dropped by a transformation")
+                .tags(this.tags)
+                .tag(TRANSFORMATION_TAG, transformation)
+                .tag(OUTCOME_TAG, passed ? "passed" : "dropped")
+                .register(this.registry);
+    }
+
+    public Timer makeTransformationTimer(String transformation) {
+        return Timer.builder("connector.transformation.latency")
+                .description("The time a transformation takes for one report")
+                .tags(this.tags)
+                .tag(TRANSFORMATION_TAG, transformation)
+                .register(this.registry);
+    }
+
+    public Counter makeDeadLettersCounter(String stage) {
+        return Counter.builder("connector.deadletters")
+                .description("The number of messages and reports sent to the dead letter channel, by the stage rejected them")
+                .tags(this.tags)
+                .tag(STAGE_TAG, stage)
+                .register(this.registry);
+    }
+
+    public Counter makeDeadLettersLostCounter() {
+        return Counter.builder("connector.deadletters.lost")
+                .description("The number of dead letters could not be written by the dead letter channel")
+                .tags(this.tags)
+                .register(this.registry);
+    }
+
+    AtomicInteger makeBufferLevel(int laneIndex) {
+        return this.registry.gauge("connector.buffer.items",
+                this.tags.and(LANE_TAG, Integer.toString(laneIndex)),
+                new AtomicInteger(0));
+    }
+
+    Counter makeBufferFlushCounter(String reason) {
+        return Counter.builder("connector.buffer.flushes")
+                .description("The number of batches emitted by the buffer, by the reason of the emission")
+                .tags(this.tags)
+                .tag(REASON_TAG, reason)
+                .register(this.registry);
+    }
+
+    Timer makeSinkBatchTimer() {
+        return Timer.builder("connector.sink.batch.latency")
+                .description("The time the sink takes to write a batch")
+                .tags(this.tags)
+                .publishPercentileHistogram()
+                .register(this.registry);
+    }
+
+    Counter makeSinkFailuresCounter() {
+        return Counter.builder("connector.sink.failures")
+                .description("The number of batches the sink failed to write")
+                .tags(this.tags)
+                .register(this.registry);
+    }
+
+    Counter makeSinkRowsCounter(ReportType reportType) {
+        return Counter.builder("connector.sink.rows")
+                .description("The number of reports written by the sink")
+                .tags(this.tags)
+                .tag(REPORT_TYPE_TAG, reportType.name())
+                .register(this.registry);
+    }
+}
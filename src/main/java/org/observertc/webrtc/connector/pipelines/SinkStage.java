@@ -0,0 +1,227 @@
+package org.observertc.webrtc.connector.pipelines;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
+import org.observertc.webrtc.connector.sinks.Sink;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.observertc.webrtc.schemas.reports.ReportType;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Writes the batches of a lane to the sink asynchronously, so the lane decodes and transforms
+ * the next batch while the previous ones are being written.
+ *
+ * <p>At most {@link Sink#getMaxInFlight()} batches are in flight. If all of them are in flight,
+ * the thread of the lane is blocked until the oldest one is acknowledged, which in turn
+ * stops the lane requesting messages from the source. Batches are acknowledged in the order
+ * they have been received, regardless of the order their writes are completed.
+ *
+ * <p>Batches are not retried. If the sink throws an exception for a batch, the stage fails:
+ * the sink and the upstream are terminated, the batches still in flight are dropped without being
+ * acknowledged, and the lane ends. Errors the sink can recover from (i.e.: reports rejected by the
+ * destination) must be handled by the sink itself, for example by sending them to the dead letters.
+ */
+class SinkStage implements FlowableSubscriber<List<Report>> {
+    private static final Logger logger = LoggerFactory.getLogger(SinkStage.class);
+
+    private final Sink sink;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final Deque<Batch> inFlight = new ArrayDeque<>();
+    private Consumer<List<Report>> acknowledgement = reports -> {};
+    private Timer batchLatency;
+    private Counter failures;
+    private Counter[] rows;
+    private Subscription upstream;
+    private volatile boolean failed = false;
+
+    SinkStage(Sink sink, Executor executor) {
+        this.sink = sink;
+        this.executor = executor;
+        this.maxInFlight = sink.getMaxInFlight();
+        this.permits = new Semaphore(this.maxInFlight);
+        this.withMetrics(PipelineMetrics.disabled());
+    }
+
+    SinkStage withMetrics(PipelineMetrics metrics) {
+        this.batchLatency = metrics.makeSinkBatchTimer();
+        this.failures = metrics.makeSinkFailuresCounter();
+        ReportType[] reportTypes = ReportType.values();
+        this.rows = new Counter[reportTypes.length];
+        for (ReportType reportType : reportTypes) {
+            this.rows[reportType.ordinal()] = metrics.makeSinkRowsCounter(reportType);
+        }
+        return this;
+    }
+
+    SinkStage withAcknowledgement(Consumer<List<Report>> acknowledgement) {
+        this.acknowledgement = acknowledgement;
+        return this;
+    }
+
+    @Override
+    public void onSubscribe(@NonNull Subscription s) {
+        this.upstream = s;
+        this.sink.onSubscribe(s);
+    }
+
+    @Override
+    public void onNext(@NonNull List<Report> reports) {
+        if (this.failed) {
+            return;
+        }
+        try {
+            this.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.upstream.cancel();
+            return;
+        }
+        Batch batch = new Batch(reports);
+        synchronized (this.inFlight) {
+            this.inFlight.addLast(batch);
+        }
+        this.executor.execute(() -> this.write(batch));
+    }
+
+    @Override
+    public void onError(@NonNull Throwable t) {
+        this.awaitInFlightBatches();
+        if (this.failed) {
+            return;
+        }
+        this.sink.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+        this.awaitInFlightBatches();
+        if (this.failed) {
+            return;
+        }
+        this.sink.onComplete();
+    }
+
+    private void write(Batch batch) {
+        if (this.failed) {
+            // the sink has already been terminated
+            this.drop(batch);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            this.sink.onNext(batch.reports);
+        } catch (Throwable t) {
+            this.failures.increment();
+            this.fail(batch, t);
+            return;
+        }
+        this.batchLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        this.countRows(batch.reports);
+        int acknowledged = 0;
+        synchronized (this.inFlight) {
+            batch.written = true;
+            if (this.failed) {
+                // batches written after the failed one are never acknowledged
+                this.drop(batch);
+                return;
+            }
+            while (!this.inFlight.isEmpty() && this.inFlight.peekFirst().written) {
+                Batch acknowledgedBatch = this.inFlight.pollFirst();
+                try {
+                    this.acknowledgement.accept(acknowledgedBatch.reports);
+                } catch (Throwable t) {
+                    logger.warn("Error occurred while acknowledging a written batch", t);
+                }
+                ++acknowledged;
+            }
+        }
+        this.permits.release(acknowledged);
+    }
+
+    private void countRows(List<Report> reports) {
+        int[] counts = new int[this.rows.length];
+        for (Report report : reports) {
+            ReportType reportType = report.getType();
+            if (Objects.nonNull(reportType)) {
+                ++counts[reportType.ordinal()];
+            }
+        }
+        for (int i = 0; i < counts.length; ++i) {
+            if (0 < counts[i]) {
+                this.rows[i].increment(counts[i]);
+            }
+        }
+    }
+
+    private void drop(Batch batch) {
+        synchronized (this.inFlight) {
+            if (this.inFlight.remove(batch)) {
+                this.permits.release();
+            }
+        }
+    }
+
+    /**
+     * Releases the permits of the failed batch and the written batches waiting for it,
+     * the batches still being written release theirs once their writes are completed.
+     */
+    private void fail(Batch batch, Throwable t) {
+        int released = 0;
+        boolean alreadyFailed;
+        synchronized (this.inFlight) {
+            alreadyFailed = this.failed;
+            this.failed = true;
+            for (Iterator<Batch> it = this.inFlight.iterator(); it.hasNext(); ) {
+                Batch inFlightBatch = it.next();
+                if (inFlightBatch == batch || inFlightBatch.written) {
+                    it.remove();
+                    ++released;
+                }
+            }
+        }
+        this.permits.release(released);
+        if (alreadyFailed) {
+            logger.warn("Error occurred in the sink after it has already failed", t);
+            return;
+        }
+        this.sink.onError(t);
+        if (Objects.nonNull(this.upstream)) {
+            this.upstream.cancel();
+        }
+    }
+
+    private void awaitInFlightBatches() {
+        try {
+            this.permits.acquire(this.maxInFlight);
+            this.permits.release(this.maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while waiting for the in flight batches to be written");
+        }
+    }
+
+    private static class Batch {
+        final List<Report> reports;
+        volatile boolean written = false;
+
+        Batch(List<Report> reports) {
+            this.reports = reports;
+        }
+    }
+}
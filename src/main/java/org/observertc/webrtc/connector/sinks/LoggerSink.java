@@ -1,8 +1,8 @@
 package org.observertc.webrtc.connector.sinks;
 
 import io.reactivex.rxjava3.annotations.NonNull;
-import io.reactivex.rxjava3.disposables.Disposable;
 import org.observertc.webrtc.schemas.reports.Report;
+import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,8 +16,8 @@ public class LoggerSink extends Sink {
     private boolean detailedRow = true;
 
     @Override
-    public void onSubscribe(@NonNull Disposable d) {
-        super.onSubscribe(d);
+    public void onSubscribe(@NonNull Subscription s) {
+        super.onSubscribe(s);
     }
 
     @Override
@@ -1,11 +1,12 @@
 package org.observertc.webrtc.connector.sinks;
 
 import io.reactivex.rxjava3.annotations.NonNull;
-import io.reactivex.rxjava3.core.Observer;
-import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
 import org.observertc.webrtc.connector.common.RestartPolicy;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
 import org.observertc.webrtc.connector.pipelines.Pipeline;
 import org.observertc.webrtc.schemas.reports.Report;
+import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,24 +14,27 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
-public abstract class Sink implements Observer<List<Report>> {
+public abstract class Sink implements FlowableSubscriber<List<Report>> {
     private static final Logger DEFAULT_LOGGER = LoggerFactory.getLogger(Sink.class);
     private Optional<Pipeline> pipelineHolder = Optional.empty();
-    private Disposable upstream;
+    private Subscription upstream;
     protected Logger logger = DEFAULT_LOGGER;
+    protected DeadLetterChannel deadLetters = DeadLetterChannel.disabled();
     private RestartPolicy restartPolicy = RestartPolicy.Never;
+    private int maxInFlight = 1;
 
     @Override
-    public void onSubscribe(@NonNull Disposable d) {
-        this.upstream = d;
+    public void onSubscribe(@NonNull Subscription s) {
+        this.upstream = s;
+        // the number of batches in flight is limited by the pipeline, which blocks the lane
+        // instead of buffering batches, so the sink can accept whatever it is given
+        this.upstream.request(Long.MAX_VALUE);
     }
 
     @Override
     public void onError(@NonNull Throwable e) {
         if (Objects.nonNull(this.upstream)) {
-            if (!upstream.isDisposed()) {
-                this.upstream.dispose();
-            }
+            this.upstream.cancel();
         }
         logger.warn("Error occurred in pipeline ", e);
     }
@@ -49,6 +53,27 @@ public abstract class Sink implements Observer<List<Report>> {
         return this;
     }
 
+    /**
+     * Sets the number of batches can be written concurrently.
+     * If it is more than 1, the onNext method of the sink must be thread safe.
+     */
+    public Sink withMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    public int getMaxInFlight() {
+        return this.maxInFlight;
+    }
+
+    /**
+     * Sets the channel the reports rejected by the destination of the sink are sent to
+     */
+    public Sink withDeadLetters(DeadLetterChannel deadLetters) {
+        this.deadLetters = deadLetters;
+        return this;
+    }
+
     public Sink withLogger(Logger logger) {
         this.logger.info("Default logger for {} is switched to {}", this.getClass().getSimpleName(), logger.getName());
         this.logger = logger;
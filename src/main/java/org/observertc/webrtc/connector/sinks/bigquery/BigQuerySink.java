@@ -7,6 +7,7 @@ import com.google.cloud.bigquery.TableId;
 import io.reactivex.rxjava3.annotations.NonNull;
 import org.observertc.webrtc.connector.common.BigQueryService;
 import org.observertc.webrtc.connector.databases.ReportMapper;
+import org.observertc.webrtc.connector.deadletters.DeadLetter;
 import org.observertc.webrtc.connector.sinks.Sink;
 import org.observertc.webrtc.schemas.reports.Report;
 import org.observertc.webrtc.schemas.reports.ReportType;
@@ -26,7 +27,8 @@ public class BigQuerySink extends Sink {
     @Override
     public void onNext(@NonNull List<Report> reports) {
         Map<ReportType, InsertAllRequest.Builder> requestbuilders = new HashMap<>();
-        Map<ReportType, Integer> counts = new HashMap<>();
+        // the rows of the requests in order, insert errors refer to the rows by their index
+        Map<ReportType, List<Report>> rows = new HashMap<>();
         for (Report report : reports) {
             ReportType reportType = report.getType();
             InsertAllRequest.Builder requestBuilder = requestbuilders.get(reportType);
@@ -47,8 +49,7 @@ public class BigQuerySink extends Sink {
             }
             Map<String, Object> row = adapter.apply(report);
             requestBuilder.addRow(row);
-            int count = counts.getOrDefault(reportType, 0);
-            counts.put(reportType, ++count);
+            rows.computeIfAbsent(reportType, type -> new ArrayList<>()).add(report);
         }
 
         if (requestbuilders.size() < 1) {
@@ -64,19 +65,22 @@ public class BigQuerySink extends Sink {
             InsertAllResponse response =
                     this.bigQueryService.getBigQuery().insertAll(requestBuilder.build());
 
+            List<Report> requestRows = rows.get(entryType);
             if (response.hasErrors()) {
-                // If any of the insertions failed, this lets you inspect the errors
-                for (Map.Entry<Long, List<BigQueryError>> errorEntry : response.getInsertErrors().entrySet()) {
-                    logger.error("{}: Table: {}, ErrorEntryKey: {} ErrorResponse: {}",
-                            entryType,
-                            errorEntry.getKey(),
-                            String.join(", \n", errorEntry.getValue().stream().map(Object::toString).collect(Collectors.toList()))
-                    );
-                    // inspect row error
+                Map<Long, List<BigQueryError>> insertErrors = response.getInsertErrors();
+                for (Map.Entry<Long, List<BigQueryError>> errorEntry : insertErrors.entrySet()) {
+                    String error = errorEntry.getValue().stream().map(Object::toString).collect(Collectors.joining(", "));
+                    this.deadLetters.accept(DeadLetter.ofReport(requestRows.get(errorEntry.getKey().intValue()), error));
                 }
+                logger.error("{}: {} rows of {} are rejected by table {}",
+                        entryType,
+                        insertErrors.size(),
+                        requestRows.size(),
+                        this.routes.get(entryType).tableName
+                );
             } else {
                 logger.info("{} rows inserted to inserted {}:{}.{}.",
-                        counts.get(entryType),
+                        requestRows.size(),
                         this.bigQueryService.getProjectId(),
                         this.bigQueryService.getDatasetId(),
                         this.routes.get(entryType).tableName
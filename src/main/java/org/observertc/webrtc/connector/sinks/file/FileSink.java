@@ -1,10 +1,10 @@
 package org.observertc.webrtc.connector.sinks.file;
 
 import io.reactivex.rxjava3.annotations.NonNull;
-import io.reactivex.rxjava3.disposables.Disposable;
 import org.observertc.webrtc.connector.sinks.Sink;
 import org.observertc.webrtc.schemas.reports.Report;
 import org.observertc.webrtc.schemas.reports.ReportType;
+import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,13 +30,13 @@ public class FileSink extends Sink {
     private int maxFileNum;
 
     @Override
-    public void onSubscribe(@NotNull Disposable d) {
+    public void onSubscribe(@NotNull Subscription s) {
         Objects.requireNonNull(this.path, "Path must be set for FileSink");
-        super.onSubscribe(d);
+        super.onSubscribe(s);
     }
 
     @Override
-    public void onNext(@NonNull List<Report> reports) {
+    public synchronized void onNext(@NonNull List<Report> reports) {
         boolean maxFileReached = false;
         boolean reportsAdded = false;
         for (Report report : reports) {
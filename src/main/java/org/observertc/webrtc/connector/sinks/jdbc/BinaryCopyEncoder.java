@@ -0,0 +1,114 @@
+package org.observertc.webrtc.connector.sinks.jdbc;
+
+import org.jooq.Field;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Encodes rows in the binary format of the PostgreSQL COPY command.
+ * The value of a column is encoded according to the java type of the (fetched) table field,
+ * hence the encoded values match the types of the existing columns.
+ *
+ * @see <a href="https://www.postgresql.org/docs/current/sql-copy.html">COPY binary format</a>
+ */
+class BinaryCopyEncoder {
+    private static final byte[] SIGNATURE = "PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1);
+
+    private interface ValueWriter {
+        void write(DataOutputStream output, Object value) throws IOException;
+    }
+
+    private final ValueWriter[] writers;
+
+    BinaryCopyEncoder(List<Field> fields) {
+        this.writers = new ValueWriter[fields.size()];
+        for (int i = 0; i < this.writers.length; ++i) {
+            this.writers[i] = makeWriter(fields.get(i));
+        }
+    }
+
+    void writeHeader(DataOutputStream output) throws IOException {
+        output.write(SIGNATURE);
+        output.writeInt(0); // flags
+        output.writeInt(0); // header extension length
+    }
+
+    /**
+     * @param values the values of the fields in the order the encoder is created with
+     */
+    void writeRow(DataOutputStream output, Object[] values) throws IOException {
+        output.writeShort(this.writers.length);
+        for (int i = 0; i < this.writers.length; ++i) {
+            Object value = values[i];
+            if (Objects.isNull(value)) {
+                output.writeInt(-1);
+                continue;
+            }
+            this.writers[i].write(output, value);
+        }
+    }
+
+    void writeTrailer(DataOutputStream output) throws IOException {
+        output.writeShort(-1);
+    }
+
+    private static ValueWriter makeWriter(Field field) {
+        Class<?> type = field.getType();
+        if (Long.class.equals(type)) {
+            return (output, value) -> {
+                output.writeInt(8);
+                output.writeLong(((Number) value).longValue());
+            };
+        } else if (Integer.class.equals(type)) {
+            return (output, value) -> {
+                output.writeInt(4);
+                output.writeInt(((Number) value).intValue());
+            };
+        } else if (Short.class.equals(type)) {
+            return (output, value) -> {
+                output.writeInt(2);
+                output.writeShort(((Number) value).shortValue());
+            };
+        } else if (Boolean.class.equals(type)) {
+            return (output, value) -> {
+                output.writeInt(1);
+                output.writeByte((Boolean) value ? 1 : 0);
+            };
+        } else if (Double.class.equals(type)) {
+            return (output, value) -> {
+                output.writeInt(8);
+                output.writeDouble(((Number) value).doubleValue());
+            };
+        } else if (Float.class.equals(type)) {
+            return (output, value) -> {
+                output.writeInt(4);
+                output.writeFloat(((Number) value).floatValue());
+            };
+        } else if (String.class.equals(type)) {
+            return (output, value) -> {
+                byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            };
+        } else if (byte[].class.equals(type)) {
+            return (output, value) -> {
+                byte[] bytes;
+                if (value instanceof ByteBuffer) {
+                    ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+                    bytes = new byte[buffer.remaining()];
+                    buffer.get(bytes);
+                } else {
+                    bytes = (byte[]) value;
+                }
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            };
+        }
+        throw new IllegalArgumentException("Binary COPY does not support the type " + field.getDataType().getTypeName() + " of column " + field.getName());
+    }
+}
@@ -1,24 +1,59 @@
 package org.observertc.webrtc.connector.sinks.jdbc;
 
 import io.reactivex.rxjava3.annotations.NonNull;
+import org.jooq.ConnectionProvider;
 import org.jooq.DSLContext;
 import org.jooq.Field;
 import org.jooq.InsertValuesStepN;
 import org.jooq.Table;
+import org.jooq.conf.ParamType;
+import org.jooq.exception.DataAccessException;
+import org.jooq.exception.SQLStateClass;
+import org.jooq.impl.DSL;
 import org.observertc.webrtc.connector.databases.ReportMapper;
+import org.observertc.webrtc.connector.deadletters.DeadLetter;
 import org.observertc.webrtc.connector.sinks.Sink;
 import org.observertc.webrtc.schemas.reports.Report;
 import org.observertc.webrtc.schemas.reports.ReportType;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 public class JDBCSink extends Sink {
+    public enum InsertMode {
+        /**
+         * Reports are bound to a prepared insert statement, and executed as a JDBC batch
+         */
+        BATCH,
+        /**
+         * One multi-row insert statement is rendered for every batch of reports
+         */
+        VALUES,
+        /**
+         * Reports are streamed by the COPY command in binary format (PostgreSQL only)
+         */
+        COPY
+    }
+
+    private static final int COPY_BUFFER_SIZE = 65536;
+    // a connection idle for longer is validated before a batch is written on it
+    private static final long VALIDATION_IDLE_TIME_IN_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int VALIDATION_TIMEOUT_IN_S = 5;
     private final Supplier<DSLContext> contextSupplier;
     private final Map<ReportType, Route> routes = new HashMap<>();
+    private InsertMode insertMode = InsertMode.VALUES;
+    // the writers of the threads writing the batches in BATCH insert mode
+    private final ThreadLocal<Writer> threadWriters = new ThreadLocal<>();
+    private final Set<Writer> writers = ConcurrentHashMap.newKeySet();
 
     public JDBCSink(Supplier<DSLContext> contextSupplier) {
         this.contextSupplier = contextSupplier;
@@ -26,6 +61,153 @@ public class JDBCSink extends Sink {
 
     @Override
     public void onNext(@NonNull List<Report> reports) {
+        try {
+            this.insert(reports);
+        } catch (DataAccessException ex) {
+            if (!this.deadLetters.isEnabled() || !isRejection(ex)) {
+                throw ex;
+            }
+            // the transaction of the batch is rolled back, so every report of the batch is rejected
+            String error = ex.getClass().getName() + ": " + ex.getMessage();
+            reports.forEach(report -> this.deadLetters.accept(DeadLetter.ofReport(report, error)));
+            logger.warn("{} reports are rejected by the database and sent to the dead letter channel (SQLState: {})",
+                    reports.size(), ex.sqlState());
+        }
+    }
+
+    @Override
+    public void onError(@NonNull Throwable e) {
+        super.onError(e);
+        this.closeWriters();
+    }
+
+    @Override
+    public void onComplete() {
+        super.onComplete();
+        this.closeWriters();
+    }
+
+    /**
+     * Data exceptions and constraint violations are caused by the reports themselves,
+     * every other error (i.e.: connection failures) would fail the next batch as well.
+     */
+    private static boolean isRejection(DataAccessException ex) {
+        SQLStateClass sqlStateClass = ex.sqlStateClass();
+        return SQLStateClass.C22_DATA_EXCEPTION.equals(sqlStateClass) ||
+                SQLStateClass.C23_INTEGRITY_CONSTRAINT_VIOLATION.equals(sqlStateClass);
+    }
+
+    private void insert(List<Report> reports) {
+        switch (this.insertMode) {
+            case COPY:
+                this.executeCopies(reports);
+                break;
+            case VALUES:
+                this.executeInserts(reports);
+                break;
+            case BATCH:
+            default:
+                this.executeBatches(reports);
+                break;
+        }
+    }
+
+    /**
+     * Streams the reports of every report type through one COPY command in one transaction.
+     */
+    private void executeCopies(List<Report> reports) {
+        Map<ReportType, List<Report>> batches = new EnumMap<>(ReportType.class);
+        for (Report report : reports) {
+            var reportType = report.getType();
+            if (!this.routes.containsKey(reportType)) {
+                logger.warn("There is no route defined for report type {}", reportType);
+                continue;
+            }
+            batches.computeIfAbsent(reportType, type -> new LinkedList<>()).add(report);
+        }
+        var context = this.contextSupplier.get();
+        context.connection(connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            try {
+                connection.setAutoCommit(false);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                for (Map.Entry<ReportType, List<Report>> entry : batches.entrySet()) {
+                    long insertedRecords = this.copy(pgConnection, this.routes.get(entry.getKey()), entry.getValue());
+                    logger.info("For report type {} copied {} records", entry.getKey(), insertedRecords);
+                }
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    private long copy(PGConnection connection, Route route, List<Report> reports) throws SQLException {
+        PGCopyOutputStream copyStream = new PGCopyOutputStream(connection, route.copySQL, COPY_BUFFER_SIZE);
+        try {
+            DataOutputStream output = new DataOutputStream(copyStream);
+            RowBuffer rowBuffer = route.makeRowBuffer();
+            route.copyEncoder.writeHeader(output);
+            for (Report report : reports) {
+                route.copyEncoder.writeRow(output, rowBuffer.map(report));
+            }
+            route.copyEncoder.writeTrailer(output);
+            output.flush();
+            return copyStream.endCopy();
+        } catch (IOException ex) {
+            if (copyStream.isActive()) {
+                copyStream.cancelCopy();
+            }
+            throw new SQLException("Error occurred while copying reports to " + route.table.getName(), ex);
+        }
+    }
+
+    /**
+     * Binds the reports to the prepared insert statements of the routes,
+     * and executes one JDBC batch per report type in one transaction.
+     * The statements are prepared once on the connection of the writing thread, and reused for every batch.
+     */
+    private void executeBatches(List<Report> reports) {
+        Writer writer = this.threadWriters.get();
+        try {
+            if (Objects.isNull(writer) || !writer.isUsable()) {
+                if (Objects.nonNull(writer)) {
+                    this.closeWriter(writer);
+                }
+                writer = new Writer(this.contextSupplier.get().configuration().connectionProvider());
+                this.writers.add(writer);
+                this.threadWriters.set(writer);
+            }
+            writer.write(reports);
+        } catch (SQLException ex) {
+            DataAccessException translated = new DataAccessException("Error occurred while inserting a batch of reports", ex);
+            if (Objects.nonNull(writer) && !isRejection(translated)) {
+                // the connection may be broken, the next batch is written on a new one
+                this.closeWriter(writer);
+            }
+            throw translated;
+        }
+    }
+
+    private void closeWriter(Writer writer) {
+        this.writers.remove(writer);
+        if (writer == this.threadWriters.get()) {
+            this.threadWriters.remove();
+        }
+        writer.close();
+    }
+
+    private void closeWriters() {
+        for (Writer writer : this.writers) {
+            this.writers.remove(writer);
+            writer.close();
+        }
+    }
+
+    private void executeInserts(List<Report> reports) {
         var context = this.contextSupplier.get();
         Map<ReportType, InsertValuesStepN> batch = new HashMap<>();
         for (Report report : reports) {
@@ -54,20 +236,195 @@ public class JDBCSink extends Sink {
     }
 
     JDBCSink withRoute(ReportType reportType, Table<?> table, ReportMapper adapter, List<Field> fields) {
-        JDBCSink.Route route = new JDBCSink.Route(table, adapter, fields);
+        // the parameterized insert statement is rendered only once for a route
+        var context = this.contextSupplier.get();
+        String insertSQL = context
+                .insertInto(table)
+                .columns(fields.toArray(new Field[0]))
+                .values(Collections.nCopies(fields.size(), null))
+                .getSQL(ParamType.INDEXED);
+        JDBCSink.Route route = new JDBCSink.Route(table, adapter, fields, insertSQL);
+        if (InsertMode.COPY.equals(this.insertMode)) {
+            String columns = fields.stream()
+                    .map(field -> context.render(DSL.name(field.getName())))
+                    .collect(Collectors.joining(", "));
+            route.copySQL = String.format("COPY %s (%s) FROM STDIN (FORMAT binary)", context.render(table), columns);
+            route.copyEncoder = new BinaryCopyEncoder(fields);
+        }
         this.routes.put(reportType, route);
         return this;
     }
 
+    /**
+     * Must be set before the routes are added
+     */
+    JDBCSink withInsertMode(InsertMode insertMode) {
+        this.insertMode = insertMode;
+        return this;
+    }
+
+    /**
+     * A connection held by a thread writing the batches, and the insert statements of the routes prepared on it.
+     * The connection is returned when the sink terminates, or when a batch fails on it.
+     */
+    private class Writer {
+        private final ConnectionProvider connectionProvider;
+        private final Connection connection;
+        private final Map<ReportType, PreparedStatement> statements = new EnumMap<>(ReportType.class);
+        private final Map<ReportType, RowBuffer> rowBuffers = new EnumMap<>(ReportType.class);
+        private long lastUsed = System.nanoTime();
+        private volatile boolean closed = false;
+
+        private Writer(ConnectionProvider connectionProvider) throws SQLException {
+            this.connectionProvider = connectionProvider;
+            this.connection = connectionProvider.acquire();
+            try {
+                this.connection.setAutoCommit(false);
+            } catch (SQLException ex) {
+                connectionProvider.release(this.connection);
+                throw ex;
+            }
+        }
+
+        private boolean isUsable() throws SQLException {
+            if (this.closed) {
+                return false;
+            }
+            if (System.nanoTime() - this.lastUsed < VALIDATION_IDLE_TIME_IN_NANOS) {
+                return true;
+            }
+            return this.connection.isValid(VALIDATION_TIMEOUT_IN_S);
+        }
+
+        private void write(List<Report> reports) throws SQLException {
+            this.lastUsed = System.nanoTime();
+            Map<ReportType, Integer> counts = new EnumMap<>(ReportType.class);
+            try {
+                for (Report report : reports) {
+                    var reportType = report.getType();
+                    Route route = routes.get(reportType);
+                    if (Objects.isNull(route)) {
+                        logger.warn("There is no route defined for report type {}", reportType);
+                        continue;
+                    }
+                    PreparedStatement statement = this.statements.get(reportType);
+                    if (Objects.isNull(statement)) {
+                        statement = this.connection.prepareStatement(route.insertSQL);
+                        this.statements.put(reportType, statement);
+                        this.rowBuffers.put(reportType, route.makeRowBuffer());
+                    }
+                    route.bind(statement, this.rowBuffers.get(reportType).map(report));
+                    statement.addBatch();
+                    counts.merge(reportType, 1, Integer::sum);
+                }
+                for (ReportType reportType : counts.keySet()) {
+                    this.statements.get(reportType).executeBatch();
+                }
+                this.connection.commit();
+            } catch (SQLException ex) {
+                try {
+                    this.connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    ex.addSuppressed(rollbackEx);
+                } finally {
+                    for (PreparedStatement statement : this.statements.values()) {
+                        try {
+                            statement.clearBatch();
+                        } catch (SQLException clearEx) {
+                            ex.addSuppressed(clearEx);
+                        }
+                    }
+                }
+                throw ex;
+            }
+            counts.forEach((reportType, insertedRecords) ->
+                    logger.info("For report type {} inserted {} records", reportType, insertedRecords));
+        }
+
+        private void close() {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            try {
+                for (PreparedStatement statement : this.statements.values()) {
+                    statement.close();
+                }
+                this.connection.setAutoCommit(true);
+            } catch (SQLException ex) {
+                logger.warn("Error occurred while closing the prepared statements", ex);
+            } finally {
+                this.connectionProvider.release(this.connection);
+            }
+        }
+    }
+
     private class Route {
         public final List<Field> fields;
         public final Table<?> table;
         public final ReportMapper mapper;
+        public final String insertSQL;
+        public String copySQL;
+        public BinaryCopyEncoder copyEncoder;
+        private final int[] sqlTypes;
+        // the positions of the table fields amongst the columns of the mapper
+        private final int[] columnIndexes;
 
-        private Route(Table<?> table, ReportMapper mapper, List<Field> fields) {
+        private Route(Table<?> table, ReportMapper mapper, List<Field> fields, String insertSQL) {
             this.table = table;
             this.mapper = mapper;
             this.fields = fields;
+            this.insertSQL = insertSQL;
+            this.sqlTypes = new int[fields.size()];
+            this.columnIndexes = new int[fields.size()];
+            List<String> columnNames = Arrays.asList(mapper.getColumnNames());
+            for (int i = 0; i < this.columnIndexes.length; ++i) {
+                Field field = fields.get(i);
+                this.sqlTypes[i] = field.getDataType().getSQLType();
+                this.columnIndexes[i] = columnNames.indexOf(field.getName());
+            }
+        }
+
+        private RowBuffer makeRowBuffer() {
+            return new RowBuffer(this);
+        }
+
+        private void bind(PreparedStatement statement, Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; ++i) {
+                Object value = values[i];
+                if (Objects.isNull(value)) {
+                    statement.setNull(i + 1, this.sqlTypes[i]);
+                } else {
+                    statement.setObject(i + 1, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reused for the reports of one route in a batch, so mapping a report does not allocate.
+     */
+    private static class RowBuffer {
+        private final Route route;
+        private final Object[] row;
+        private final Object[] values;
+
+        private RowBuffer(Route route) {
+            this.route = route;
+            this.row = new Object[route.mapper.getColumnNames().length];
+            this.values = new Object[route.columnIndexes.length];
+        }
+
+        /**
+         * @return the values of the table fields of the route in order
+         */
+        private Object[] map(Report report) {
+            this.route.mapper.write(report, this.row, 0);
+            for (int i = 0; i < this.values.length; ++i) {
+                int columnIndex = this.route.columnIndexes[i];
+                this.values[i] = columnIndex < 0 ? null : this.row[columnIndex];
+            }
+            return this.values;
         }
     }
-}
\ No newline at end of file
+}
@@ -31,11 +31,20 @@ public class JDBCSinkBuilder extends AbstractBuilder implements Builder<Sink> {
 
     private static final Logger logger = LoggerFactory.getLogger(JDBCSinkBuilder.class);
     private final Map<ReportType, TableInfoConfig> tableConfigs;
+    private DataSource dataSource = null;
 
     public JDBCSinkBuilder() {
         this.tableConfigs = new HashMap<>();
     }
 
+    /**
+     * Sets the datasource the sink is built with instead of the one configured by its name
+     */
+    JDBCSinkBuilder withDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+        return this;
+    }
+
     @Override
     public Sink build() {
         Config config = this.convertAndValidate(Config.class);
@@ -66,8 +75,13 @@ public class JDBCSinkBuilder extends AbstractBuilder implements Builder<Sink> {
             return null;
         }
 
-        DatasourceProvider datasourceProvider = Application.context.createBean(DatasourceProvider.class);
-        var datasource = datasourceProvider.apply(config.datasource);
+        final DataSource datasource;
+        if (Objects.nonNull(this.dataSource)) {
+            datasource = this.dataSource;
+        } else {
+            DatasourceProvider datasourceProvider = Application.context.createBean(DatasourceProvider.class);
+            datasource = datasourceProvider.apply(config.datasource);
+        }
         if (Objects.isNull(datasource)) {
             logger.error("Cannot beam (up) datasource. JDBCSink cannot be built");
             return null;
@@ -86,25 +100,35 @@ public class JDBCSinkBuilder extends AbstractBuilder implements Builder<Sink> {
 
         }
         Supplier<DSLContext> contextSupplier = () -> DSL.using(datasource, dialect);
-        JDBCSink result = new JDBCSink(contextSupplier);
-        reportMappers.entrySet()
-                .forEach(
-                        entry -> {
-                            ReportType reportType = entry.getKey();
-                            TableInfoConfig tableConfig = this.tableConfigs.get(reportType);
-                            Table table = fetchedTables.get(reportType);
-                            if (Objects.isNull(table)) {
-                                logger.warn("No table found for report type {}", reportType);
-                                return;
-                            }
-                            List<Field> fields = getFields(dialect, tableConfig, table);
-                            result.withRoute(
-                                    reportType,
-                                    table,
-                                    entry.getValue(),
-                                    fields
-                            );
-                        });
+        if (JDBCSink.InsertMode.COPY.equals(config.insertMode) && !SQLDialect.POSTGRES.equals(dialect)) {
+            logger.error("Insert mode {} is supported only for {} dialect", config.insertMode, SQLDialect.POSTGRES);
+            return null;
+        }
+        JDBCSink result = new JDBCSink(contextSupplier)
+                .withInsertMode(config.insertMode);
+        try {
+            reportMappers.entrySet()
+                    .forEach(
+                            entry -> {
+                                ReportType reportType = entry.getKey();
+                                TableInfoConfig tableConfig = this.tableConfigs.get(reportType);
+                                Table table = fetchedTables.get(reportType);
+                                if (Objects.isNull(table)) {
+                                    logger.warn("No table found for report type {}", reportType);
+                                    return;
+                                }
+                                List<Field> fields = getFields(dialect, tableConfig, table);
+                                result.withRoute(
+                                        reportType,
+                                        table,
+                                        entry.getValue(),
+                                        fields
+                                );
+                            });
+        } catch (IllegalArgumentException ex) {
+            logger.error("Routes for JDBCSink cannot be built", ex);
+            return null;
+        }
 
         return result;
     }
@@ -167,6 +191,9 @@ public class JDBCSinkBuilder extends AbstractBuilder implements Builder<Sink> {
 
         public SchemaCheckConfig schemaCheck = new SchemaCheckConfig();
 
+        @NotNull
+        public JDBCSink.InsertMode insertMode = JDBCSink.InsertMode.VALUES;
+
         public static class SchemaCheckConfig {
             public boolean enabled = true;
 
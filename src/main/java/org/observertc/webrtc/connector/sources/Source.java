@@ -1,33 +1,39 @@
 package org.observertc.webrtc.connector.sources;
 
 import io.reactivex.rxjava3.annotations.NonNull;
-import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Flowable;
 import org.observertc.webrtc.connector.common.RestartPolicy;
 import org.observertc.webrtc.connector.pipelines.Pipeline;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.reactivestreams.Subscriber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
-public abstract class Source extends Observable<byte[]> implements Runnable {
+/**
+ * Sources emit the received messages only as long as the downstream requested them,
+ * so a slow sink pauses the source instead of piling up messages in the memory.
+ */
+public abstract class Source extends Flowable<byte[]> implements Runnable {
     private static final Logger DEFAULT_LOGGER = LoggerFactory.getLogger(Source.class);
     private Optional<Pipeline> pipelineHolder = Optional.empty();
 
-    private Observer<? super byte[]> observer = null;
-    private Observable<byte[]> source;
+    private Subscriber<? super byte[]> subscriber = null;
+    private Flowable<byte[]> source;
     protected Logger logger = DEFAULT_LOGGER;
     private RestartPolicy restartPolicy = RestartPolicy.Never;
 
     @Override
-    protected void subscribeActual(@NonNull Observer<? super byte[]> observer) {
-        if (Objects.nonNull(this.observer)) {
-            logger.error("Cannot have more than one observer to be subscribed to a source.");
+    protected void subscribeActual(@NonNull Subscriber<? super byte[]> subscriber) {
+        if (Objects.nonNull(this.subscriber)) {
+            logger.error("Cannot have more than one subscriber to be subscribed to a source.");
             throw new IllegalStateException(this.getClass().getSimpleName() + " is used in a flawful way");
         }
 
-        this.observer = observer;
+        this.subscriber = subscriber;
     }
 
     @Override
@@ -36,14 +42,14 @@ public abstract class Source extends Observable<byte[]> implements Runnable {
     }
 
     public void start() {
-        if (Objects.isNull(this.observer)) {
-            logger.error("No observer has been subscribed for {}, therefore the pipeline cannot run",
+        if (Objects.isNull(this.subscriber)) {
+            logger.error("No subscriber has been subscribed for {}, therefore the pipeline cannot run",
                     this.getClass().getSimpleName()
             );
             return;
         }
-        this.source = this.makeObservable();
-        this.source.subscribe(this.observer);
+        this.source = this.makeFlowable();
+        this.source.subscribe(this.subscriber);
     }
 
     public void stop() {
@@ -51,7 +57,61 @@ public abstract class Source extends Observable<byte[]> implements Runnable {
                 this.getClass().getSimpleName());
     }
 
-    protected abstract Observable<byte[]> makeObservable();
+    protected abstract Flowable<byte[]> makeFlowable();
+
+    /**
+     * If true, the pipeline subscribes to {@link #reports()} instead of the messages of the source,
+     * and the reports are processed without encoding and decoding them. If the source is acknowledging,
+     * the reports are acknowledged by {@link #acknowledgeReports(List)}.
+     */
+    public boolean isEmittingReports() {
+        return false;
+    }
+
+    /**
+     * Gives the reports of a source emitting reports, the reports are made when a subscriber subscribes
+     */
+    public Flowable<Report> reports() {
+        return Flowable.defer(this::makeReports);
+    }
+
+    protected Flowable<Report> makeReports() {
+        return Flowable.error(new UnsupportedOperationException(this.getClass().getSimpleName() + " does not emit reports"));
+    }
+
+    /**
+     * Gives the partition the message has been received from. It is called serially, right after
+     * the message is emitted and before the next one is emitted.
+     *
+     * @return the partition of the message, or -1 if the source has no partitions
+     */
+    public int getPartition(byte[] message) {
+        return -1;
+    }
+
+    /**
+     * If true, the pipeline calls {@link #acknowledge(List)} for the emitted messages
+     */
+    public boolean isAcknowledging() {
+        return false;
+    }
+
+    /**
+     * Called once the given messages are written by the sink or dropped by the pipeline.
+     * It can be called concurrently, and the messages of different lanes can be acknowledged in any order.
+     */
+    public void acknowledge(List<byte[]> messages) {
+
+    }
+
+    /**
+     * Called once the given reports of a source emitting reports are written by the sink or dropped by the pipeline.
+     * The reports are the instances the source has emitted. It can be called concurrently,
+     * and the reports of different lanes can be acknowledged in any order.
+     */
+    public void acknowledgeReports(List<Report> reports) {
+
+    }
 
     public Source inPipeline(Pipeline pipeline) {
         if (Objects.isNull(pipeline)) {
@@ -1,6 +1,7 @@
 package org.observertc.webrtc.connector.sources.bigquerysources;
 
-import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import org.observertc.webrtc.connector.common.BigQueryService;
 import org.observertc.webrtc.connector.sources.Source;
 import org.observertc.webrtc.connector.sources.bigquerysources.observabletables.*;
@@ -13,10 +14,23 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+/**
+ * Migrates the reports from the tables of a BigQuery dataset.
+ *
+ * <p>The tables are fetched by workers, and at most parallelism workers fetch at the same time.
+ * A worker fetches a whole table, or if rowsPerRange is more than 0, the tables having more rows than that
+ * are split into ranges of their timestamps, and every range is fetched by a worker.
+ * The progress of the workers are tracked by the checkpoints, so a stopped migration can be resumed.
+ * The checkpoints move only when the reports before them are acknowledged, so the source is acknowledging.
+ */
 public class BigQuerySources extends Source {
     private final Map<ReportType, String> tableNames;
     private final BigQueryService bigQueryService;
     private String forcedMarker = null;
+    private int parallelism = 1;
+    private long rowsPerRange = 0;
+    private int maxRetries = 0;
+    private MigrationCheckpoints checkpoints = MigrationCheckpoints.inMemory();
 
     public BigQuerySources(BigQueryService bigQueryService) {
         this.tableNames = new HashMap<>();
@@ -24,7 +38,31 @@ public class BigQuerySources extends Source {
     }
 
     @Override
-    protected Observable<byte[]> makeObservable() {
+    protected Flowable<byte[]> makeFlowable() {
+        var encoder = Report.getEncoder();
+        return this.makeReports().map(encoder::encode).map(ByteBuffer::array);
+    }
+
+    /**
+     * The reports made from the rows are handed over to the pipeline as they are, so they are not encoded and decoded again
+     */
+    @Override
+    public boolean isEmittingReports() {
+        return true;
+    }
+
+    @Override
+    public boolean isAcknowledging() {
+        return true;
+    }
+
+    @Override
+    public void acknowledgeReports(List<Report> reports) {
+        this.checkpoints.written(reports);
+    }
+
+    @Override
+    protected Flowable<Report> makeReports() {
         List<RecordMapperAbstract> sources = List.of(
                 new FinishedCalls(this.bigQueryService, this.tableNames.get(ReportType.FINISHED_CALL)),
                 new InitiatedCalls(this.bigQueryService, this.tableNames.get(ReportType.INITIATED_CALL)),
@@ -46,8 +84,11 @@ public class BigQuerySources extends Source {
             sources.forEach(s -> s.withMarker(this.forcedMarker));
         }
 
-        var encoder = Report.getEncoder();
-        return Observable.concat(sources).map(encoder::encode).map(ByteBuffer::array);
+        // tables are planned only when a worker can fetch their rows
+        return Flowable.fromIterable(sources)
+                .flatMap(source -> source.makeWorkers(this.checkpoints, this.rowsPerRange, this.maxRetries)
+                        .subscribeOn(Schedulers.io()), this.parallelism)
+                .flatMap(worker -> worker.subscribeOn(Schedulers.io()), this.parallelism);
     }
 
     BigQuerySources withTableName(ReportType reportType, String tableName) {
@@ -59,4 +100,24 @@ public class BigQuerySources extends Source {
         this.forcedMarker = forcedMarker;
         return this;
     }
+
+    BigQuerySources withParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    BigQuerySources withRowsPerRange(long rowsPerRange) {
+        this.rowsPerRange = rowsPerRange;
+        return this;
+    }
+
+    BigQuerySources withMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    BigQuerySources withCheckpoints(MigrationCheckpoints checkpoints) {
+        this.checkpoints = checkpoints;
+        return this;
+    }
 }
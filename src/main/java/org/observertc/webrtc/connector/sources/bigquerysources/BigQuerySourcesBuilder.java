@@ -1,19 +1,24 @@
 package org.observertc.webrtc.connector.sources.bigquerysources;
 
 import io.micronaut.context.annotation.Prototype;
-import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Flowable;
 import org.observertc.webrtc.connector.common.BigQueryService;
 import org.observertc.webrtc.connector.configbuilders.AbstractBuilder;
 import org.observertc.webrtc.connector.configbuilders.Builder;
 import org.observertc.webrtc.connector.sources.Source;
+import org.observertc.webrtc.schemas.reports.Report;
 import org.observertc.webrtc.schemas.reports.ReportType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 
 @Prototype
 public class BigQuerySourcesBuilder extends AbstractBuilder implements Builder<Source> {
@@ -29,7 +34,7 @@ public class BigQuerySourcesBuilder extends AbstractBuilder implements Builder<S
         Config mainConfig = this.convertAndValidate(Config.class);
         List<BigQuerySources> bigQuerySources = new LinkedList<>();
         for (InnerConfig config : mainConfig.sources) {
-            BigQueryService bigQueryService = new BigQueryService(config.projectId, config.datasetId, config.credentialFile);
+            BigQueryService bigQueryService = new BigQueryService(config.projectId, config.datasetId, config.credentialFile, config.host);
 
             BigQuerySources result = new BigQuerySources(bigQueryService)
                     .withTableName(ReportType.FINISHED_CALL, config.finishedCallsTable)
@@ -48,21 +53,57 @@ public class BigQuerySourcesBuilder extends AbstractBuilder implements Builder<S
                     .withTableName(ReportType.OBSERVER_EVENT, config.observerEventTable)
 
                     ;
-            result.withForcedMarker(config.forcedMarker);
+            result.withForcedMarker(config.forcedMarker)
+                    .withParallelism(config.parallelism)
+                    .withRowsPerRange(config.rowsPerRange)
+                    .withMaxRetries(config.maxRetries);
+            if (Objects.nonNull(config.checkpointFile)) {
+                try {
+                    result.withCheckpoints(MigrationCheckpoints.load(Paths.get(config.checkpointFile)));
+                } catch (IOException ex) {
+                    logger.error("Cannot load the checkpoints of a BigQuerySources from {}", config.checkpointFile, ex);
+                    return null;
+                }
+            }
             bigQuerySources.add(result);
         }
 
         return new Source() {
             List<BigQuerySources> sources = bigQuerySources;
             @Override
-            protected Observable<byte[]> makeObservable() {
-                List<Observable<byte[]>> observables = new ArrayList<>();
+            protected Flowable<byte[]> makeFlowable() {
+                List<Flowable<byte[]>> flowables = new ArrayList<>();
                 for (BigQuerySources s : this.sources) {
-                    Observable<byte[]> source = s.makeObservable().share();
-                    observables.add(source);
+                    Flowable<byte[]> source = s.makeFlowable();
+                    flowables.add(source);
                 }
 
-                return Observable.concat(observables);
+                return Flowable.concat(flowables);
+            }
+
+            @Override
+            public boolean isEmittingReports() {
+                return true;
+            }
+
+            @Override
+            public boolean isAcknowledging() {
+                return true;
+            }
+
+            @Override
+            public void acknowledgeReports(List<Report> reports) {
+                // every source ignores the reports emitted by the others
+                this.sources.forEach(s -> s.acknowledgeReports(reports));
+            }
+
+            @Override
+            protected Flowable<Report> makeReports() {
+                List<Flowable<Report>> flowables = new ArrayList<>();
+                for (BigQuerySources s : this.sources) {
+                    flowables.add(s.makeReports());
+                }
+                return Flowable.concat(flowables);
             }
         };
     }
@@ -85,6 +126,36 @@ public class BigQuerySourcesBuilder extends AbstractBuilder implements Builder<S
 
         public String forcedMarker = null;
 
+        /**
+         * The host of the BigQuery API (i.e.: a local emulator), the default host is used if it is not given.
+         * No credentials are used if it is given.
+         */
+        public String host = null;
+
+        /**
+         * The maximum number of workers fetching the tables (or the ranges of the tables) at the same time
+         */
+        @Min(1)
+        public int parallelism = 4;
+
+        /**
+         * Tables having more rows than this are split into ranges of their timestamps having about this many rows,
+         * 0 means the tables are not split
+         */
+        @Min(0)
+        public long rowsPerRange = 0;
+
+        /**
+         * The number of times a failed worker is retried from its last page before it is stopped
+         */
+        @Min(0)
+        public int maxRetries = 3;
+
+        /**
+         * The file the progress of the migration is persisted into, so a stopped migration is resumed from there
+         */
+        public String checkpointFile = null;
+
         public String initiatedCallsTable = "InitiatedCalls";
 
         public String finishedCallsTable = "FinishedCalls";
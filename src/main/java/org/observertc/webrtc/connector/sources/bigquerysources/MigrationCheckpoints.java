@@ -0,0 +1,311 @@
+package org.observertc.webrtc.connector.sources.bigquerysources;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.bigquery.JobId;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Tracks the progress of the workers migrating the tables, and persists it into a checkpoint file,
+ * so a failed or stopped migration continues where it has stopped.
+ *
+ * <p>A worker reads a whole table, or a range of its timestamps. The ranges of a table are persisted
+ * when the table is planned, so a resumed migration splits the table the same way.
+ *
+ * <p>The reports a worker emits are tracked by the page they are read from until the sink has written them.
+ * The checkpoint of a worker is the first page having reports not written yet (and the job of its query if it
+ * reads a range), and a worker is completed when all of its reports are written. Hence a resumed worker
+ * reads every report not written before again, and the reports of the page it resumes at written before
+ * as well (at least once delivery).
+ *
+ * <p>The checkpoint file is a JSON object of the workers, replaced atomically whenever a checkpoint moves.
+ * Without a file the progress is tracked only in memory. A failed worker is retried from the page it has read last.
+ * Untracked checkpoints do not wait for the reports to be written, the workers are completed when they are finished.
+ */
+public class MigrationCheckpoints {
+    private static final Logger logger = LoggerFactory.getLogger(MigrationCheckpoints.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final Path file;
+    private final Map<String, Progress> workers;
+    private final boolean tracking;
+    // the pages of the workers having reports not written yet, in the order they are read
+    private final Map<String, Deque<Page>> pages = new HashMap<>();
+    private final Map<Report, Page> inFlight = new IdentityHashMap<>();
+    private final Set<String> finished = new HashSet<>();
+
+    public static MigrationCheckpoints inMemory() {
+        return new MigrationCheckpoints(null, new TreeMap<>(), true);
+    }
+
+    /**
+     * Used if the reports of the workers are not acknowledged
+     */
+    public static MigrationCheckpoints untracked() {
+        return new MigrationCheckpoints(null, new TreeMap<>(), false);
+    }
+
+    public static MigrationCheckpoints load(Path file) throws IOException {
+        Map<String, Progress> workers = new TreeMap<>();
+        if (Files.exists(file)) {
+            workers.putAll(OBJECT_MAPPER.readValue(file.toFile(), new TypeReference<Map<String, Progress>>() {}));
+        }
+        return new MigrationCheckpoints(file, workers, true);
+    }
+
+    private MigrationCheckpoints(Path file, Map<String, Progress> workers, boolean tracking) {
+        this.file = file;
+        this.workers = workers;
+        this.tracking = tracking;
+    }
+
+    /**
+     * @return the workers of the table in the order of their ranges, or an empty list if the table is not planned yet
+     */
+    public synchronized List<Progress> getWorkers(String table) {
+        List<Progress> result = new ArrayList<>();
+        for (Progress progress : this.workers.values()) {
+            if (table.equals(progress.table)) {
+                result.add(progress.copy());
+            }
+        }
+        result.sort((p1, p2) -> Long.compare(Objects.requireNonNullElse(p1.from, Long.MIN_VALUE), Objects.requireNonNullElse(p2.from, Long.MIN_VALUE)));
+        return result;
+    }
+
+    /**
+     * @param ranges the ranges of the timestamps, or a single range with null bounds to read the whole table
+     */
+    public synchronized List<Progress> plan(String table, List<long[]> ranges) {
+        List<Progress> result = new ArrayList<>();
+        for (long[] range : ranges) {
+            Progress progress = new Progress();
+            progress.table = table;
+            if (Objects.nonNull(range)) {
+                progress.from = range[0];
+                progress.to = range[1];
+            }
+            this.workers.put(progress.key(), progress);
+            result.add(progress.copy());
+        }
+        this.persist();
+        return result;
+    }
+
+    /**
+     * @return the page the worker has read last, or its checkpoint if it has not read any page yet
+     */
+    public synchronized Progress get(Progress worker) {
+        Progress progress = this.workers.get(worker.key());
+        Progress result = Objects.isNull(progress) ? worker.copy() : progress.copy();
+        Deque<Page> workerPages = this.pages.get(worker.key());
+        if (Objects.nonNull(workerPages) && !workerPages.isEmpty()) {
+            Page last = workerPages.peekLast();
+            result.jobId = last.jobId;
+            result.jobLocation = last.jobLocation;
+            result.pageToken = last.pageToken;
+        }
+        return result;
+    }
+
+    /**
+     * Called when the worker starts a new query of its range, the range is read again from its beginning,
+     * and the pages of the former queries are not considered anymore.
+     */
+    public synchronized void queried(Progress worker, JobId jobId) {
+        this.pages.remove(worker.key());
+        this.progressed(worker, jobId, null);
+    }
+
+    /**
+     * Called right before the worker emits a report, so the report is tracked until it is written
+     *
+     * @param jobId the job of the query the worker reads the results of, or null if it reads the table
+     * @param pageToken the token of the page the report is read from, or null if it is read from the first page
+     */
+    public synchronized void emitted(Progress worker, JobId jobId, String pageToken, Report report) {
+        Deque<Page> workerPages = this.pages.computeIfAbsent(worker.key(), key -> new ArrayDeque<>());
+        Page page = workerPages.peekLast();
+        String job = Objects.isNull(jobId) ? null : jobId.getJob();
+        if (Objects.isNull(page) || !Objects.equals(page.jobId, job) || !Objects.equals(page.pageToken, pageToken)) {
+            page = new Page(worker, jobId, pageToken);
+            if (!this.tracking) {
+                // only the page read last is kept for retries
+                workerPages.clear();
+            }
+            workerPages.addLast(page);
+        }
+        if (!this.tracking) {
+            return;
+        }
+        ++page.pending;
+        this.inFlight.put(report, page);
+    }
+
+    /**
+     * Called when the worker has emitted all of its reports, it is completed once all of them are written
+     */
+    public synchronized void finished(Progress worker) {
+        this.finished.add(worker.key());
+        this.advance(worker);
+    }
+
+    /**
+     * Called when the reports are written or dropped, the checkpoints move to the first page having reports not written yet.
+     * Reports not emitted by the workers of these checkpoints are ignored.
+     */
+    public synchronized void written(List<Report> reports) {
+        Map<String, Progress> advanced = new HashMap<>();
+        for (Report report : reports) {
+            Page page = this.inFlight.remove(report);
+            if (Objects.isNull(page)) {
+                continue;
+            }
+            --page.pending;
+            advanced.put(page.worker.key(), page.worker);
+        }
+        advanced.values().forEach(this::advance);
+    }
+
+    /**
+     * @param jobId the job of the query the worker reads the results of, or null if it reads the table
+     * @param pageToken the token of the first page having reports not written, or null if it is the first page
+     */
+    public synchronized void progressed(Progress worker, JobId jobId, String pageToken) {
+        Progress progress = this.workers.computeIfAbsent(worker.key(), key -> worker.copy());
+        progress.jobId = Objects.isNull(jobId) ? null : jobId.getJob();
+        progress.jobLocation = Objects.isNull(jobId) ? null : jobId.getLocation();
+        progress.pageToken = pageToken;
+        this.persist();
+    }
+
+    public synchronized void completed(Progress worker) {
+        Progress progress = this.workers.computeIfAbsent(worker.key(), key -> worker.copy());
+        progress.jobId = null;
+        progress.jobLocation = null;
+        progress.pageToken = null;
+        progress.completed = true;
+        this.pages.remove(worker.key());
+        this.finished.remove(worker.key());
+        this.persist();
+    }
+
+    /**
+     * Drops the written pages of the worker, the last page is kept until the worker is finished,
+     * as the worker may emit more reports from it.
+     */
+    private void advance(Progress worker) {
+        String key = worker.key();
+        boolean isFinished = this.finished.contains(key);
+        Deque<Page> workerPages = this.pages.getOrDefault(key, new ArrayDeque<>());
+        while (Objects.nonNull(workerPages.peekFirst()) && workerPages.peekFirst().pending < 1 && (1 < workerPages.size() || isFinished)) {
+            workerPages.pollFirst();
+        }
+        if (workerPages.isEmpty()) {
+            if (isFinished) {
+                this.completed(worker);
+            }
+            return;
+        }
+        Page page = workerPages.peekFirst();
+        Progress progress = this.workers.get(key);
+        if (Objects.nonNull(progress) && Objects.equals(progress.jobId, page.jobId) && Objects.equals(progress.pageToken, page.pageToken)) {
+            return;
+        }
+        this.progressed(worker, page.getJobId(), page.pageToken);
+    }
+
+    private void persist() {
+        if (Objects.isNull(this.file)) {
+            return;
+        }
+        Path temporary = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        try {
+            OBJECT_MAPPER.writeValue(temporary.toFile(), this.workers);
+            Files.move(temporary, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            logger.warn("Cannot persist the checkpoints of the migration into {}", this.file, ex);
+        }
+    }
+
+    /**
+     * A page a worker has emitted reports from, and the number of its reports not written yet
+     */
+    private static class Page {
+        final Progress worker;
+        final String jobId;
+        final String jobLocation;
+        final String pageToken;
+        int pending = 0;
+
+        Page(Progress worker, JobId jobId, String pageToken) {
+            this.worker = worker;
+            this.jobId = Objects.isNull(jobId) ? null : jobId.getJob();
+            this.jobLocation = Objects.isNull(jobId) ? null : jobId.getLocation();
+            this.pageToken = pageToken;
+        }
+
+        JobId getJobId() {
+            if (Objects.isNull(this.jobId)) {
+                return null;
+            }
+            return JobId.newBuilder().setJob(this.jobId).setLocation(this.jobLocation).build();
+        }
+    }
+
+    public static class Progress {
+        public String table;
+        // the first timestamp of the range, or null if the worker reads the whole table
+        public Long from;
+        // the timestamp right after the range
+        public Long to;
+        public String jobId;
+        public String jobLocation;
+        public String pageToken;
+        public boolean completed = false;
+
+        String key() {
+            if (Objects.isNull(this.from)) {
+                return this.table;
+            }
+            return this.table + "[" + this.from + "," + this.to + ")";
+        }
+
+        Progress copy() {
+            Progress result = new Progress();
+            result.table = this.table;
+            result.from = this.from;
+            result.to = this.to;
+            result.jobId = this.jobId;
+            result.jobLocation = this.jobLocation;
+            result.pageToken = this.pageToken;
+            result.completed = this.completed;
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return this.key();
+        }
+    }
+}
@@ -16,16 +16,14 @@
 
 package org.observertc.webrtc.connector.sources.bigquerysources.observabletables;
 
-import com.google.cloud.bigquery.FieldValue;
 import com.google.cloud.bigquery.FieldValueList;
 import org.observertc.webrtc.connector.common.BigQueryService;
 import org.observertc.webrtc.schemas.reports.ICECandidatePair;
+import org.observertc.webrtc.schemas.reports.ICEState;
 import org.observertc.webrtc.schemas.reports.ReportType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 public class ICECandidatePairs extends RecordMapperAbstract {
@@ -54,64 +52,60 @@ public class ICECandidatePairs extends RecordMapperAbstract {
 	public static final String RESPONSES_RECEIVED_FIELD_NAME = "responsesReceived";
 	public static final String RESPONSES_SENT_FIELD_NAME = "responsesSent";
 
-	@Override
-	protected List<String> getPayloadFieldNames() {
-		List<String> result = new ArrayList<>();
-		result.add(PEER_CONNECTION_UUID_FIELD_NAME);
-		result.add(BROWSERID_FIELD_NAME);
-		result.add(MEDIA_UNIT_ID_FIELD_NAME);
-		result.add(USER_ID_FIELD_NAME);
-		result.add(CANDIDATE_PAIR_ID_FIELD_NAME);
-		result.add(LOCAL_CANDIDATE_ID_FIELD_NAME);
-		result.add(REMOTE_CANDIDATE_ID_FIELD_NAME);
-		result.add(WRITABLE_FIELD_NAME);
-		result.add(TOTAL_ROUND_TRIP_TIME_FIELD_NAME);
-		result.add(ICE_STATE_FIELD_NAME);
-		result.add(NOMINATED_FIELD_NAME);
-		result.add(AVAILABLE_OUTGOING_BITRATE_FIELD_NAME);
-		result.add(BYTES_RECEIVED_FIELD_NAME);
-		result.add(BYTES_SENT_FIELD_NAME);
-		result.add(CONSENT_REQUESTS_SENT_FIELD_NAME);
-		result.add(CURRENT_ROUND_TRIP_TIME_FIELD_NAME);
-		result.add(PRIORITY_FIELD_NAME);
-		result.add(REQUESTS_RECEIVED_FIELD_NAME);
-		result.add(REQUESTS_SENT_FIELD_NAME);
-		result.add(RESPONSES_RECEIVED_FIELD_NAME);
-		result.add(RESPONSES_SENT_FIELD_NAME);
-		return result;
-	}
+	private final Column<Integer> consentRequestsSentColumn = this.integerColumn(CONSENT_REQUESTS_SENT_FIELD_NAME);
+	private final Column<Integer> consentRequestsSentFallbackColumn = this.integerColumn("consentRequestsSent");
+	private final Column<String> browseridColumn = this.stringColumn(BROWSERID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> peerConnectionUuidColumn = this.stringColumn(PEER_CONNECTION_UUID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> mediaUnitIdColumn = this.stringColumn(MEDIA_UNIT_ID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> userIdColumn = this.stringColumn(USER_ID_FIELD_NAME, null);
+	private final Column<String> candidatePairIdColumn = this.stringColumn(CANDIDATE_PAIR_ID_FIELD_NAME, null);
+	private final Column<String> localCandidateIdColumn = this.stringColumn(LOCAL_CANDIDATE_ID_FIELD_NAME, null);
+	private final Column<String> remoteCandidateIdColumn = this.stringColumn(REMOTE_CANDIDATE_ID_FIELD_NAME, null);
+	private final Column<Boolean> writableColumn = this.booleanColumn(WRITABLE_FIELD_NAME);
+	private final Column<Double> totalRoundTripTimeColumn = this.doubleColumn(TOTAL_ROUND_TRIP_TIME_FIELD_NAME);
+	private final Column<ICEState> iceStateColumn = this.enumColumn(ICE_STATE_FIELD_NAME, ICEState.class);
+	private final Column<Boolean> nominatedColumn = this.booleanColumn(NOMINATED_FIELD_NAME);
+	private final Column<Integer> availableOutgoingBitrateColumn = this.integerColumn(AVAILABLE_OUTGOING_BITRATE_FIELD_NAME);
+	private final Column<Long> bytesReceivedColumn = this.longColumn(BYTES_RECEIVED_FIELD_NAME);
+	private final Column<Long> bytesSentColumn = this.longColumn(BYTES_SENT_FIELD_NAME);
+	private final Column<Double> currentRoundTripTimeColumn = this.doubleColumn(CURRENT_ROUND_TRIP_TIME_FIELD_NAME);
+	private final Column<Long> priorityColumn = this.longColumn(PRIORITY_FIELD_NAME);
+	private final Column<Integer> requestsReceivedColumn = this.integerColumn(REQUESTS_RECEIVED_FIELD_NAME);
+	private final Column<Integer> responsesSentColumn = this.integerColumn(RESPONSES_SENT_FIELD_NAME);
+	private final Column<Integer> responsesReceivedColumn = this.integerColumn(RESPONSES_RECEIVED_FIELD_NAME);
+
 	public ICECandidatePairs(BigQueryService bigQueryService, String tableName) {
 		super(bigQueryService, tableName, ReportType.ICE_CANDIDATE_PAIR);
 	}
 
 	@Override
 	protected Object makePayload(FieldValueList row) {
-		Integer consentRequestsSent = this.getValue(row, CONSENT_REQUESTS_SENT_FIELD_NAME, this::getInteger, null);
+		Integer consentRequestsSent = this.consentRequestsSentColumn.get(row);
 		if (Objects.isNull(consentRequestsSent)) {
-			consentRequestsSent = this.getValue(row, "consentRequestsSent", this::getInteger, null);
+			consentRequestsSent = this.consentRequestsSentFallbackColumn.get(row);
 		}
 		//
 		var result = ICECandidatePair.newBuilder()
-				.setBrowserId(this.getValue(row, BROWSERID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setPeerConnectionUUID(this.getValue(row, PEER_CONNECTION_UUID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setMediaUnitId(this.getValue(row, MEDIA_UNIT_ID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setUserId(this.getValue(row, USER_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setCandidatePairId(this.getValue(row, CANDIDATE_PAIR_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setLocalCandidateID(this.getValue(row, LOCAL_CANDIDATE_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setRemoteCandidateID(this.getValue(row, REMOTE_CANDIDATE_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setWritable(this.getValue(row, WRITABLE_FIELD_NAME, FieldValue::getBooleanValue, null))
-				.setTotalRoundTripTime(this.getValue(row, TOTAL_ROUND_TRIP_TIME_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setState(this.getValue(row, ICE_STATE_FIELD_NAME, this::getICEState, null))
-				.setNominated(this.getValue(row, NOMINATED_FIELD_NAME, FieldValue::getBooleanValue, null))
-				.setAvailableOutgoingBitrate(this.getValue(row, AVAILABLE_OUTGOING_BITRATE_FIELD_NAME, this::getInteger, null))
-				.setBytesReceived(this.getValue(row, BYTES_RECEIVED_FIELD_NAME, FieldValue::getLongValue, null))
-				.setBytesSent(this.getValue(row, BYTES_SENT_FIELD_NAME, FieldValue::getLongValue, null))
+				.setBrowserId(this.browseridColumn.get(row))
+				.setPeerConnectionUUID(this.peerConnectionUuidColumn.get(row))
+				.setMediaUnitId(this.mediaUnitIdColumn.get(row))
+				.setUserId(this.userIdColumn.get(row))
+				.setCandidatePairId(this.candidatePairIdColumn.get(row))
+				.setLocalCandidateID(this.localCandidateIdColumn.get(row))
+				.setRemoteCandidateID(this.remoteCandidateIdColumn.get(row))
+				.setWritable(this.writableColumn.get(row))
+				.setTotalRoundTripTime(this.totalRoundTripTimeColumn.get(row))
+				.setState(this.iceStateColumn.get(row))
+				.setNominated(this.nominatedColumn.get(row))
+				.setAvailableOutgoingBitrate(this.availableOutgoingBitrateColumn.get(row))
+				.setBytesReceived(this.bytesReceivedColumn.get(row))
+				.setBytesSent(this.bytesSentColumn.get(row))
 				.setConsentRequestsSent(consentRequestsSent)
-				.setCurrentRoundTripTime(this.getValue(row, CURRENT_ROUND_TRIP_TIME_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setPriority(this.getValue(row, PRIORITY_FIELD_NAME, FieldValue::getLongValue, null))
-				.setRequestsReceived(this.getValue(row, REQUESTS_RECEIVED_FIELD_NAME, this::getInteger, null))
-				.setResponsesSent(this.getValue(row, RESPONSES_SENT_FIELD_NAME, this::getInteger, null))
-				.setResponsesReceived(this.getValue(row, RESPONSES_RECEIVED_FIELD_NAME, this::getInteger, null))
+				.setCurrentRoundTripTime(this.currentRoundTripTimeColumn.get(row))
+				.setPriority(this.priorityColumn.get(row))
+				.setRequestsReceived(this.requestsReceivedColumn.get(row))
+				.setResponsesSent(this.responsesSentColumn.get(row))
+				.setResponsesReceived(this.responsesReceivedColumn.get(row))
 				//
 				;
 
@@ -16,17 +16,16 @@
 
 package org.observertc.webrtc.connector.sources.bigquerysources.observabletables;
 
-import com.google.cloud.bigquery.FieldValue;
 import com.google.cloud.bigquery.FieldValueList;
 import org.observertc.webrtc.connector.common.BigQueryService;
+import org.observertc.webrtc.schemas.reports.CandidateType;
 import org.observertc.webrtc.schemas.reports.ICELocalCandidate;
+import org.observertc.webrtc.schemas.reports.NetworkType;
 import org.observertc.webrtc.schemas.reports.ReportType;
 import org.observertc.webrtc.schemas.reports.TransportProtocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 public class ICELocalCandidates extends RecordMapperAbstract {
@@ -46,52 +45,40 @@ public class ICELocalCandidates extends RecordMapperAbstract {
 	public static final String PRIORITY_FIELD_NAME = "priority";
 	public static final String PROTOCOL_TYPE_FIELD_NAME = "protocolType";
 
-	@Override
-	protected List<String> getPayloadFieldNames() {
-		List<String> result = new ArrayList<>();
-		result.add(PEER_CONNECTION_UUID_FIELD_NAME);
-		result.add(BROWSERID_FIELD_NAME);
-		result.add(MEDIA_UNIT_ID_FIELD_NAME);
-		result.add(USER_ID_FIELD_NAME);
-		result.add(CANDIDATE_ID_FIELD_NAME);
-		result.add(CANDIDATE_TYPE_FIELD_NAME);
-		result.add(DELETED_FIELD_NAME);
-		result.add(IP_LSH_FIELD_NAME);
-		result.add(NETWORK_TYPE_FIELD_NAME);
-		result.add(PORT_FIELD_NAME);
-		result.add(PRIORITY_FIELD_NAME);
-		result.add(PROTOCOL_TYPE_FIELD_NAME);
-		return result;
-	}
+	private final Column<TransportProtocol> protocolTypeColumn = this.enumColumn(PROTOCOL_TYPE_FIELD_NAME, TransportProtocol.class);
+	private final Column<TransportProtocol> protocolFallbackColumn = this.enumColumn("protocol", TransportProtocol.class, TransportProtocol.UNKNOWN);
+	private final Column<String> browseridColumn = this.stringColumn(BROWSERID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> peerConnectionUuidColumn = this.stringColumn(PEER_CONNECTION_UUID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> mediaUnitIdColumn = this.stringColumn(MEDIA_UNIT_ID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> userIdColumn = this.stringColumn(USER_ID_FIELD_NAME, null);
+	private final Column<String> candidateIdColumn = this.stringColumn(CANDIDATE_ID_FIELD_NAME, null);
+	private final Column<CandidateType> candidateTypeColumn = this.enumColumn(CANDIDATE_TYPE_FIELD_NAME, CandidateType.class);
+	private final Column<Boolean> deletedColumn = this.booleanColumn(DELETED_FIELD_NAME);
+	private final Column<String> ipLshColumn = this.stringColumn(IP_LSH_FIELD_NAME, null);
+	private final Column<NetworkType> networkTypeColumn = this.enumColumn(NETWORK_TYPE_FIELD_NAME, NetworkType.class);
+	private final Column<Long> priorityColumn = this.longColumn(PRIORITY_FIELD_NAME);
+
 	public ICELocalCandidates(BigQueryService bigQueryService, String tableName) {
 		super(bigQueryService, tableName, ReportType.ICE_LOCAL_CANDIDATE);
 	}
 
 	@Override
 	protected Object makePayload(FieldValueList row) {
-		TransportProtocol protocol;
-		String protocolStr = this.getValue(row, PROTOCOL_TYPE_FIELD_NAME, FieldValue::getStringValue, null);
-		if (Objects.isNull(protocolStr)) {
-			protocolStr = this.getValue(row, "protocol", FieldValue::getStringValue, null);
-			if (Objects.nonNull(protocolStr)) {
-				protocol = TransportProtocol.valueOf(protocolStr);
-			} else {
-				protocol = TransportProtocol.UNKNOWN;
-			}
-		} else {
-			protocol = TransportProtocol.valueOf(protocolStr);
+		TransportProtocol protocol = this.protocolTypeColumn.get(row);
+		if (Objects.isNull(protocol)) {
+			protocol = this.protocolFallbackColumn.get(row);
 		}
 		var result = ICELocalCandidate.newBuilder()
-				.setBrowserId(this.getValue(row, BROWSERID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setPeerConnectionUUID(this.getValue(row, PEER_CONNECTION_UUID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setMediaUnitId(this.getValue(row, MEDIA_UNIT_ID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setUserId(this.getValue(row, USER_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setCandidateId(this.getValue(row, CANDIDATE_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setCandidateType(this.getValue(row, CANDIDATE_TYPE_FIELD_NAME, this::getCandidateType, null))
-				.setDeleted(this.getValue(row, DELETED_FIELD_NAME, FieldValue::getBooleanValue, null))
-				.setIpLSH(this.getValue(row, IP_LSH_FIELD_NAME, FieldValue::getStringValue, null))
-				.setNetworkType(this.getValue(row, NETWORK_TYPE_FIELD_NAME, this::getNetworkType, null))
-				.setPriority(this.getValue(row, PRIORITY_FIELD_NAME, FieldValue::getLongValue, null))
+				.setBrowserId(this.browseridColumn.get(row))
+				.setPeerConnectionUUID(this.peerConnectionUuidColumn.get(row))
+				.setMediaUnitId(this.mediaUnitIdColumn.get(row))
+				.setUserId(this.userIdColumn.get(row))
+				.setCandidateId(this.candidateIdColumn.get(row))
+				.setCandidateType(this.candidateTypeColumn.get(row))
+				.setDeleted(this.deletedColumn.get(row))
+				.setIpLSH(this.ipLshColumn.get(row))
+				.setNetworkType(this.networkTypeColumn.get(row))
+				.setPriority(this.priorityColumn.get(row))
 				.setProtocol(protocol)
 				//
 				;
@@ -16,7 +16,6 @@
 
 package org.observertc.webrtc.connector.sources.bigquerysources.observabletables;
 
-import com.google.cloud.bigquery.FieldValue;
 import com.google.cloud.bigquery.FieldValueList;
 import org.observertc.webrtc.connector.common.BigQueryService;
 import org.observertc.webrtc.schemas.reports.InboundRTP;
@@ -24,9 +23,6 @@ import org.observertc.webrtc.schemas.reports.ReportType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class InboundRTPs extends RecordMapperAbstract {
 	private static final Logger logger = LoggerFactory.getLogger(InboundRTPs.class);
 
@@ -59,36 +55,32 @@ public class InboundRTPs extends RecordMapperAbstract {
 	public static final String TRANSPORT_ID_FIELD_NAME = "transportId";
 
 
-	@Override
-	protected List<String> getPayloadFieldNames() {
-		List<String> result = new ArrayList<>();
-		result.add(PEER_CONNECTION_UUID_FIELD_NAME);
-		result.add(BROWSERID_FIELD_NAME);
-		result.add(MEDIA_UNIT_ID_FIELD_NAME);
-		result.add(USER_ID_FIELD_NAME);
-		result.add(SSRC_FIELD_NAME);
-		result.add(FIR_COUNT_FIELD_NAME);
-		result.add(FRAMES_DECODED_FIELD_NAME);
-		result.add(NACK_COUNT_FIELD_NAME);
-		result.add(HEADER_BYTES_RECEIVED_FIELD_NAME);
-		result.add(KEYFRAMES_DECODED_FIELD_NAME);
-		result.add(MEDIA_TYPE_FIELD_NAME);
-		result.add(PACKETS_RECEIVED_FIELD_NAME);
-		result.add(PLI_COUNT_FIELD_NAME);
-		result.add(QP_SUM_FIELD_NAME);
-		result.add(TOTAL_DECODE_TIME_FIELD_NAME);
-		result.add(TOTAL_INTERFRAME_DELAY_FIELD_NAME);
-		result.add(TOTAL_SQUARED_INITER_FREAME_DELAY_FIELD_NAME);
-		result.add(PACKETS_LOST_FIELD_NAME);
-		result.add(JITTER_FIELD_NAME);
-		result.add(ESTIMATED_PLAYOUT_TIMESTAMP_FIELD_NAME);
-		result.add(DECODER_IMPLEMENTATION_FIELD_NAME);
-		result.add(FEC_PACKETS_DISCARDED_FIELD_NAME);
-		result.add(LAST_PACKET_RECEIVED_TIMESTAMP);
-		result.add(FEC_PACKETS_RECEIVED_FIELD_NAME);
-		result.add(TRANSPORT_ID_FIELD_NAME);
-		return result;
-	}
+	private final Column<String> browseridColumn = this.stringColumn(BROWSERID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> peerConnectionUuidColumn = this.stringColumn(PEER_CONNECTION_UUID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> mediaUnitIdColumn = this.stringColumn(MEDIA_UNIT_ID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> userIdColumn = this.stringColumn(USER_ID_FIELD_NAME, null);
+	private final Column<Long> ssrcColumn = this.longColumn(SSRC_FIELD_NAME);
+	private final Column<Integer> firCountColumn = this.integerColumn(FIR_COUNT_FIELD_NAME);
+	private final Column<Integer> framesDecodedColumn = this.integerColumn(FRAMES_DECODED_FIELD_NAME);
+	private final Column<Integer> nackCountColumn = this.integerColumn(NACK_COUNT_FIELD_NAME);
+	private final Column<Long> headerBytesReceivedColumn = this.longColumn(HEADER_BYTES_RECEIVED_FIELD_NAME);
+	private final Column<Integer> keyframesDecodedColumn = this.integerColumn(KEYFRAMES_DECODED_FIELD_NAME);
+	private final Column<String> mediaTypeColumn = this.stringColumn(MEDIA_TYPE_FIELD_NAME, null);
+	private final Column<Integer> packetsReceivedColumn = this.integerColumn(PACKETS_RECEIVED_FIELD_NAME);
+	private final Column<Integer> pliCountColumn = this.integerColumn(PLI_COUNT_FIELD_NAME);
+	private final Column<Double> qpSumColumn = this.doubleColumn(QP_SUM_FIELD_NAME);
+	private final Column<Double> totalDecodeTimeColumn = this.doubleColumn(TOTAL_DECODE_TIME_FIELD_NAME);
+	private final Column<Double> totalInterframeDelayColumn = this.doubleColumn(TOTAL_INTERFRAME_DELAY_FIELD_NAME);
+	private final Column<Double> totalSquaredIniterFreameDelayColumn = this.doubleColumn(TOTAL_SQUARED_INITER_FREAME_DELAY_FIELD_NAME);
+	private final Column<Integer> packetsLostColumn = this.integerColumn(PACKETS_LOST_FIELD_NAME);
+	private final Column<Double> jitterColumn = this.doubleColumn(JITTER_FIELD_NAME);
+	private final Column<Double> estimatedPlayoutTimestampColumn = this.doubleColumn(ESTIMATED_PLAYOUT_TIMESTAMP_FIELD_NAME);
+	private final Column<String> decoderImplementationColumn = this.stringColumn(DECODER_IMPLEMENTATION_FIELD_NAME, null);
+	private final Column<Integer> fecPacketsDiscardedColumn = this.integerColumn(FEC_PACKETS_DISCARDED_FIELD_NAME);
+	private final Column<Double> lastPacketReceivedTimestampColumn = this.doubleColumn(LAST_PACKET_RECEIVED_TIMESTAMP);
+	private final Column<Integer> fecPacketsReceivedColumn = this.integerColumn(FEC_PACKETS_RECEIVED_FIELD_NAME);
+	private final Column<String> transportIdColumn = this.stringColumn(TRANSPORT_ID_FIELD_NAME, null);
+
 	public InboundRTPs(BigQueryService bigQueryService, String tableName) {
 		super(bigQueryService, tableName, ReportType.INBOUND_RTP);
 	}
@@ -96,31 +88,31 @@ public class InboundRTPs extends RecordMapperAbstract {
 	@Override
 	protected Object makePayload(FieldValueList row) {
 		var result = InboundRTP.newBuilder()
-				.setBrowserId(this.getValue(row, BROWSERID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setPeerConnectionUUID(this.getValue(row, PEER_CONNECTION_UUID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setMediaUnitId(this.getValue(row, MEDIA_UNIT_ID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setUserId(this.getValue(row, USER_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setSsrc(this.getValue(row, SSRC_FIELD_NAME, FieldValue::getLongValue, null))
-				.setFirCount(this.getValue(row, FIR_COUNT_FIELD_NAME, this::getInteger, null))
-				.setFramesDecoded(this.getValue(row, FRAMES_DECODED_FIELD_NAME, this::getInteger, null))
-				.setNackCount(this.getValue(row, NACK_COUNT_FIELD_NAME, this::getInteger, null))
-				.setHeaderBytesReceived(this.getValue(row, HEADER_BYTES_RECEIVED_FIELD_NAME, FieldValue::getLongValue, null))
-				.setKeyFramesDecoded(this.getValue(row, KEYFRAMES_DECODED_FIELD_NAME, this::getInteger, null))
-				.setMediaUnitId(this.getValue(row, MEDIA_TYPE_FIELD_NAME, FieldValue::getStringValue, null))
-				.setPacketsReceived(this.getValue(row, PACKETS_RECEIVED_FIELD_NAME, this::getInteger, null))
-				.setPliCount(this.getValue(row, PLI_COUNT_FIELD_NAME, this::getInteger, null))
-				.setQpSum(this.getValue(row, QP_SUM_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setTotalDecodeTime(this.getValue(row, TOTAL_DECODE_TIME_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setTotalInterFrameDelay(this.getValue(row, TOTAL_INTERFRAME_DELAY_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setTotalSquaredInterFrameDelay(this.getValue(row, TOTAL_SQUARED_INITER_FREAME_DELAY_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setPacketsLost(this.getValue(row, PACKETS_LOST_FIELD_NAME, this::getInteger, null))
-				.setJitter(this.getValue(row, JITTER_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setEstimatedPlayoutTimestamp(this.getValue(row, ESTIMATED_PLAYOUT_TIMESTAMP_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setDecoderImplementation(this.getValue(row, DECODER_IMPLEMENTATION_FIELD_NAME, FieldValue::getStringValue, null))
-				.setFecPacketsDiscarded(this.getValue(row, FEC_PACKETS_DISCARDED_FIELD_NAME, this::getInteger, null))
-				.setLastPacketReceivedTimestamp(this.getValue(row, LAST_PACKET_RECEIVED_TIMESTAMP, FieldValue::getDoubleValue, null))
-				.setFecPacketsReceived(this.getValue(row, FEC_PACKETS_RECEIVED_FIELD_NAME, this::getInteger, null))
-				.setTransportId(this.getValue(row, TRANSPORT_ID_FIELD_NAME, FieldValue::getStringValue, null))
+				.setBrowserId(this.browseridColumn.get(row))
+				.setPeerConnectionUUID(this.peerConnectionUuidColumn.get(row))
+				.setMediaUnitId(this.mediaUnitIdColumn.get(row))
+				.setUserId(this.userIdColumn.get(row))
+				.setSsrc(this.ssrcColumn.get(row))
+				.setFirCount(this.firCountColumn.get(row))
+				.setFramesDecoded(this.framesDecodedColumn.get(row))
+				.setNackCount(this.nackCountColumn.get(row))
+				.setHeaderBytesReceived(this.headerBytesReceivedColumn.get(row))
+				.setKeyFramesDecoded(this.keyframesDecodedColumn.get(row))
+				.setMediaUnitId(this.mediaTypeColumn.get(row))
+				.setPacketsReceived(this.packetsReceivedColumn.get(row))
+				.setPliCount(this.pliCountColumn.get(row))
+				.setQpSum(this.qpSumColumn.get(row))
+				.setTotalDecodeTime(this.totalDecodeTimeColumn.get(row))
+				.setTotalInterFrameDelay(this.totalInterframeDelayColumn.get(row))
+				.setTotalSquaredInterFrameDelay(this.totalSquaredIniterFreameDelayColumn.get(row))
+				.setPacketsLost(this.packetsLostColumn.get(row))
+				.setJitter(this.jitterColumn.get(row))
+				.setEstimatedPlayoutTimestamp(this.estimatedPlayoutTimestampColumn.get(row))
+				.setDecoderImplementation(this.decoderImplementationColumn.get(row))
+				.setFecPacketsDiscarded(this.fecPacketsDiscardedColumn.get(row))
+				.setLastPacketReceivedTimestamp(this.lastPacketReceivedTimestampColumn.get(row))
+				.setFecPacketsReceived(this.fecPacketsReceivedColumn.get(row))
+				.setTransportId(this.transportIdColumn.get(row))
 
 				//
 				;
@@ -16,14 +16,11 @@
 
 package org.observertc.webrtc.connector.sources.bigquerysources.observabletables;
 
-import com.google.cloud.bigquery.FieldValue;
 import com.google.cloud.bigquery.FieldValueList;
 import org.observertc.webrtc.connector.common.BigQueryService;
 import org.observertc.webrtc.schemas.reports.JoinedPeerConnection;
 import org.observertc.webrtc.schemas.reports.ReportType;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 public class JoinedPeerConnections extends RecordMapperAbstract {
@@ -35,33 +32,30 @@ public class JoinedPeerConnections extends RecordMapperAbstract {
 	public static final String USER_ID_FIELD_NAME = "userID";
 	public static final String TIMEZONE_FIELD_NAME = "timeZone";
 
-	@Override
-	protected List<String> getPayloadFieldNames() {
-		List<String> result = new ArrayList<>();
-		result.add(CALL_UUID_FIELD_NAME);
-		result.add(CALL_NAME_FIELD_NAME);
-		result.add(PEER_CONNECTION_UUID_FIELD_NAME);
-		result.add(BROWSERID_FIELD_NAME);
-		result.add(MEDIA_UNIT_ID_FIELD_NAME);
-		result.add(USER_ID_FIELD_NAME);
-		result.add(TIMEZONE_FIELD_NAME);
-		return result;
-	}
+	private final Column<String> callUuidColumn = this.stringColumn(CALL_UUID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> callNameColumn = this.stringColumn(CALL_NAME_FIELD_NAME, null);
+	private final Column<String> peerConnectionUuidColumn = this.stringColumn(PEER_CONNECTION_UUID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> browseridColumn = this.stringColumn(BROWSERID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> mediaUnitIdColumn = this.stringColumn(MEDIA_UNIT_ID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> userIdColumn = this.stringColumn(USER_ID_FIELD_NAME, null);
+	private final Column<String> timezoneColumn = this.stringColumn(TIMEZONE_FIELD_NAME, null);
+	private final Column<String> timeZoneIdFallbackColumn = this.stringColumn("timeZoneId", null);
+
 	public JoinedPeerConnections(BigQueryService bigQueryService, String tableName) {
 		super(bigQueryService, tableName, ReportType.JOINED_PEER_CONNECTION);
 	}
 	@Override
 	protected Object makePayload(FieldValueList row) {
 		// String type
-		String callUUID = this.getValue(row, CALL_UUID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND");
-		String callName = this.getValue(row, CALL_NAME_FIELD_NAME, FieldValue::getStringValue, null);
-		String pcUUID = this.getValue(row, PEER_CONNECTION_UUID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND");
-		String browserId = this.getValue(row, BROWSERID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND");
-		String mediaUnitId = this.getValue(row, MEDIA_UNIT_ID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND");
-		String userid = this.getValue(row, USER_ID_FIELD_NAME, FieldValue::getStringValue, null);
-		String timezone = this.getValue(row, TIMEZONE_FIELD_NAME, FieldValue::getStringValue, null);
+		String callUUID = this.callUuidColumn.get(row);
+		String callName = this.callNameColumn.get(row);
+		String pcUUID = this.peerConnectionUuidColumn.get(row);
+		String browserId = this.browseridColumn.get(row);
+		String mediaUnitId = this.mediaUnitIdColumn.get(row);
+		String userid = this.userIdColumn.get(row);
+		String timezone = this.timezoneColumn.get(row);
 		if (Objects.isNull(timezone)) {
-			timezone = this.getValue(row, "timeZoneId", FieldValue::getStringValue, null);
+			timezone = this.timeZoneIdFallbackColumn.get(row);
 		}
 
 		var result = JoinedPeerConnection.newBuilder()
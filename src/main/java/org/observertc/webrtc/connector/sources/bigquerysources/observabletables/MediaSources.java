@@ -16,15 +16,12 @@
 
 package org.observertc.webrtc.connector.sources.bigquerysources.observabletables;
 
-import com.google.cloud.bigquery.FieldValue;
 import com.google.cloud.bigquery.FieldValueList;
 import org.observertc.webrtc.connector.common.BigQueryService;
 import org.observertc.webrtc.schemas.reports.MediaSource;
+import org.observertc.webrtc.schemas.reports.MediaType;
 import org.observertc.webrtc.schemas.reports.ReportType;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class MediaSources extends RecordMapperAbstract {
 	public static final String PEER_CONNECTION_UUID_FIELD_NAME = "peerConnectionUUID";
 	public static final String BROWSERID_FIELD_NAME = "browserID";
@@ -41,23 +38,19 @@ public class MediaSources extends RecordMapperAbstract {
 	public static final String TOTAL_SAMPLES_DURATION_FIELD_NAME = "totalSamplesDuration";
 
 
-	@Override
-	protected List<String> getPayloadFieldNames() {
-		List<String> result = new ArrayList<>();
-		result.add(PEER_CONNECTION_UUID_FIELD_NAME);
-		result.add(BROWSERID_FIELD_NAME);
-		result.add(MEDIA_UNIT_ID_FIELD_NAME);
-		result.add(USER_ID_FIELD_NAME);
-		result.add(MEDIA_SOURCE_ID_FIELD_NAME);
-		result.add(FRAMES_PER_SECOND_FIELD_NAME);
-		result.add(HEIGHT_FIELD_NAME);
-		result.add(WIDTH_FIELD_NAME);
-		result.add(AUDIO_LEVEL_FIELD_NAME);
-		result.add(MEDIA_TYPE_FIELD_NAME);
-		result.add(TOTAL_AUDIO_ENERGY_FIELD_NAME);
-		result.add(TOTAL_SAMPLES_DURATION_FIELD_NAME);
-		return result;
-	}
+	private final Column<String> browseridColumn = this.stringColumn(BROWSERID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> peerConnectionUuidColumn = this.stringColumn(PEER_CONNECTION_UUID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> mediaUnitIdColumn = this.stringColumn(MEDIA_UNIT_ID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> userIdColumn = this.stringColumn(USER_ID_FIELD_NAME, null);
+	private final Column<String> mediaSourceIdColumn = this.stringColumn(MEDIA_SOURCE_ID_FIELD_NAME, null);
+	private final Column<Double> framesPerSecondColumn = this.doubleColumn(FRAMES_PER_SECOND_FIELD_NAME);
+	private final Column<Double> heightColumn = this.doubleColumn(HEIGHT_FIELD_NAME);
+	private final Column<Double> widthColumn = this.doubleColumn(WIDTH_FIELD_NAME);
+	private final Column<Float> audioLevelColumn = this.floatColumn(AUDIO_LEVEL_FIELD_NAME);
+	private final Column<MediaType> mediaTypeColumn = this.enumColumn(MEDIA_TYPE_FIELD_NAME, MediaType.class);
+	private final Column<Float> totalAudioEnergyColumn = this.floatColumn(TOTAL_AUDIO_ENERGY_FIELD_NAME);
+	private final Column<Double> totalSamplesDurationColumn = this.doubleColumn(TOTAL_SAMPLES_DURATION_FIELD_NAME);
+
 	public MediaSources(BigQueryService bigQueryService, String tableName) {
 		super(bigQueryService, tableName, ReportType.MEDIA_SOURCE);
 	}
@@ -65,18 +58,18 @@ public class MediaSources extends RecordMapperAbstract {
 	protected Object makePayload(FieldValueList row) {
 		// String type
 		var result = MediaSource.newBuilder()
-				.setBrowserId(this.getValue(row, BROWSERID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setPeerConnectionUUID(this.getValue(row, PEER_CONNECTION_UUID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setMediaUnitId(this.getValue(row, MEDIA_UNIT_ID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setUserId(this.getValue(row, USER_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setMediaSourceId(this.getValue(row, MEDIA_SOURCE_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setFramesPerSecond(this.getValue(row, FRAMES_PER_SECOND_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setHeight(this.getValue(row, HEIGHT_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setWidth(this.getValue(row, WIDTH_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setAudioLevel(this.getValue(row, AUDIO_LEVEL_FIELD_NAME, this::getFloat, null))
-				.setMediaType(this.getValue(row, MEDIA_TYPE_FIELD_NAME, this::getMediaType, null))
-				.setTotalAudioEnergy(this.getValue(row, TOTAL_AUDIO_ENERGY_FIELD_NAME, this::getFloat, null))
-				.setTotalSamplesDuration(this.getValue(row, TOTAL_SAMPLES_DURATION_FIELD_NAME, FieldValue::getDoubleValue, null))
+				.setBrowserId(this.browseridColumn.get(row))
+				.setPeerConnectionUUID(this.peerConnectionUuidColumn.get(row))
+				.setMediaUnitId(this.mediaUnitIdColumn.get(row))
+				.setUserId(this.userIdColumn.get(row))
+				.setMediaSourceId(this.mediaSourceIdColumn.get(row))
+				.setFramesPerSecond(this.framesPerSecondColumn.get(row))
+				.setHeight(this.heightColumn.get(row))
+				.setWidth(this.widthColumn.get(row))
+				.setAudioLevel(this.audioLevelColumn.get(row))
+				.setMediaType(this.mediaTypeColumn.get(row))
+				.setTotalAudioEnergy(this.totalAudioEnergyColumn.get(row))
+				.setTotalSamplesDuration(this.totalSamplesDurationColumn.get(row))
 				//
 				;
 		return result.build();
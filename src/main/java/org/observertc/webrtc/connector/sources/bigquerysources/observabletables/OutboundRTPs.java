@@ -16,17 +16,14 @@
 
 package org.observertc.webrtc.connector.sources.bigquerysources.observabletables;
 
-import com.google.cloud.bigquery.FieldValue;
 import com.google.cloud.bigquery.FieldValueList;
 import org.observertc.webrtc.connector.common.BigQueryService;
 import org.observertc.webrtc.schemas.reports.OutboundRTP;
+import org.observertc.webrtc.schemas.reports.RTCQualityLimitationReason;
 import org.observertc.webrtc.schemas.reports.ReportType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class OutboundRTPs extends RecordMapperAbstract {
 	private static final Logger logger = LoggerFactory.getLogger(OutboundRTPs.class);
 
@@ -57,36 +54,30 @@ public class OutboundRTPs extends RecordMapperAbstract {
 	public static final String TRANSPORT_ID_FIELD_NAME = "transportId";
 
 
-	@Override
-	protected List<String> getPayloadFieldNames() {
-		List<String> result = new ArrayList<>();
-		result.add(PEER_CONNECTION_UUID_FIELD_NAME);
-		result.add(BROWSERID_FIELD_NAME);
-		result.add(MEDIA_UNIT_ID_FIELD_NAME);
-		result.add(USER_ID_FIELD_NAME);
-		result.add(SSRC_FIELD_NAME);
-		result.add(FIR_COUNT_FIELD_NAME);
-		result.add(FRAMES_ENCODED_FIELD_NAME);
-		result.add(NACK_COUNT_FIELD_NAME);
-		result.add(HEADER_BYTES_SENT_FIELD_NAME);
-		result.add(KEYFRAMES_ENCODED_FIELD_NAME);
-		result.add(MEDIA_TYPE_FIELD_NAME);
-		result.add(PACKETS_SENT_FIELD_NAME);
-		result.add(PLI_COUNT_FIELD_NAME);
-		result.add(QP_SUM_FIELD_NAME);
-		result.add(TOTAL_ENCODED_TIME_FIELD_NAME);
-		result.add(TRANSPORT_ID_FIELD_NAME);
-
-		result.add(BYTES_SENT_FIELD_NAME);
-		result.add(QUALITY_LIMITATION_REASON_FIELD_NAME);
-		result.add(QUALITY_LIMITATION_RESOLUTION_CHANGES_FIELD_NAME);
-		result.add(RETRANSMITTED_BYTES_FIELD_NAME);
-		result.add(RETRANSMITTED_PACKETS_SENT_FIELD_NAME);
-		result.add(TOTAL_PACKET_SEND_DELAY_FIELD_NAME);
-		result.add(TOTAL_ENCODED_BYTES_TARGET_FIELD_NAME);
+	private final Column<String> browseridColumn = this.stringColumn(BROWSERID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> peerConnectionUuidColumn = this.stringColumn(PEER_CONNECTION_UUID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> mediaUnitIdColumn = this.stringColumn(MEDIA_UNIT_ID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> userIdColumn = this.stringColumn(USER_ID_FIELD_NAME, null);
+	private final Column<Long> ssrcColumn = this.longColumn(SSRC_FIELD_NAME);
+	private final Column<Integer> firCountColumn = this.integerColumn(FIR_COUNT_FIELD_NAME);
+	private final Column<Integer> framesEncodedColumn = this.integerColumn(FRAMES_ENCODED_FIELD_NAME);
+	private final Column<Integer> nackCountColumn = this.integerColumn(NACK_COUNT_FIELD_NAME);
+	private final Column<Long> headerBytesSentColumn = this.longColumn(HEADER_BYTES_SENT_FIELD_NAME);
+	private final Column<Long> keyframesEncodedColumn = this.longColumn(KEYFRAMES_ENCODED_FIELD_NAME);
+	private final Column<String> mediaTypeColumn = this.stringColumn(MEDIA_TYPE_FIELD_NAME, null);
+	private final Column<Integer> packetsSentColumn = this.integerColumn(PACKETS_SENT_FIELD_NAME);
+	private final Column<Integer> pliCountColumn = this.integerColumn(PLI_COUNT_FIELD_NAME);
+	private final Column<Double> qpSumColumn = this.doubleColumn(QP_SUM_FIELD_NAME);
+	private final Column<Double> totalEncodedTimeColumn = this.doubleColumn(TOTAL_ENCODED_TIME_FIELD_NAME);
+	private final Column<String> encoderImplementationColumn = this.stringColumn(ENCODER_IMPLEMENTATION_FIELD_NAME, null);
+	private final Column<Long> bytesSentColumn = this.longColumn(BYTES_SENT_FIELD_NAME);
+	private final Column<RTCQualityLimitationReason> qualityLimitationReasonColumn = this.enumColumn(QUALITY_LIMITATION_REASON_FIELD_NAME, RTCQualityLimitationReason.class);
+	private final Column<Long> qualityLimitationResolutionChangesColumn = this.longColumn(QUALITY_LIMITATION_RESOLUTION_CHANGES_FIELD_NAME);
+	private final Column<Long> retransmittedBytesColumn = this.longColumn(RETRANSMITTED_BYTES_FIELD_NAME);
+	private final Column<Integer> retransmittedPacketsSentColumn = this.integerColumn(RETRANSMITTED_PACKETS_SENT_FIELD_NAME);
+	private final Column<Double> totalPacketSendDelayColumn = this.doubleColumn(TOTAL_PACKET_SEND_DELAY_FIELD_NAME);
+	private final Column<Long> totalEncodedBytesTargetColumn = this.longColumn(TOTAL_ENCODED_BYTES_TARGET_FIELD_NAME);
 
-		return result;
-	}
 	public OutboundRTPs(BigQueryService bigQueryService, String tableName) {
 		super(bigQueryService, tableName, ReportType.OUTBOUND_RTP);
 	}
@@ -94,29 +85,29 @@ public class OutboundRTPs extends RecordMapperAbstract {
 	@Override
 	protected Object makePayload(FieldValueList row) {
 		var result = OutboundRTP.newBuilder()
-				.setBrowserId(this.getValue(row, BROWSERID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setPeerConnectionUUID(this.getValue(row, PEER_CONNECTION_UUID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setMediaUnitId(this.getValue(row, MEDIA_UNIT_ID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setUserId(this.getValue(row, USER_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setSsrc(this.getValue(row, SSRC_FIELD_NAME, FieldValue::getLongValue, null))
-				.setFirCount(this.getValue(row, FIR_COUNT_FIELD_NAME, this::getInteger, null))
-				.setFramesEncoded(this.getValue(row, FRAMES_ENCODED_FIELD_NAME, this::getInteger, null))
-				.setNackCount(this.getValue(row, NACK_COUNT_FIELD_NAME, this::getInteger, null))
-				.setHeaderBytesSent(this.getValue(row, HEADER_BYTES_SENT_FIELD_NAME, FieldValue::getLongValue, null))
-				.setKeyFramesEncoded(this.getValue(row, KEYFRAMES_ENCODED_FIELD_NAME, FieldValue::getLongValue, null))
-				.setMediaUnitId(this.getValue(row, MEDIA_TYPE_FIELD_NAME, FieldValue::getStringValue, null))
-				.setPacketsSent(this.getValue(row, PACKETS_SENT_FIELD_NAME, this::getInteger, null))
-				.setPliCount(this.getValue(row, PLI_COUNT_FIELD_NAME, this::getInteger, null))
-				.setQpSum(this.getValue(row, QP_SUM_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setTotalEncodeTime(this.getValue(row, TOTAL_ENCODED_TIME_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setEncoderImplementation(this.getValue(row, ENCODER_IMPLEMENTATION_FIELD_NAME, FieldValue::getStringValue, null))
-				.setBytesSent(this.getValue(row, BYTES_SENT_FIELD_NAME, FieldValue::getLongValue, null))
-				.setQualityLimitationReason(this.getValue(row, QUALITY_LIMITATION_REASON_FIELD_NAME, this::getRTCQualityLimitationReason, null))
-				.setQualityLimitationResolutionChanges(this.getValue(row, QUALITY_LIMITATION_RESOLUTION_CHANGES_FIELD_NAME, FieldValue::getLongValue, null))
-				.setRetransmittedBytesSent(this.getValue(row, RETRANSMITTED_BYTES_FIELD_NAME, FieldValue::getLongValue, null))
-				.setRetransmittedPacketsSent(this.getValue(row, RETRANSMITTED_PACKETS_SENT_FIELD_NAME, this::getInteger, null))
-				.setTotalPacketSendDelay(this.getValue(row, TOTAL_PACKET_SEND_DELAY_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setTotalEncodedBytesTarget(this.getValue(row, TOTAL_ENCODED_BYTES_TARGET_FIELD_NAME, FieldValue::getLongValue, null))
+				.setBrowserId(this.browseridColumn.get(row))
+				.setPeerConnectionUUID(this.peerConnectionUuidColumn.get(row))
+				.setMediaUnitId(this.mediaUnitIdColumn.get(row))
+				.setUserId(this.userIdColumn.get(row))
+				.setSsrc(this.ssrcColumn.get(row))
+				.setFirCount(this.firCountColumn.get(row))
+				.setFramesEncoded(this.framesEncodedColumn.get(row))
+				.setNackCount(this.nackCountColumn.get(row))
+				.setHeaderBytesSent(this.headerBytesSentColumn.get(row))
+				.setKeyFramesEncoded(this.keyframesEncodedColumn.get(row))
+				.setMediaUnitId(this.mediaTypeColumn.get(row))
+				.setPacketsSent(this.packetsSentColumn.get(row))
+				.setPliCount(this.pliCountColumn.get(row))
+				.setQpSum(this.qpSumColumn.get(row))
+				.setTotalEncodeTime(this.totalEncodedTimeColumn.get(row))
+				.setEncoderImplementation(this.encoderImplementationColumn.get(row))
+				.setBytesSent(this.bytesSentColumn.get(row))
+				.setQualityLimitationReason(this.qualityLimitationReasonColumn.get(row))
+				.setQualityLimitationResolutionChanges(this.qualityLimitationResolutionChangesColumn.get(row))
+				.setRetransmittedBytesSent(this.retransmittedBytesColumn.get(row))
+				.setRetransmittedPacketsSent(this.retransmittedPacketsSentColumn.get(row))
+				.setTotalPacketSendDelay(this.totalPacketSendDelayColumn.get(row))
+				.setTotalEncodedBytesTarget(this.totalEncodedBytesTargetColumn.get(row))
 				//
 				;
 
@@ -2,18 +2,22 @@ package org.observertc.webrtc.connector.sources.bigquerysources.observabletables
 
 import com.google.cloud.bigquery.*;
 import io.reactivex.rxjava3.annotations.NonNull;
-import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Flowable;
 import org.observertc.webrtc.connector.common.BigQueryService;
+import org.observertc.webrtc.connector.common.LogRateLimiter;
 import org.observertc.webrtc.connector.sources.bigquerysources.BigQuerySources;
+import org.observertc.webrtc.connector.sources.bigquerysources.MigrationCheckpoints;
 import org.observertc.webrtc.schemas.reports.*;
+import org.reactivestreams.Subscriber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigInteger;
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Function;
 
-public abstract class RecordMapperAbstract extends Observable<Report> {
+public abstract class RecordMapperAbstract extends Flowable<Report> {
     private static final Logger DEFAULT_LOGGER = LoggerFactory.getLogger(RecordMapperAbstract.class);
     public static final String MIGRATION_MARKER = BigQuerySources.class.getSimpleName();
     public static final String SERVICE_UUID_FIELD_NAME = "serviceUUID";
@@ -26,7 +30,12 @@ public abstract class RecordMapperAbstract extends Observable<Report> {
     private final String tableName;
     private final ReportType reportType;
     private final int limit = 500000;
-    private final Map<String, Integer> fieldMap = new HashMap<>();
+    private final List<Column<?>> columns = new ArrayList<>();
+    private final LogRateLimiter conversionLogRateLimiter = new LogRateLimiter(Duration.ofSeconds(10));
+    private final Column<String> serviceUUIDColumn = this.stringColumn(SERVICE_UUID_FIELD_NAME, "NOT FOUND");
+    private final Column<String> serviceNameColumn = this.stringColumn(SERVICE_NAME_FIELD_NAME, "NOT FOUND");
+    private final Column<Long> timestampColumn = this.column(TIMESTAMP_FIELD_NAME, fieldValue -> this.timestampResolver.apply(fieldValue), 0L);
+    private final Column<String> markerColumn = this.stringColumn(MARKER_FIELD_NAME, null);
     private Logger logger = DEFAULT_LOGGER;
     private String forcedMarker = null;
     protected Schema schema;
@@ -38,31 +47,160 @@ public abstract class RecordMapperAbstract extends Observable<Report> {
     }
 
 
+    /**
+     * Reads the whole table on the thread it is subscribed on, use {@link #makeWorkers(MigrationCheckpoints, long, int)}
+     * to read it in parallel, and to resume it.
+     */
     @Override
-    protected void subscribeActual(@NonNull Observer<? super Report> observer) {
+    protected void subscribeActual(@NonNull Subscriber<? super Report> subscriber) {
+        this.makeWorkers(MigrationCheckpoints.untracked(), 0, 0)
+                .concatMap(worker -> worker)
+                .subscribe(subscriber);
+    }
+
+    /**
+     * Plans the workers migrating the table when it is subscribed. If rowsPerRange is more than 0, a table
+     * having more rows than that is split into ranges of its timestamps, every range having about
+     * rowsPerRange rows if the timestamps are evenly distributed. The workers completed by a former migration
+     * are skipped, and the others continue from their checkpoints.
+     *
+     * <p>A failed worker is retried from its last page maxRetries times, then it is stopped, and its checkpoint
+     * is kept, so it continues from there when the migration is started again.
+     */
+    public Flowable<Flowable<Report>> makeWorkers(MigrationCheckpoints checkpoints, long rowsPerRange, int maxRetries) {
         String projectId = this.bigQueryService.getProjectId();
         String datasetId = this.bigQueryService.getDatasetId();
+        return Flowable.defer(() -> {
+            List<MigrationCheckpoints.Progress> workers;
+            try {
+                workers = this.plan(checkpoints, rowsPerRange);
+            } catch (Throwable ex) {
+                logger.error("{}:{} Migration for {} cannot be planned, the table is not migrated", projectId, datasetId, this.tableName, ex);
+                return Flowable.empty();
+            }
+            return Flowable.fromIterable(workers)
+                    .filter(worker -> !worker.completed)
+                    .map(worker -> this.fetch(worker, checkpoints)
+                            .retry(maxRetries, ex -> {
+                                logger.warn("{}:{} Migration for {} has failed, it is retried from its last page", projectId, datasetId, worker, ex);
+                                return true;
+                            })
+                            .onErrorResumeNext(ex -> {
+                                logger.error("{}:{} Migration for {} is stopped, it continues from its checkpoint when it is started again", projectId, datasetId, worker, ex);
+                                return Flowable.empty();
+                            }));
+        });
+    }
+
+    private List<MigrationCheckpoints.Progress> plan(MigrationCheckpoints checkpoints, long rowsPerRange) throws InterruptedException {
+        TableId tableId = TableId.of(this.bigQueryService.getDatasetId(), this.tableName);
+        Table table = this.bigQueryService.getBigQuery().getTable(tableId);
+        if (Objects.isNull(table)) {
+            throw new IllegalStateException("Table " + this.tableName + " does not exist");
+        }
+        this.resolveColumns(table.getDefinition().getSchema());
+        String key = String.join(".", this.bigQueryService.getProjectId(), this.bigQueryService.getDatasetId(), this.tableName);
+        List<MigrationCheckpoints.Progress> result = checkpoints.getWorkers(key);
+        if (!result.isEmpty()) {
+            logger.info("Migration for {} is resumed with {} workers", this.tableName, result.size());
+            return result;
+        }
+        return checkpoints.plan(key, this.makeRanges(table, rowsPerRange));
+    }
+
+    /**
+     * @return the ranges of the timestamps, or a single null range if the table is read as a whole
+     */
+    private List<long[]> makeRanges(Table table, long rowsPerRange) throws InterruptedException {
+        List<long[]> result = new ArrayList<>();
+        BigInteger numRows = table.getNumRows();
+        if (rowsPerRange < 1 || Objects.isNull(this.timestampExpression) || Objects.isNull(numRows) || numRows.longValue() <= rowsPerRange) {
+            result.add(null);
+            return result;
+        }
+        String query = String.format("SELECT MIN(%s), MAX(%s) FROM %s", this.timestampExpression, this.timestampExpression, this.getQualifiedTableName());
+        FieldValueList bounds = this.bigQueryService.getBigQuery()
+                .query(QueryJobConfiguration.newBuilder(query).setUseLegacySql(false).build())
+                .iterateAll().iterator().next();
+        if (bounds.get(0).isNull() || bounds.get(1).isNull()) {
+            result.add(null);
+            return result;
+        }
+        long min = bounds.get(0).getLongValue();
+        long max = bounds.get(1).getLongValue();
+        long ranges = (numRows.longValue() + rowsPerRange - 1) / rowsPerRange;
+        long step = Math.max(1L, (max - min) / ranges + 1);
+        for (long from = min; from <= max; from += step) {
+            result.add(new long[]{from, Math.min(from + step, max + 1)});
+        }
+        logger.info("Migration for {} having {} rows is split into {} ranges", this.tableName, numRows, result.size());
+        return result;
+    }
+
+    private Flowable<Report> fetch(MigrationCheckpoints.Progress worker, MigrationCheckpoints checkpoints) {
+        String projectId = this.bigQueryService.getProjectId();
+        String datasetId = this.bigQueryService.getDatasetId();
+        // rows (and the pages behind them) are fetched only when the downstream requests them
+        return Flowable.generate(() -> this.open(checkpoints.get(worker), checkpoints), (reader, emitter) -> {
+            FieldValueList row = reader.next();
+            if (Objects.isNull(row)) {
+                // the worker is completed when the sink has written all of its reports
+                checkpoints.finished(worker);
+                logger.info("{}:{} Fetching records for {} has ended", projectId, datasetId, worker);
+                emitter.onComplete();
+                return;
+            }
+            Report report = this.makeReport(row);
+            checkpoints.emitted(worker, reader.jobId, reader.pageToken, report);
+            emitter.onNext(report);
+        });
+    }
+
+    private PageReader open(MigrationCheckpoints.Progress worker, MigrationCheckpoints checkpoints) throws InterruptedException {
         BigQuery bigquery = this.bigQueryService.getBigQuery();
-        try {
+        logger.info("{}:{} Fetching records for {} has begun", this.bigQueryService.getProjectId(), this.bigQueryService.getDatasetId(), worker);
+        if (Objects.isNull(worker.from)) {
+            List<BigQuery.TableDataListOption> options = new ArrayList<>();
+            options.add(BigQuery.TableDataListOption.pageSize(this.limit));
+            if (Objects.nonNull(worker.pageToken)) {
+                options.add(BigQuery.TableDataListOption.pageToken(worker.pageToken));
+            }
             TableId tableId = TableId.of(this.bigQueryService.getDatasetId(), this.tableName);
-            TableResult result = bigquery.listTableData(tableId, BigQuery.TableDataListOption.pageSize(this.limit));
-            this.fieldMap.putAll(this.buildFieldMap(tableId));
-            logger.info("{}:{} Fetching records for {} has begun", projectId, datasetId, this.tableName);
-            int fetched = 0;
-            for (FieldValueList row : result.iterateAll()) {
-                Report report = this.makeReport(row);
-                observer.onNext(report);
-                if (this.limit <= ++fetched) {
-                    logger.info("{}:{} Fetched {} records from table {}",  projectId, datasetId, fetched, this.tableName);
-                    fetched = 0;
-                }
+            TableResult page = bigquery.listTableData(tableId, options.toArray(new BigQuery.TableDataListOption[0]));
+            return new PageReader(null, worker.pageToken, page);
+        }
+        Job job = null;
+        String pageToken = worker.pageToken;
+        if (Objects.nonNull(worker.jobId)) {
+            job = bigquery.getJob(JobId.newBuilder().setJob(worker.jobId).setLocation(worker.jobLocation).build());
+            if (Objects.isNull(job)) {
+                logger.info("The query of {} has expired, the range is fetched again from its beginning", worker);
             }
-            logger.info("{}:{} Fetching records for {} has ended",  projectId, datasetId, this.tableName);
-
-        } catch (Throwable ex) {
-            logger.warn("{}:{} Migration for {} is stoppped due to exception: {}",  projectId, datasetId, this.tableName, ex.getMessage());
         }
-        observer.onComplete();
+        if (Objects.isNull(job)) {
+            String query = String.format("SELECT * FROM %s WHERE @from <= %s AND %s < @to",
+                    this.getQualifiedTableName(), this.timestampExpression, this.timestampExpression);
+            QueryJobConfiguration configuration = QueryJobConfiguration.newBuilder(query)
+                    .addNamedParameter("from", QueryParameterValue.int64(worker.from))
+                    .addNamedParameter("to", QueryParameterValue.int64(worker.to))
+                    .setUseLegacySql(false)
+                    .build();
+            job = bigquery.create(JobInfo.of(configuration));
+            pageToken = null;
+            checkpoints.queried(worker, job.getJobId());
+        }
+        List<BigQuery.QueryResultsOption> options = new ArrayList<>();
+        options.add(BigQuery.QueryResultsOption.pageSize(this.limit));
+        if (Objects.nonNull(pageToken)) {
+            options.add(BigQuery.QueryResultsOption.pageToken(pageToken));
+        }
+        // waits until the query is done
+        TableResult page = job.getQueryResults(options.toArray(new BigQuery.QueryResultsOption[0]));
+        return new PageReader(job.getJobId(), pageToken, page);
+    }
+
+    private String getQualifiedTableName() {
+        return String.format("`%s.%s.%s`", this.bigQueryService.getProjectId(), this.bigQueryService.getDatasetId(), this.tableName);
     }
 
     public RecordMapperAbstract withLogger(Logger logger) {
@@ -70,44 +208,44 @@ public abstract class RecordMapperAbstract extends Observable<Report> {
         return this;
     }
 
-    private List<String> getReportFieldNames() {
-        List<String> result = new ArrayList<>();
-        result.add(SERVICE_UUID_FIELD_NAME);
-        result.add(SERVICE_NAME_FIELD_NAME);
-        result.add(TIMESTAMP_FIELD_NAME);
-        result.addAll(this.getPayloadFieldNames());
-        return result;
-    }
     private Function<FieldValue, Long> timestampResolver;
+    // the timestamp in milliseconds in the queries, or null if the table has no timestamp
+    private String timestampExpression;
 
-    private Map<String, Integer> buildFieldMap(TableId tableId){
-        Map<String, Integer> result = new HashMap<>();
-        this.schema = this.bigQueryService.getBigQuery().getTable(tableId).getDefinition().getSchema();
+    /**
+     * Resolves the positions of the columns in the rows of the table, so a row is mapped without looking up its fields by their names
+     */
+    private void resolveColumns(Schema schema) {
+        this.schema = schema;
         FieldList fieldList = schema.getFields();
-        List<String> fieldNames = this.getReportFieldNames();
-        for (String fieldName : fieldNames) {
-            int index;
-            try {
-                 index = fieldList.getIndex(fieldName);
-            } catch (Exception ex) {
-                logger.warn("Field name problem for field: {} at table {}. Message: {}", fieldName,tableName, ex.getMessage());
-                continue;
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int index = 0; index < fieldList.size(); ++index) {
+            indexes.put(fieldList.get(index).getName(), index);
+        }
+        List<String> missingFields = new ArrayList<>();
+        for (Column<?> column : this.columns) {
+            column.index = indexes.getOrDefault(column.fieldName, -1);
+            if (column.index < 0) {
+                missingFields.add(column.fieldName);
             }
-            result.put(fieldName, index);
         }
-        var timestampField = fieldList.get(TIMESTAMP_FIELD_NAME);
-        if (Objects.nonNull(timestampField)) {
-            var type = timestampField.getType();
+        if (!missingFields.isEmpty()) {
+            logger.info("Fields {} are not in table {}, the default values are used for them", missingFields, this.tableName);
+        }
+        Integer timestampIndex = indexes.get(TIMESTAMP_FIELD_NAME);
+        if (Objects.nonNull(timestampIndex)) {
+            var type = fieldList.get(timestampIndex).getType();
             if (type.equals(LegacySQLTypeName.TIMESTAMP)) {
                 this.timestampResolver = fieldValue -> {
                     Long timestamp = fieldValue.getTimestampValue(); // returns microsec since epoch
                     return timestamp / 1000; // we need millis since epoch
                 };
+                this.timestampExpression = String.format("UNIX_MILLIS(`%s`)", TIMESTAMP_FIELD_NAME);
             } else {
                 this.timestampResolver = FieldValue::getLongValue;
+                this.timestampExpression = String.format("`%s`", TIMESTAMP_FIELD_NAME);
             }
         }
-        return result;
     }
 
     public RecordMapperAbstract withMarker(String forcedMarker) {
@@ -115,42 +253,16 @@ public abstract class RecordMapperAbstract extends Observable<Report> {
         return this;
     }
 
-    protected<T> T getValue(FieldValueList row, String fieldName, Function<FieldValue, T> converter, T defaultValue) {
-        Integer index = this.fieldMap.get(fieldName);
-        if (Objects.isNull(index)) {
-            return defaultValue;
-        }
-        FieldValue fieldValue = row.get(index);
-        try {
-            if (Objects.isNull(fieldValue)) {
-                return defaultValue;
-            }
-            if (Objects.isNull(fieldValue.getValue())) {
-                return defaultValue;
-            }
-            T result = converter.apply(fieldValue);
-            if (Objects.isNull(result)) {
-                return defaultValue;
-            }
-            return result;
-        } catch (Throwable t) {
-            logger.warn("Something went wrong in conversion for field {}, fieldValue {}", fieldName, fieldValue, t);
-            return defaultValue;
-        }
-    }
-
-    protected abstract List<String> getPayloadFieldNames();
-
     protected Report makeReport(FieldValueList row) {
-        String serviceUUID = this.getValue(row, SERVICE_UUID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND");
-        String serviceName = this.getValue(row, SERVICE_NAME_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND");
-        Long timestamp = this.getValue(row, TIMESTAMP_FIELD_NAME, this.timestampResolver, 0L);
+        String serviceUUID = this.serviceUUIDColumn.get(row);
+        String serviceName = this.serviceNameColumn.get(row);
+        Long timestamp = this.timestampColumn.get(row);
         Object payload = this.makePayload(row);
         String marker;
         if (Objects.nonNull(this.forcedMarker)) {
             marker = this.forcedMarker;
         } else {
-            marker = this.getValue(row, MARKER_FIELD_NAME, FieldValue::getStringValue, null);
+            marker = this.markerColumn.get(row);
         }
 
         var result = Report.newBuilder()
@@ -167,75 +279,130 @@ public abstract class RecordMapperAbstract extends Observable<Report> {
 
     protected abstract Object makePayload(FieldValueList row);
 
-    protected Integer getInteger(FieldValue fieldValue) {
-        Long value = fieldValue.getLongValue();
-        return value.intValue();
+    /**
+     * Makes a column read by the mapper, the columns are made when the mapper is constructed (i.e.: as its fields),
+     * and their positions are resolved when the schema of the table is known.
+     */
+    protected <T> Column<T> column(String fieldName, Function<FieldValue, T> converter, T defaultValue) {
+        Column<T> result = new Column<>(fieldName, converter, defaultValue);
+        this.columns.add(result);
+        return result;
     }
 
-    protected Float getFloat(FieldValue fieldValue) {
-        Double value = fieldValue.getDoubleValue();
-        return value.floatValue();
+    protected Column<String> stringColumn(String fieldName, String defaultValue) {
+        return this.column(fieldName, FieldValue::getStringValue, defaultValue);
     }
 
-    protected ICEState getICEState(FieldValue fieldValue) {
-        String value = fieldValue.getStringValue();
-        try {
-            return ICEState.valueOf( value);
-        } catch (Exception ex) {
-            logger.warn("Error during enum conversion", ex);
-            return null;
-        }
+    protected Column<Long> longColumn(String fieldName) {
+        return this.column(fieldName, FieldValue::getLongValue, null);
     }
 
-    protected MediaType getMediaType(FieldValue fieldValue) {
-        String value = fieldValue.getStringValue();
-        try {
-            return MediaType.valueOf( value);
-        } catch (Exception ex) {
-            logger.warn("Error during enum conversion", ex);
-            return null;
-        }
+    protected Column<Integer> integerColumn(String fieldName) {
+        return this.column(fieldName, fieldValue -> (int) fieldValue.getLongValue(), null);
     }
 
-    protected NetworkType getNetworkType(FieldValue fieldValue) {
-        String value = fieldValue.getStringValue();
-        try {
-            return NetworkType.valueOf( value);
-        } catch (Exception ex) {
-            logger.warn("Error during enum conversion", ex);
-            return null;
-        }
+    protected Column<Double> doubleColumn(String fieldName) {
+        return this.column(fieldName, FieldValue::getDoubleValue, null);
     }
 
-    protected CandidateType getCandidateType(FieldValue fieldValue) {
-        String value = fieldValue.getStringValue();
-        try {
-            return CandidateType.valueOf( value);
-        } catch (Exception ex) {
-            logger.warn("Error during enum conversion", ex);
-            return null;
-        }
+    protected Column<Float> floatColumn(String fieldName) {
+        return this.column(fieldName, fieldValue -> (float) fieldValue.getDoubleValue(), null);
+    }
+
+    protected Column<Boolean> booleanColumn(String fieldName) {
+        return this.column(fieldName, FieldValue::getBooleanValue, null);
     }
 
-    protected TransportProtocol getTransportProtocol(FieldValue fieldValue) {
-        String value = fieldValue.getStringValue();
-        try {
-            return TransportProtocol.valueOf( value);
-        } catch (Exception ex) {
-            logger.warn("Error during enum conversion", ex);
-            return null;
+    protected <E extends Enum<E>> Column<E> enumColumn(String fieldName, Class<E> enumType) {
+        return this.enumColumn(fieldName, enumType, null);
+    }
+
+    /**
+     * The symbols of the enum are looked up in a table made once, unknown symbols get the default value
+     */
+    protected <E extends Enum<E>> Column<E> enumColumn(String fieldName, Class<E> enumType, E defaultValue) {
+        Map<String, E> symbols = new HashMap<>();
+        for (E symbol : enumType.getEnumConstants()) {
+            symbols.put(symbol.name(), symbol);
         }
+        return this.column(fieldName, fieldValue -> symbols.get(fieldValue.getStringValue()), defaultValue);
     }
 
-    protected RTCQualityLimitationReason getRTCQualityLimitationReason(FieldValue fieldValue) {
-        String value = fieldValue.getStringValue();
-        try {
-            return RTCQualityLimitationReason.valueOf( value);
-        } catch (Exception ex) {
-            logger.warn("Error during enum conversion", ex);
-            return null;
+    /**
+     * A field of the rows read by its position
+     */
+    protected class Column<T> {
+        private final String fieldName;
+        private final Function<FieldValue, T> converter;
+        private final T defaultValue;
+        // the position of the field in the rows, or -1 if the table does not have it
+        private int index = -1;
+
+        private Column(String fieldName, Function<FieldValue, T> converter, T defaultValue) {
+            this.fieldName = fieldName;
+            this.converter = converter;
+            this.defaultValue = defaultValue;
+        }
+
+        /**
+         * @return the converted value of the field in the row, or the default value if it is null or it cannot be converted
+         */
+        public T get(FieldValueList row) {
+            if (this.index < 0) {
+                return this.defaultValue;
+            }
+            FieldValue fieldValue = row.get(this.index);
+            if (fieldValue.isNull()) {
+                return this.defaultValue;
+            }
+            T result;
+            try {
+                result = this.converter.apply(fieldValue);
+            } catch (RuntimeException ex) {
+                long suppressed = conversionLogRateLimiter.tryAcquire();
+                if (0 <= suppressed) {
+                    logger.warn("Something went wrong in conversion for field {}, fieldValue {}, {} failures are suppressed since the last log",
+                            this.fieldName, fieldValue, suppressed, ex);
+                }
+                return this.defaultValue;
+            }
+            if (Objects.isNull(result)) {
+                return this.defaultValue;
+            }
+            return result;
         }
     }
 
+    /**
+     * Iterates the rows of the pages, and keeps the token of the page the last row is read from
+     */
+    private static class PageReader {
+        final JobId jobId;
+        // the token of the current page, null for the first page
+        String pageToken;
+        private TableResult page;
+        private Iterator<FieldValueList> rows;
+
+        PageReader(JobId jobId, String pageToken, TableResult page) {
+            this.jobId = jobId;
+            this.pageToken = pageToken;
+            this.page = page;
+            this.rows = page.getValues().iterator();
+        }
 
+        /**
+         * @return the next row, or null if all the pages have been read
+         */
+        FieldValueList next() {
+            while (!this.rows.hasNext()) {
+                if (!this.page.hasNextPage()) {
+                    return null;
+                }
+                this.pageToken = this.page.getNextPageToken();
+                this.page = this.page.getNextPage();
+                this.rows = this.page.getValues().iterator();
+            }
+            return this.rows.next();
+        }
+    }
 }
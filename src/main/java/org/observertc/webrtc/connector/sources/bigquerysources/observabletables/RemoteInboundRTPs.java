@@ -16,16 +16,14 @@
 
 package org.observertc.webrtc.connector.sources.bigquerysources.observabletables;
 
-import com.google.cloud.bigquery.FieldValue;
 import com.google.cloud.bigquery.FieldValueList;
 import org.observertc.webrtc.connector.common.BigQueryService;
+import org.observertc.webrtc.schemas.reports.MediaType;
 import org.observertc.webrtc.schemas.reports.RemoteInboundRTP;
 import org.observertc.webrtc.schemas.reports.ReportType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 public class RemoteInboundRTPs extends RecordMapperAbstract {
@@ -45,48 +43,46 @@ public class RemoteInboundRTPs extends RecordMapperAbstract {
 	public static final String TRANSPORT_ID_FIELD_NAME = "transportID";
 
 
-	@Override
-	protected List<String> getPayloadFieldNames() {
-		List<String> result = new ArrayList<>();
-		result.add(PEER_CONNECTION_UUID_FIELD_NAME);
-		result.add(BROWSERID_FIELD_NAME);
-		result.add(MEDIA_UNIT_ID_FIELD_NAME);
-		result.add(USER_ID_FIELD_NAME);
-		result.add(SSRC_FIELD_NAME);
-		result.add(RTT_IN_MS_FIELD_NAME);
-		result.add(PACKETSLOST_FIELD_NAME);
-		result.add(JITTER_FIELD_NAME);
-		result.add(CODEC_FIELD_NAME);
-		result.add(MEDIA_TYPE_FIELD_NAME);
-		result.add(TRANSPORT_ID_FIELD_NAME);
-		return result;
-	}
+	private final Column<Double> rttInMsColumn = this.doubleColumn(RTT_IN_MS_FIELD_NAME);
+	private final Column<Double> roundTripTimeFallbackColumn = this.doubleColumn("roundTripTime");
+	private final Column<String> codecColumn = this.stringColumn(CODEC_FIELD_NAME, null);
+	private final Column<String> codecIDFallbackColumn = this.stringColumn("codecID", null);
+	private final Column<String> browseridColumn = this.stringColumn(BROWSERID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> peerConnectionUuidColumn = this.stringColumn(PEER_CONNECTION_UUID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> mediaUnitIdColumn = this.stringColumn(MEDIA_UNIT_ID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> userIdColumn = this.stringColumn(USER_ID_FIELD_NAME, null);
+	private final Column<Long> ssrcColumn = this.longColumn(SSRC_FIELD_NAME);
+	private final Column<Integer> packetslostColumn = this.integerColumn(PACKETSLOST_FIELD_NAME);
+	private final Column<Float> jitterColumn = this.floatColumn(JITTER_FIELD_NAME);
+	private final Column<MediaType> mediaTypeColumn = this.enumColumn(MEDIA_TYPE_FIELD_NAME, MediaType.class);
+	private final Column<String> transportIdColumn = this.stringColumn(TRANSPORT_ID_FIELD_NAME, null);
+
 	public RemoteInboundRTPs(BigQueryService bigQueryService, String tableName) {
 		super(bigQueryService, tableName, ReportType.REMOTE_INBOUND_RTP);
 	}
 
 	@Override
 	protected Object makePayload(FieldValueList row) {
-		Double RTT = this.getValue(row, RTT_IN_MS_FIELD_NAME, FieldValue::getDoubleValue, null);
+		Double RTT = this.rttInMsColumn.get(row);
 		if (Objects.isNull(RTT)) {
-			RTT = this.getValue(row, "roundTripTime", FieldValue::getDoubleValue, null);
+			RTT = this.roundTripTimeFallbackColumn.get(row);
 		}
-		String codecID = this.getValue(row, CODEC_FIELD_NAME, FieldValue::getStringValue, null);
+		String codecID = this.codecColumn.get(row);
 		if (Objects.isNull(codecID)) {
-			codecID = this.getValue(row, "codecID", FieldValue::getStringValue, null);
+			codecID = this.codecIDFallbackColumn.get(row);
 		}
 		var result = RemoteInboundRTP.newBuilder()
-				.setBrowserId(this.getValue(row, BROWSERID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setPeerConnectionUUID(this.getValue(row, PEER_CONNECTION_UUID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setMediaUnitId(this.getValue(row, MEDIA_UNIT_ID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setUserId(this.getValue(row, USER_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setSsrc(this.getValue(row, SSRC_FIELD_NAME, FieldValue::getLongValue, null))
+				.setBrowserId(this.browseridColumn.get(row))
+				.setPeerConnectionUUID(this.peerConnectionUuidColumn.get(row))
+				.setMediaUnitId(this.mediaUnitIdColumn.get(row))
+				.setUserId(this.userIdColumn.get(row))
+				.setSsrc(this.ssrcColumn.get(row))
 				.setRoundTripTime(RTT)
-				.setPacketsLost(this.getValue(row, PACKETSLOST_FIELD_NAME, this::getInteger, null))
-				.setJitter(this.getValue(row, JITTER_FIELD_NAME, this::getFloat, null))
+				.setPacketsLost(this.packetslostColumn.get(row))
+				.setJitter(this.jitterColumn.get(row))
 				.setCodecID(codecID)
-				.setMediaType(this.getValue(row, MEDIA_TYPE_FIELD_NAME, this::getMediaType, null))
-				.setTransportID(this.getValue(row, TRANSPORT_ID_FIELD_NAME, FieldValue::getStringValue, null))
+				.setMediaType(this.mediaTypeColumn.get(row))
+				.setTransportID(this.transportIdColumn.get(row))
 				//
 				;
 
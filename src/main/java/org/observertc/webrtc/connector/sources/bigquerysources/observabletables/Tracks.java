@@ -16,14 +16,12 @@
 
 package org.observertc.webrtc.connector.sources.bigquerysources.observabletables;
 
-import com.google.cloud.bigquery.FieldValue;
 import com.google.cloud.bigquery.FieldValueList;
 import org.observertc.webrtc.connector.common.BigQueryService;
+import org.observertc.webrtc.schemas.reports.MediaType;
 import org.observertc.webrtc.schemas.reports.ReportType;
 import org.observertc.webrtc.schemas.reports.Track;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 public class Tracks extends RecordMapperAbstract {
@@ -55,37 +53,32 @@ public class Tracks extends RecordMapperAbstract {
 
 
 
-	@Override
-	protected List<String> getPayloadFieldNames() {
-		List<String> result = new ArrayList<>();
-		result.add(PEER_CONNECTION_UUID_FIELD_NAME);
-		result.add(BROWSERID_FIELD_NAME);
-		result.add(MEDIA_UNIT_ID_FIELD_NAME);
-		result.add(USER_ID_FIELD_NAME);
-
-		result.add(TRACK_ID_FIELD_NAME);
-		result.add(CONCEALED_SAMPLES_FIELD_NAME);
-		result.add(CONCEALMENT_EVENTS_FIELD_NAME);
-		result.add(DETACHED_FIELD_NAME);
-		result.add(ENDED_FIELD_NAME);
-		result.add(FRAMES_DECODED_FIELD_NAME);
-		result.add(FRAMES_DROPPED_FIELD_NAME);
-		result.add(FRAMES_RECEIVED_FIELD_NAME);
-		result.add(FRAMES_SENT_FIELD_NAME);
-		result.add(HUGE_FRAMES_SENT_FIELD_NAME);
-		result.add(INSERTED_SAMPLES_FOR_DECELERATION_FIELD_NAME);
-		result.add(JITTER_BUFFER_DELAY_FIELD_NAME);
-		result.add(JITTER_BUFFER_EMITTED_COUNT_FIELD_NAME);
-		result.add(MEDIA_TYPE_FIELD_NAME);
-		result.add(REMOTE_SOURCE_FIELD_NAME);
-		result.add(REMOVED_SAMPLES_FOR_ACCELERATION_FIELD_NAME);
-		result.add(SILENT_CONCEALED_SAMPLES_FIELD_NAME);
-		result.add(TOTAL_SAMPLES_DURATION_FIELD_NAME);
-		result.add(TOTAL_SAMPLES_RECEIVED_FIELD_NAME);
-		result.add(MEDIA_SOURCE_ID_FIELD_NAME);
+	private final Column<Double> totalSamplesDurationColumn = this.doubleColumn(TOTAL_SAMPLES_DURATION_FIELD_NAME);
+	private final Column<Double> samplesDurationFallbackColumn = this.doubleColumn("samplesDuration");
+	private final Column<String> browseridColumn = this.stringColumn(BROWSERID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> peerConnectionUuidColumn = this.stringColumn(PEER_CONNECTION_UUID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> mediaUnitIdColumn = this.stringColumn(MEDIA_UNIT_ID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> userIdColumn = this.stringColumn(USER_ID_FIELD_NAME, null);
+	private final Column<String> trackIdColumn = this.stringColumn(TRACK_ID_FIELD_NAME, "NOT FOUND");
+	private final Column<Integer> concealedSamplesColumn = this.integerColumn(CONCEALED_SAMPLES_FIELD_NAME);
+	private final Column<Integer> concealmentEventsColumn = this.integerColumn(CONCEALMENT_EVENTS_FIELD_NAME);
+	private final Column<Boolean> detachedColumn = this.booleanColumn(DETACHED_FIELD_NAME);
+	private final Column<Boolean> endedColumn = this.booleanColumn(ENDED_FIELD_NAME);
+	private final Column<Integer> framesDecodedColumn = this.integerColumn(FRAMES_DECODED_FIELD_NAME);
+	private final Column<Integer> framesDroppedColumn = this.integerColumn(FRAMES_DROPPED_FIELD_NAME);
+	private final Column<Integer> framesReceivedColumn = this.integerColumn(FRAMES_RECEIVED_FIELD_NAME);
+	private final Column<Integer> framesSentColumn = this.integerColumn(FRAMES_SENT_FIELD_NAME);
+	private final Column<Integer> hugeFramesSentColumn = this.integerColumn(HUGE_FRAMES_SENT_FIELD_NAME);
+	private final Column<Integer> insertedSamplesForDecelerationColumn = this.integerColumn(INSERTED_SAMPLES_FOR_DECELERATION_FIELD_NAME);
+	private final Column<Double> jitterBufferDelayColumn = this.doubleColumn(JITTER_BUFFER_DELAY_FIELD_NAME);
+	private final Column<Integer> jitterBufferEmittedCountColumn = this.integerColumn(JITTER_BUFFER_EMITTED_COUNT_FIELD_NAME);
+	private final Column<MediaType> mediaTypeColumn = this.enumColumn(MEDIA_TYPE_FIELD_NAME, MediaType.class);
+	private final Column<Boolean> remoteSourceColumn = this.booleanColumn(REMOTE_SOURCE_FIELD_NAME);
+	private final Column<Integer> removedSamplesForAccelerationColumn = this.integerColumn(REMOVED_SAMPLES_FOR_ACCELERATION_FIELD_NAME);
+	private final Column<Integer> silentConcealedSamplesColumn = this.integerColumn(SILENT_CONCEALED_SAMPLES_FIELD_NAME);
+	private final Column<Integer> totalSamplesReceivedColumn = this.integerColumn(TOTAL_SAMPLES_RECEIVED_FIELD_NAME);
+	private final Column<String> mediaSourceIdColumn = this.stringColumn(MEDIA_SOURCE_ID_FIELD_NAME, null);
 
-		return result;
-	}
 	public Tracks(BigQueryService bigQueryService, String tableName) {
 		super(bigQueryService, tableName, ReportType.TRACK);
 	}
@@ -93,35 +86,35 @@ public class Tracks extends RecordMapperAbstract {
 	protected Object makePayload(FieldValueList row) {
 		// String type
 		// totalSamplesDuration
-		Double samplesDuration = this.getValue(row, TOTAL_SAMPLES_DURATION_FIELD_NAME, FieldValue::getDoubleValue, null);
+		Double samplesDuration = this.totalSamplesDurationColumn.get(row);
 		if (Objects.isNull(samplesDuration)) {
-			samplesDuration = this.getValue(row, "samplesDuration", FieldValue::getDoubleValue, null);
+			samplesDuration = this.samplesDurationFallbackColumn.get(row);
 		}
 		var result = Track.newBuilder()
-				.setBrowserId(this.getValue(row, BROWSERID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setPeerConnectionUUID(this.getValue(row, PEER_CONNECTION_UUID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setMediaUnitId(this.getValue(row, MEDIA_UNIT_ID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setUserId(this.getValue(row, USER_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setTrackId(this.getValue(row, TRACK_ID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setConcealedSamples(this.getValue(row, CONCEALED_SAMPLES_FIELD_NAME, this::getInteger, null))
-				.setConcealmentEvents(this.getValue(row, CONCEALMENT_EVENTS_FIELD_NAME, this::getInteger, null))
-				.setDetached(this.getValue(row, DETACHED_FIELD_NAME, FieldValue::getBooleanValue, null))
-				.setEnded(this.getValue(row, ENDED_FIELD_NAME, FieldValue::getBooleanValue, null))
-				.setFramesDecoded(this.getValue(row, FRAMES_DECODED_FIELD_NAME, this::getInteger, null))
-				.setFramesDropped(this.getValue(row, FRAMES_DROPPED_FIELD_NAME, this::getInteger, null))
-				.setFramesReceived(this.getValue(row, FRAMES_RECEIVED_FIELD_NAME, this::getInteger, null))
-				.setFramesSent(this.getValue(row, FRAMES_SENT_FIELD_NAME, this::getInteger, null))
-				.setHugeFramesSent(this.getValue(row, HUGE_FRAMES_SENT_FIELD_NAME, this::getInteger, null))
-				.setInsertedSamplesForDeceleration(this.getValue(row, INSERTED_SAMPLES_FOR_DECELERATION_FIELD_NAME, this::getInteger, null))
-				.setJitterBufferDelay(this.getValue(row, JITTER_BUFFER_DELAY_FIELD_NAME, FieldValue::getDoubleValue, null))
-				.setJitterBufferEmittedCount(this.getValue(row, JITTER_BUFFER_EMITTED_COUNT_FIELD_NAME, this::getInteger, null))
-				.setMediaType(this.getValue(row, MEDIA_TYPE_FIELD_NAME, this::getMediaType, null))
-				.setRemoteSource(this.getValue(row, REMOTE_SOURCE_FIELD_NAME, FieldValue::getBooleanValue, null))
-				.setRemovedSamplesForAcceleration(this.getValue(row, REMOVED_SAMPLES_FOR_ACCELERATION_FIELD_NAME, this::getInteger, null))
-				.setSilentConcealedSamples(this.getValue(row, SILENT_CONCEALED_SAMPLES_FIELD_NAME, this::getInteger, null))
+				.setBrowserId(this.browseridColumn.get(row))
+				.setPeerConnectionUUID(this.peerConnectionUuidColumn.get(row))
+				.setMediaUnitId(this.mediaUnitIdColumn.get(row))
+				.setUserId(this.userIdColumn.get(row))
+				.setTrackId(this.trackIdColumn.get(row))
+				.setConcealedSamples(this.concealedSamplesColumn.get(row))
+				.setConcealmentEvents(this.concealmentEventsColumn.get(row))
+				.setDetached(this.detachedColumn.get(row))
+				.setEnded(this.endedColumn.get(row))
+				.setFramesDecoded(this.framesDecodedColumn.get(row))
+				.setFramesDropped(this.framesDroppedColumn.get(row))
+				.setFramesReceived(this.framesReceivedColumn.get(row))
+				.setFramesSent(this.framesSentColumn.get(row))
+				.setHugeFramesSent(this.hugeFramesSentColumn.get(row))
+				.setInsertedSamplesForDeceleration(this.insertedSamplesForDecelerationColumn.get(row))
+				.setJitterBufferDelay(this.jitterBufferDelayColumn.get(row))
+				.setJitterBufferEmittedCount(this.jitterBufferEmittedCountColumn.get(row))
+				.setMediaType(this.mediaTypeColumn.get(row))
+				.setRemoteSource(this.remoteSourceColumn.get(row))
+				.setRemovedSamplesForAcceleration(this.removedSamplesForAccelerationColumn.get(row))
+				.setSilentConcealedSamples(this.silentConcealedSamplesColumn.get(row))
 				.setSamplesDuration(samplesDuration)
-				.setTotalSamplesReceived(this.getValue(row, TOTAL_SAMPLES_RECEIVED_FIELD_NAME, this::getInteger, null))
-				.setMediaSourceID(this.getValue(row, MEDIA_SOURCE_ID_FIELD_NAME, FieldValue::getStringValue, null))
+				.setTotalSamplesReceived(this.totalSamplesReceivedColumn.get(row))
+				.setMediaSourceID(this.mediaSourceIdColumn.get(row))
 				//
 				;
 		return result.build();
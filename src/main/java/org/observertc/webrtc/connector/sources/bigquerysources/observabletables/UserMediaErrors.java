@@ -16,15 +16,11 @@
 
 package org.observertc.webrtc.connector.sources.bigquerysources.observabletables;
 
-import com.google.cloud.bigquery.FieldValue;
 import com.google.cloud.bigquery.FieldValueList;
 import org.observertc.webrtc.connector.common.BigQueryService;
 import org.observertc.webrtc.schemas.reports.ReportType;
 import org.observertc.webrtc.schemas.reports.UserMediaError;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class UserMediaErrors extends RecordMapperAbstract {
 	public static final String PEER_CONNECTION_UUID_FIELD_NAME = "peerConnectionUUID";
 	public static final String BROWSERID_FIELD_NAME = "browserID";
@@ -32,16 +28,12 @@ public class UserMediaErrors extends RecordMapperAbstract {
 	public static final String USER_ID_FIELD_NAME = "userID";
 	public static final String MESSAGE_FIELD_NAME = "message";
 
-	@Override
-	protected List<String> getPayloadFieldNames() {
-		List<String> result = new ArrayList<>();
-		result.add(PEER_CONNECTION_UUID_FIELD_NAME);
-		result.add(BROWSERID_FIELD_NAME);
-		result.add(MEDIA_UNIT_ID_FIELD_NAME);
-		result.add(USER_ID_FIELD_NAME);
-		result.add(MESSAGE_FIELD_NAME);
-		return result;
-	}
+	private final Column<String> browseridColumn = this.stringColumn(BROWSERID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> peerConnectionUuidColumn = this.stringColumn(PEER_CONNECTION_UUID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> mediaUnitIdColumn = this.stringColumn(MEDIA_UNIT_ID_FIELD_NAME, "NOT FOUND");
+	private final Column<String> userIdColumn = this.stringColumn(USER_ID_FIELD_NAME, null);
+	private final Column<String> messageColumn = this.stringColumn(MESSAGE_FIELD_NAME, "NOT FOUND");
+
 	public UserMediaErrors(BigQueryService bigQueryService, String tableName) {
 		super(bigQueryService, tableName, ReportType.USER_MEDIA_ERROR);
 	}
@@ -49,11 +41,11 @@ public class UserMediaErrors extends RecordMapperAbstract {
 	protected Object makePayload(FieldValueList row) {
 		// String type
 		var result = UserMediaError.newBuilder()
-				.setBrowserId(this.getValue(row, BROWSERID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setPeerConnectionUUID(this.getValue(row, PEER_CONNECTION_UUID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setMediaUnitId(this.getValue(row, MEDIA_UNIT_ID_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
-				.setUserId(this.getValue(row, USER_ID_FIELD_NAME, FieldValue::getStringValue, null))
-				.setMessage(this.getValue(row, MESSAGE_FIELD_NAME, FieldValue::getStringValue, "NOT FOUND"))
+				.setBrowserId(this.browseridColumn.get(row))
+				.setPeerConnectionUUID(this.peerConnectionUuidColumn.get(row))
+				.setMediaUnitId(this.mediaUnitIdColumn.get(row))
+				.setUserId(this.userIdColumn.get(row))
+				.setMessage(this.messageColumn.get(row))
 				//
 				;
 		return result.build();
@@ -0,0 +1,150 @@
+package org.observertc.webrtc.connector.sources.file;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Tracks how far the files have been read and written by the sink, and persists it into a checkpoint file,
+ * so a restarted source continues the files where it has stopped.
+ *
+ * <p>The offset of a file is a position in bytes, or the number of records in case of a split container.
+ * The messages of a file are written by the lanes in any order, hence the checkpoint of a file is
+ * moved only if all the previous messages of that file have been written.
+ *
+ * <p>The checkpoint file is a JSON object of the absolute paths and their offsets. It is replaced atomically
+ * in every persist interval, and once all the messages are written after the source has completed.
+ * The offsets of the files deleted are dropped when they are persisted, so the checkpoints hold only
+ * the files present in the directory.
+ */
+class Checkpoints {
+    private static final Logger logger = LoggerFactory.getLogger(Checkpoints.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Path file;
+    private final long persistIntervalInNanos;
+    private final Map<String, Long> offsets;
+    private final Map<byte[], Entry> entries = new IdentityHashMap<>();
+    private final Map<String, Deque<Entry>> files = new HashMap<>();
+    private long nextPersist;
+    private boolean changed = false;
+    private boolean completed = false;
+
+    static Checkpoints load(Path file, Duration persistInterval) throws IOException {
+        Map<String, Long> offsets = new HashMap<>();
+        if (Files.exists(file)) {
+            offsets.putAll(OBJECT_MAPPER.readValue(file.toFile(), new TypeReference<Map<String, Long>>() {}));
+        }
+        return new Checkpoints(file, persistInterval, offsets);
+    }
+
+    private Checkpoints(Path file, Duration persistInterval, Map<String, Long> offsets) {
+        this.file = file;
+        this.persistIntervalInNanos = persistInterval.toNanos();
+        this.offsets = offsets;
+        this.nextPersist = System.nanoTime() + this.persistIntervalInNanos;
+    }
+
+    /**
+     * @return the offset of the file the sink has written the messages until, or 0 if it has no checkpoint
+     */
+    synchronized long get(Path path) {
+        return this.offsets.getOrDefault(toKey(path), 0L);
+    }
+
+    /**
+     * @param offset the offset of the file right after the message
+     */
+    synchronized void emitted(byte[] message, Path path, long offset) {
+        String key = toKey(path);
+        Entry entry = new Entry(key, offset);
+        this.files.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(entry);
+        this.entries.put(message, entry);
+    }
+
+    synchronized void written(List<byte[]> messages) {
+        for (byte[] message : messages) {
+            Entry entry = this.entries.remove(message);
+            if (Objects.isNull(entry)) {
+                continue;
+            }
+            entry.written = true;
+            Deque<Entry> entries = this.files.get(entry.key);
+            Entry last = null;
+            while (!entries.isEmpty() && entries.peekFirst().written) {
+                last = entries.pollFirst();
+            }
+            if (entries.isEmpty()) {
+                this.files.remove(entry.key);
+            }
+            if (Objects.nonNull(last)) {
+                this.offsets.put(last.key, last.offset);
+                this.changed = true;
+            }
+        }
+        if ((this.completed && this.entries.isEmpty()) || 0 <= System.nanoTime() - this.nextPersist) {
+            this.persist();
+        }
+    }
+
+    /**
+     * Called when the source has emitted all of its messages, the checkpoints are persisted once all of them are written
+     */
+    synchronized void completed() {
+        this.completed = true;
+        if (this.entries.isEmpty()) {
+            this.persist();
+        }
+    }
+
+    synchronized void persist() {
+        this.nextPersist = System.nanoTime() + this.persistIntervalInNanos;
+        // a deleted file is not read again, unless a file is created with the same name
+        this.changed |= this.offsets.keySet().removeIf(key -> !this.files.containsKey(key) && Files.notExists(Path.of(key)));
+        if (!this.changed) {
+            return;
+        }
+        Path temporary = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        try {
+            OBJECT_MAPPER.writeValue(temporary.toFile(), new TreeMap<>(this.offsets));
+            Files.move(temporary, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.changed = false;
+        } catch (IOException ex) {
+            logger.warn("Cannot persist checkpoints into {}", this.file, ex);
+        }
+    }
+
+    Duration getPersistInterval() {
+        return Duration.ofNanos(this.persistIntervalInNanos);
+    }
+
+    private static String toKey(Path path) {
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    private static class Entry {
+        final String key;
+        final long offset;
+        boolean written = false;
+
+        Entry(String key, long offset) {
+            this.key = key;
+            this.offset = offset;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.observertc.webrtc.connector.sources.file;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Reads an avro object container file of reports record by record, and gives every record
+ * as an avro single object encoded message, so the file is never loaded entirely.
+ *
+ * <p>If the container is written with the report schema the connector is built with, the records are copied
+ * from the decompressed blocks without decoding them. Otherwise the records are resolved to the report schema
+ * and encoded again.
+ *
+ * <p>Not thread safe.
+ */
+class ContainerFileReader implements Closeable {
+    private static final byte[] CONTAINER_MAGIC = new byte[]{(byte) 'O', (byte) 'b', (byte) 'j', (byte) 1};
+    private static final int SINGLE_OBJECT_HEADER_LENGTH = 10;
+
+    private final DataFileStream<Report> container;
+    private final boolean copyRecords;
+    private final byte[] header;
+    private final BinaryMessageEncoder<Report> encoder = Report.getEncoder();
+    private Report reuse = null;
+    private BinaryDecoder decoder = null;
+    private ByteArrayInputStream block = null;
+    private byte[] blockArray = null;
+    private int blockOffset = 0;
+    private int blockLength = 0;
+    private long blockRemaining = 0;
+
+    static boolean isContainer(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(CONTAINER_MAGIC.length);
+            while (magic.hasRemaining() && 0 <= channel.read(magic)) {
+            }
+            return Arrays.equals(magic.array(), CONTAINER_MAGIC);
+        }
+    }
+
+    ContainerFileReader(Path path) throws IOException {
+        InputStream input = new BufferedInputStream(Channels.newInputStream(FileChannel.open(path, StandardOpenOption.READ)));
+        try {
+            this.container = new DataFileStream<>(input, new SpecificDatumReader<>(Report.class));
+        } catch (IOException ex) {
+            input.close();
+            throw ex;
+        }
+        Schema writerSchema = this.container.getSchema();
+        this.copyRecords = SchemaNormalization.parsingFingerprint64(writerSchema) ==
+                SchemaNormalization.parsingFingerprint64(Report.getClassSchema());
+        this.header = makeSingleObjectHeader(writerSchema);
+    }
+
+    /**
+     * @return the next record as an avro single object encoded message, or null if the file has no more records
+     */
+    byte[] next() throws IOException {
+        if (!this.copyRecords) {
+            if (!this.container.hasNext()) {
+                return null;
+            }
+            this.reuse = this.container.next(this.reuse);
+            ByteBuffer encoded = this.encoder.encode(this.reuse);
+            return Arrays.copyOfRange(encoded.array(), encoded.arrayOffset() + encoded.position(),
+                    encoded.arrayOffset() + encoded.limit());
+        }
+        if (this.blockRemaining < 1 && !this.loadBlock()) {
+            return null;
+        }
+        // the direct decoder reads no more from the block than the record, so the record ends where the block stands
+        int start = this.blockLength - this.block.available();
+        GenericDatumReader.skip(this.container.getSchema(), this.decoder);
+        int length = this.blockLength - this.block.available() - start;
+        --this.blockRemaining;
+        byte[] result = new byte[SINGLE_OBJECT_HEADER_LENGTH + length];
+        System.arraycopy(this.header, 0, result, 0, SINGLE_OBJECT_HEADER_LENGTH);
+        System.arraycopy(this.blockArray, this.blockOffset + start, result, SINGLE_OBJECT_HEADER_LENGTH, length);
+        return result;
+    }
+
+    /**
+     * Skips the given number of records, the blocks entirely skipped are not even decompressed
+     */
+    void skip(long records) throws IOException {
+        long remaining = records;
+        while (0 < remaining) {
+            if (!this.copyRecords) {
+                if (!this.container.hasNext()) {
+                    return;
+                }
+                this.reuse = this.container.next(this.reuse);
+                --remaining;
+                continue;
+            }
+            if (this.blockRemaining < 1) {
+                if (!this.container.hasNext()) {
+                    return;
+                }
+                if (this.container.getBlockCount() <= remaining) {
+                    remaining -= this.container.getBlockCount();
+                    this.container.nextBlock();
+                    continue;
+                }
+                this.loadBlock();
+            }
+            GenericDatumReader.skip(this.container.getSchema(), this.decoder);
+            --this.blockRemaining;
+            --remaining;
+        }
+    }
+
+    private boolean loadBlock() throws IOException {
+        while (this.blockRemaining < 1) {
+            if (!this.container.hasNext()) {
+                return false;
+            }
+            this.blockRemaining = this.container.getBlockCount();
+            ByteBuffer buffer = this.container.nextBlock();
+            this.blockArray = buffer.array();
+            this.blockOffset = buffer.arrayOffset() + buffer.position();
+            this.blockLength = buffer.remaining();
+            this.block = new ByteArrayInputStream(this.blockArray, this.blockOffset, this.blockLength);
+            this.decoder = DecoderFactory.get().directBinaryDecoder(this.block, this.decoder);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.container.close();
+    }
+
+    private static byte[] makeSingleObjectHeader(Schema schema) {
+        long fingerprint = SchemaNormalization.parsingFingerprint64(schema);
+        byte[] result = new byte[SINGLE_OBJECT_HEADER_LENGTH];
+        result[0] = (byte) 0xC3;
+        result[1] = (byte) 0x01;
+        for (int i = 0; i < 8; ++i) {
+            result[2 + i] = (byte) (fingerprint >>> (8 * i));
+        }
+        return result;
+    }
+}
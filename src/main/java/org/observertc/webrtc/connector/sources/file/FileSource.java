@@ -1,53 +1,203 @@
 package org.observertc.webrtc.connector.sources.file;
 
-import io.reactivex.rxjava3.annotations.NonNull;
-import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableEmitter;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.processors.FlowableProcessor;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import org.observertc.webrtc.connector.sources.Source;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
+/**
+ * Emits the content of every file under a directory as a message.
+ *
+ * <p>If parallelism is more than 1, the entries of the directory (the subdirectories with all of their files)
+ * are walked and read in parallel, and at most readAhead messages are read ahead of the downstream for each of them.
+ * The messages of an entry are emitted in the order they are read, and the entries follow each other.
+ *
+ * <p>If splitContainers is set, avro object container files are read record by record, and every record
+ * is emitted as an avro single object encoded message.
+ *
+ * <p>If watch is set, the source does not complete after the directory is walked, it reads the new files,
+ * and the records appended to the split containers already read. A file not split is read only once it
+ * has not been modified for the quiet period, so a file still being written is emitted as a whole, not in parts.
+ * The changes are notified by the file system if it can, and the directory is walked again in every poll interval regardless.
+ *
+ * <p>If a checkpoint file is given, the offsets of the files written by the sink are persisted into it,
+ * and the files are read from these offsets when the source starts.
+ */
 public class FileSource extends Source {
+    // the largest array the JVM allocates
+    private static final long MAX_MESSAGE_SIZE = Integer.MAX_VALUE - 8;
+
     private String path;
+    private int parallelism = 1;
+    private int readAhead = 16;
+    private boolean splitContainers = false;
+    private boolean watch = false;
+    private int pollIntervalInS = 60;
+    private int quietPeriodInS = 5;
+    private Checkpoints checkpoints = null;
+    // the files modified within the quiet period, walked again when it is over
+    private final FlowableProcessor<Path> rechecks = PublishProcessor.<Path>create().toSerialized();
+    private final Set<Path> scheduledRechecks = ConcurrentHashMap.newKeySet();
+    // the offsets the files are read until, tracked only if the source watches the files or persists checkpoints,
+    // the offsets of a walk are kept only while the file is read, and the watched files are kept until they are deleted
+    private final Map<Path, Long> readOffsets = new ConcurrentHashMap<>();
 
     public FileSource() {
 
     }
 
     @Override
-    protected Observable<byte[]> makeObservable() {
-        return new Observable<byte[]>() {
-            @Override
-            protected void subscribeActual(@NonNull Observer<? super byte[]> observer) {
-                try (Stream<Path> paths = Files.walk(Paths.get(path))) {
-                    paths
-                            .filter(Files::isRegularFile)
-                            .map(Path::toFile)
-                            .map(FileSource.this::read)
-                            .filter(Objects::nonNull)
-                            .forEach(observer::onNext);
-                } catch (IOException e) {
-                    observer.onError(e);
-                }
-                observer.onComplete();
+    protected Flowable<byte[]> makeFlowable() {
+        Path root = Paths.get(this.path);
+        Flowable<byte[]> result;
+        if (this.parallelism < 2) {
+            result = this.walk(root);
+        } else {
+            // the stream of the entries is closed at the end of the listing, as the walks are
+            result = Flowable.defer(() -> Flowable.fromStream(Files.list(root)))
+                    .concatMapEager(entry -> this.walk(entry).subscribeOn(Schedulers.io()), this.parallelism, this.readAhead);
+        }
+        if (!this.watch) {
+            if (Objects.isNull(this.checkpoints)) {
+                return result;
+            }
+            return result.doOnComplete(this.checkpoints::completed);
+        }
+        Flowable<Path> polls = Flowable.interval(this.pollIntervalInS, this.pollIntervalInS, TimeUnit.SECONDS)
+                .doOnNext(tick -> this.readOffsets.keySet().removeIf(Files::notExists))
+                .map(tick -> root)
+                .onBackpressureDrop();
+        Flowable<Path> changes = this.watchChanges(root)
+                .onErrorResumeNext(error -> {
+                    logger.warn("Changes of {} cannot be watched, it is walked in every {}s", root, this.pollIntervalInS, error);
+                    return Flowable.never();
+                });
+        Flowable<Path> persists = Flowable.empty();
+        if (Objects.nonNull(this.checkpoints)) {
+            long persistIntervalInMs = this.checkpoints.getPersistInterval().toMillis();
+            persists = Flowable.interval(persistIntervalInMs, persistIntervalInMs, TimeUnit.MILLISECONDS)
+                    .doOnNext(tick -> this.checkpoints.persist())
+                    .ignoreElements()
+                    .toFlowable();
+        }
+        return result.concatWith(Flowable.merge(changes, polls, this.rechecks.onBackpressureBuffer(), persists)
+                // a changed file is walked as well, that gives the file itself
+                .concatMap(changed -> this.walk(changed).onErrorResumeNext(error -> {
+                    logger.warn("Exception occurred while walking {}", changed, error);
+                    return Flowable.empty();
+                }), 1));
+    }
+
+    @Override
+    public boolean isAcknowledging() {
+        return Objects.nonNull(this.checkpoints);
+    }
+
+    @Override
+    public void acknowledge(List<byte[]> messages) {
+        this.checkpoints.written(messages);
+    }
+
+    private Flowable<byte[]> walk(Path path) {
+        // files are read only when the downstream requests them, the stream is closed at the end of the walk
+        return Flowable.defer(() -> Flowable.fromStream(Files.walk(path)))
+                .filter(Files::isRegularFile)
+                .concatMap(file -> this.read(file).doFinally(() -> this.evictReadOffset(file)), 1);
+    }
+
+    private Flowable<byte[]> read(Path file) {
+        try {
+            if (this.splitContainers && ContainerFileReader.isContainer(file)) {
+                return this.readRecords(file);
+            }
+            if (this.watch && !this.isQuiet(file)) {
+                return Flowable.empty();
             }
-        };
+        } catch (IOException ex) {
+            logger.warn("Exception occurred while reading file {}", file, ex);
+            return Flowable.empty();
+        }
+        return Maybe.fromCallable(() -> this.readFrom(file)).toFlowable();
     }
 
-    private byte[] read(File file) {
-        byte[] result = null;
-        try (InputStream inputStream = new FileInputStream(file)) {
-            long fileSize = file.length();
-            result = new byte[(int) fileSize];
-            inputStream.read(result);
+    private Flowable<byte[]> readRecords(Path file) {
+        long skipped = this.getReadOffset(file);
+        return Flowable.generate(() -> {
+            ContainerFileReader reader = new ContainerFileReader(file);
+            reader.skip(skipped);
+            return reader;
+        }, (reader, emitter) -> {
+            byte[] record;
+            try {
+                record = reader.next();
+            } catch (IOException ex) {
+                logger.warn("Exception occurred while reading container file {}, the rest of the file is skipped", file, ex);
+                record = null;
+            }
+            if (Objects.isNull(record)) {
+                emitter.onComplete();
+                return;
+            }
+            this.setReadOffset(file, this.getReadOffset(file) + 1, record);
+            emitter.onNext(record);
+        }, ContainerFileReader::close);
+    }
+
+    /**
+     * @return the content of the file from its read offset, or null if it has nothing to read or it cannot be read
+     */
+    private byte[] readFrom(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long offset = this.getReadOffset(file);
+            if (fileSize < offset) {
+                logger.info("File {} is shorter than it has been read, it is read again from the beginning", file);
+                offset = 0;
+            }
+            if (fileSize - offset < 1) {
+                return null;
+            }
+            if (MAX_MESSAGE_SIZE < fileSize - offset) {
+                logger.warn("File {} has {} bytes to read, it is too large to be one message", file, fileSize - offset);
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) (fileSize - offset));
+            channel.position(offset);
+            while (buffer.hasRemaining() && 0 <= channel.read(buffer)) {
+                // a read can return fewer bytes than requested
+            }
+            byte[] result = buffer.array();
+            if (buffer.hasRemaining()) {
+                logger.warn("File {} has been truncated while reading it, {} bytes are read", file, buffer.position());
+                result = Arrays.copyOf(result, buffer.position());
+            }
+            this.setReadOffset(file, offset + result.length, result);
             return result;
         } catch (IOException ex) {
             logger.warn("Exception occurred while reading file {}", file, ex);
@@ -55,8 +205,136 @@ public class FileSource extends Source {
         }
     }
 
+    /**
+     * @return true if the file has not been modified for the quiet period, otherwise it is walked again when the period is over
+     */
+    private boolean isQuiet(Path file) throws IOException {
+        long quietPeriodInMs = TimeUnit.SECONDS.toMillis(this.quietPeriodInS);
+        long sinceModifiedInMs = System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis();
+        if (quietPeriodInMs <= sinceModifiedInMs) {
+            return true;
+        }
+        if (this.scheduledRechecks.add(file)) {
+            Schedulers.computation().scheduleDirect(() -> {
+                this.scheduledRechecks.remove(file);
+                this.rechecks.onNext(file);
+            }, quietPeriodInMs - sinceModifiedInMs, TimeUnit.MILLISECONDS);
+        }
+        return false;
+    }
+
+    private long getReadOffset(Path file) {
+        if (!this.watch && Objects.isNull(this.checkpoints)) {
+            return 0L;
+        }
+        return this.readOffsets.computeIfAbsent(file, f -> Objects.isNull(this.checkpoints) ? 0L : this.checkpoints.get(f));
+    }
+
+    private void setReadOffset(Path file, long offset, byte[] message) {
+        if (!this.watch && Objects.isNull(this.checkpoints)) {
+            return;
+        }
+        this.readOffsets.put(file, offset);
+        if (Objects.nonNull(this.checkpoints)) {
+            this.checkpoints.emitted(message, file, offset);
+        }
+    }
+
+    /**
+     * A walked file is read once, its offset is tracked by the checkpoints from now on
+     */
+    private void evictReadOffset(Path file) {
+        if (!this.watch) {
+            this.readOffsets.remove(file);
+        }
+    }
+
+    /**
+     * Emits the changed files and the created directories under the root, or the root itself if events are lost
+     */
+    private Flowable<Path> watchChanges(Path root) {
+        return Flowable.<Path>create(emitter -> {
+            try (WatchService watchService = root.getFileSystem().newWatchService()) {
+                emitter.setCancellable(watchService::close);
+                Map<WatchKey, Path> directories = new HashMap<>();
+                this.register(watchService, root, directories);
+                // changes made before the registration are found by walking the root once more
+                emitter.onNext(root);
+                this.pollEvents(watchService, root, directories, emitter);
+            } catch (ClosedWatchServiceException ex) {
+                // the subscription is cancelled
+            }
+        }, BackpressureStrategy.BUFFER).subscribeOn(Schedulers.io());
+    }
+
+    private void pollEvents(WatchService watchService, Path root, Map<WatchKey, Path> directories,
+                            FlowableEmitter<Path> emitter) throws IOException, InterruptedException {
+        while (!emitter.isCancelled()) {
+            WatchKey key = watchService.take();
+            Path directory = directories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (StandardWatchEventKinds.OVERFLOW.equals(event.kind()) || Objects.isNull(directory)) {
+                    emitter.onNext(root);
+                    continue;
+                }
+                Path changed = directory.resolve((Path) event.context());
+                if (Files.isDirectory(changed)) {
+                    this.register(watchService, changed, directories);
+                }
+                emitter.onNext(changed);
+            }
+            if (!key.reset()) {
+                directories.remove(key);
+            }
+        }
+    }
+
+    private void register(WatchService watchService, Path directory, Map<WatchKey, Path> directories) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.filter(Files::isDirectory)::iterator) {
+                WatchKey key = path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                directories.put(key, path);
+            }
+        }
+    }
+
     FileSource setPath(String path) {
         this.path = path;
         return this;
     }
+
+    FileSource setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    FileSource setReadAhead(int readAhead) {
+        this.readAhead = readAhead;
+        return this;
+    }
+
+    FileSource setSplitContainers(boolean splitContainers) {
+        this.splitContainers = splitContainers;
+        return this;
+    }
+
+    FileSource setWatch(boolean watch) {
+        this.watch = watch;
+        return this;
+    }
+
+    FileSource setPollIntervalInS(int pollIntervalInS) {
+        this.pollIntervalInS = pollIntervalInS;
+        return this;
+    }
+
+    FileSource setQuietPeriodInS(int quietPeriodInS) {
+        this.quietPeriodInS = quietPeriodInS;
+        return this;
+    }
+
+    FileSource withCheckpoints(Checkpoints checkpoints) {
+        this.checkpoints = checkpoints;
+        return this;
+    }
 }
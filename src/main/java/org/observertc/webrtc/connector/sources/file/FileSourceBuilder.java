@@ -7,8 +7,13 @@ import org.observertc.webrtc.connector.sources.Source;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Objects;
 
 @Prototype
 public class FileSourceBuilder extends AbstractBuilder implements Builder<Source> {
@@ -24,8 +29,22 @@ public class FileSourceBuilder extends AbstractBuilder implements Builder<Source
             logger.error("The given path ({}) for a FileSource is not exists or it is not a directory", config.path);
             return null;
         }
+        if (Objects.nonNull(config.checkpointFile)) {
+            try {
+                result.withCheckpoints(Checkpoints.load(Paths.get(config.checkpointFile), Duration.ofSeconds(config.checkpointIntervalInS)));
+            } catch (IOException ex) {
+                logger.error("Cannot load the checkpoints of a FileSource from {}", config.checkpointFile, ex);
+                return null;
+            }
+        }
         return result
                 .setPath(config.path)
+                .setParallelism(config.parallelism)
+                .setReadAhead(config.readAhead)
+                .setSplitContainers(config.splitContainers)
+                .setWatch(config.watch)
+                .setPollIntervalInS(config.pollIntervalInS)
+                .setQuietPeriodInS(config.quietPeriodInS)
                 ;
     }
 
@@ -34,6 +53,49 @@ public class FileSourceBuilder extends AbstractBuilder implements Builder<Source
 
         @NotNull
         public String path;
+
+        /**
+         * The number of entries (subdirectories or files) of the path walked and read in parallel
+         */
+        @Min(1)
+        public int parallelism = 1;
+
+        /**
+         * The maximum number of messages read ahead for every entry walked in parallel
+         */
+        @Min(1)
+        public int readAhead = 16;
+
+        /**
+         * Avro object container files are read record by record, and every record is a message
+         */
+        public boolean splitContainers = false;
+
+        /**
+         * The source keeps reading the new and the appended files instead of completing after the path is walked
+         */
+        public boolean watch = false;
+
+        /**
+         * The path is walked again in every poll interval if the source watches it, in case changes are not notified
+         */
+        @Min(1)
+        public int pollIntervalInS = 60;
+
+        /**
+         * A watched file not split into records is read only if it has not been modified for this period,
+         * so a file being written is read once it is complete
+         */
+        @Min(0)
+        public int quietPeriodInS = 5;
+
+        /**
+         * The file the offsets of the files written by the sink are persisted into, it must not be under the path
+         */
+        public String checkpointFile = null;
+
+        @Min(1)
+        public int checkpointIntervalInS = 10;
     }
 
 }
@@ -0,0 +1,255 @@
+package org.observertc.webrtc.connector.sources.jdbc;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.apache.avro.Schema;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record2;
+import org.jooq.Table;
+import org.jooq.conf.ParamType;
+import org.jooq.impl.DSL;
+import org.observertc.webrtc.connector.sources.Source;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.observertc.webrtc.schemas.reports.ReportType;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Replays the reports from the tables the JDBCSink has written.
+ *
+ * <p>A table is read in the order of its auto increment key (keyset pagination), a page is the next pageSize rows
+ * after the last key read, so every page is found by the index of the key, however far the table has been read.
+ * The rows of a page are fetched by a server side cursor, fetchSize rows at a time. PostgreSQL uses a cursor
+ * inside a transaction, MySQL uses one if the connection has useCursorFetch=true.
+ *
+ * <p>The keys of a table from the first to the last one present when the table is planned are split into
+ * parallelism ranges, and at most parallelism ranges of the tables are read at the same time.
+ */
+public class JDBCSource extends Source {
+    private final DataSource dataSource;
+    private final Supplier<DSLContext> contextSupplier;
+    private final List<Route> routes = new ArrayList<>();
+    private int parallelism = 1;
+    private int pageSize = 10000;
+    private int fetchSize = 1000;
+
+    public JDBCSource(DataSource dataSource, Supplier<DSLContext> contextSupplier) {
+        this.dataSource = dataSource;
+        this.contextSupplier = contextSupplier;
+    }
+
+    @Override
+    protected Flowable<byte[]> makeFlowable() {
+        var encoder = Report.getEncoder();
+        return this.makeReports().map(encoder::encode).map(ByteBuffer::array);
+    }
+
+    /**
+     * The reports made from the rows are handed over to the pipeline as they are, so they are not encoded and decoded again
+     */
+    @Override
+    public boolean isEmittingReports() {
+        return true;
+    }
+
+    @Override
+    protected Flowable<Report> makeReports() {
+        // tables are planned only when a reader can read their rows
+        return Flowable.fromIterable(this.routes)
+                .flatMap(route -> Flowable.defer(() -> Flowable.fromIterable(this.split(route)))
+                        .subscribeOn(Schedulers.io()), this.parallelism)
+                .flatMap(range -> this.read(range).subscribeOn(Schedulers.io()), this.parallelism);
+    }
+
+    private List<Range> split(Route route) {
+        Record2<Long, Long> bounds = this.contextSupplier.get()
+                .select(DSL.min(route.key), DSL.max(route.key))
+                .from(route.table)
+                .fetchOne();
+        List<Range> result = new ArrayList<>();
+        if (Objects.isNull(bounds) || Objects.isNull(bounds.value1())) {
+            logger.info("Table {} has no rows to replay", route.table.getName());
+            return result;
+        }
+        long first = bounds.value1();
+        long last = bounds.value2();
+        long step = (last - first) / this.parallelism + 1;
+        for (long from = first; from <= last; from += step) {
+            result.add(new Range(route, from - 1, Math.min(from + step - 1, last)));
+        }
+        logger.info("Table {} is replayed from key {} to {} in {} ranges", route.table.getName(), first, last, result.size());
+        return result;
+    }
+
+    private Flowable<Report> read(Range range) {
+        return Flowable.generate(() -> new RangeReader(range), (reader, emitter) -> {
+            Report report = reader.next();
+            if (Objects.isNull(report)) {
+                emitter.onComplete();
+                return;
+            }
+            emitter.onNext(report);
+        }, RangeReader::close);
+    }
+
+    JDBCSource withRoute(ReportType reportType, Table<?> table, String keyName, Schema payloadSchema) {
+        List<String> tableColumns = new ArrayList<>();
+        Field<?> keyField = null;
+        for (Field<?> field : table.fields()) {
+            tableColumns.add(field.getName());
+            if (field.getName().equalsIgnoreCase(keyName)) {
+                keyField = field;
+            }
+        }
+        if (Objects.isNull(keyField)) {
+            throw new IllegalArgumentException("Table " + table.getName() + " does not have the key " + keyName);
+        }
+        tableColumns.remove(keyField.getName());
+        ReportRowReader reader = new ReportRowReader(reportType, payloadSchema, tableColumns);
+        Field<Long> key = DSL.field(DSL.name(keyField.getName()), Long.class);
+        List<Field<?>> fields = new ArrayList<>();
+        for (String column : reader.getColumns()) {
+            fields.add(DSL.field(DSL.name(column)));
+        }
+        // the key is selected after the columns of the reader
+        fields.add(key);
+        String selectSQL = this.contextSupplier.get()
+                .select(fields)
+                .from(table)
+                .where(key.gt(DSL.val(0L)).and(key.le(DSL.val(0L))))
+                .orderBy(key)
+                .limit(DSL.inline(this.pageSize))
+                .getSQL(ParamType.INDEXED);
+        this.routes.add(new Route(table, key, reader, selectSQL));
+        return this;
+    }
+
+    JDBCSource withParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Must be set before the routes are added
+     */
+    JDBCSource withPageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    JDBCSource withFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    private static class Route {
+        final Table<?> table;
+        final Field<Long> key;
+        final ReportRowReader reader;
+        final String selectSQL;
+
+        Route(Table<?> table, Field<Long> key, ReportRowReader reader, String selectSQL) {
+            this.table = table;
+            this.key = key;
+            this.reader = reader;
+            this.selectSQL = selectSQL;
+        }
+    }
+
+    private static class Range {
+        final Route route;
+        // the key right before the range
+        final long after;
+        // the last key of the range
+        final long last;
+
+        Range(Route route, long after, long last) {
+            this.route = route;
+            this.after = after;
+            this.last = last;
+        }
+    }
+
+    /**
+     * Reads the pages of a range on one connection, every page is read in its own transaction
+     */
+    private class RangeReader {
+        private final Range range;
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final Object[] values;
+        private final int keyIndex;
+        private ResultSet resultSet = null;
+        private long lastKey;
+        private int rowsOfPage = 0;
+
+        RangeReader(Range range) throws SQLException {
+            this.range = range;
+            this.lastKey = range.after;
+            this.values = new Object[range.route.reader.getColumns().size()];
+            this.keyIndex = this.values.length + 1;
+            this.connection = dataSource.getConnection();
+            try {
+                // cursors are used only in transactions
+                this.connection.setAutoCommit(false);
+                this.statement = this.connection.prepareStatement(range.route.selectSQL);
+                this.statement.setFetchSize(fetchSize);
+            } catch (SQLException ex) {
+                this.connection.close();
+                throw ex;
+            }
+        }
+
+        /**
+         * @return the report of the next row, or null if the range has been read
+         */
+        Report next() throws SQLException {
+            while (Objects.isNull(this.resultSet) || !this.resultSet.next()) {
+                if (Objects.nonNull(this.resultSet)) {
+                    this.resultSet.close();
+                    this.resultSet = null;
+                    this.connection.commit();
+                    if (this.rowsOfPage < pageSize) {
+                        return null;
+                    }
+                }
+                this.statement.setLong(1, this.lastKey);
+                this.statement.setLong(2, this.range.last);
+                this.resultSet = this.statement.executeQuery();
+                this.rowsOfPage = 0;
+            }
+            ++this.rowsOfPage;
+            this.lastKey = this.resultSet.getLong(this.keyIndex);
+            return this.range.route.reader.read(this.resultSet, this.values);
+        }
+
+        void close() {
+            try {
+                if (Objects.nonNull(this.resultSet)) {
+                    this.resultSet.close();
+                }
+                this.statement.close();
+                this.connection.rollback();
+                this.connection.setAutoCommit(true);
+            } catch (SQLException ex) {
+                logger.warn("Exception occurred while closing the reader of table {}", this.range.route.table.getName(), ex);
+            } finally {
+                try {
+                    this.connection.close();
+                } catch (SQLException ex) {
+                    logger.warn("Cannot close the connection of table {}", this.range.route.table.getName(), ex);
+                }
+            }
+        }
+    }
+}
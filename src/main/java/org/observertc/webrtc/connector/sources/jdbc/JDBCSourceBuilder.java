@@ -0,0 +1,235 @@
+package org.observertc.webrtc.connector.sources.jdbc;
+
+import io.micronaut.context.annotation.Prototype;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.observertc.webrtc.connector.Application;
+import org.observertc.webrtc.connector.common.DatasourceProvider;
+import org.observertc.webrtc.connector.configbuilders.AbstractBuilder;
+import org.observertc.webrtc.connector.configbuilders.Builder;
+import org.observertc.webrtc.connector.databases.jdbc.TableInfoConfig;
+import org.observertc.webrtc.connector.databases.jdbc.version1.JOOQSchemaMapper;
+import org.observertc.webrtc.connector.databases.jdbc.version1.MYSQLSchemaMapper;
+import org.observertc.webrtc.connector.databases.jdbc.version1.PSQLSchemaMapper;
+import org.observertc.webrtc.connector.sources.Source;
+import org.observertc.webrtc.schemas.reports.ReportType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+@Prototype
+public class JDBCSourceBuilder extends AbstractBuilder implements Builder<Source> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JDBCSourceBuilder.class);
+    private final Map<ReportType, TableInfoConfig> tableConfigs;
+
+    public JDBCSourceBuilder() {
+        this.tableConfigs = new HashMap<>();
+    }
+
+    @Override
+    public Source build() {
+        Config config = this.convertAndValidate(Config.class);
+        this.tableConfigs.put(ReportType.INITIATED_CALL, config.initiatedCallsTable);
+        this.tableConfigs.put(ReportType.FINISHED_CALL, config.finishedCallsTable);
+        this.tableConfigs.put(ReportType.JOINED_PEER_CONNECTION, config.joinedPeerConnectionsTable);
+        this.tableConfigs.put(ReportType.DETACHED_PEER_CONNECTION, config.detachedPeerConnectionsTable);
+        this.tableConfigs.put(ReportType.INBOUND_RTP, config.inboundRTPSamplesTable);
+        this.tableConfigs.put(ReportType.REMOTE_INBOUND_RTP, config.remoteInboundRTPSamplesTable);
+        this.tableConfigs.put(ReportType.OUTBOUND_RTP, config.outboundRTPSamplesTable);
+        this.tableConfigs.put(ReportType.ICE_CANDIDATE_PAIR, config.iceCandidatePairsTable);
+        this.tableConfigs.put(ReportType.ICE_LOCAL_CANDIDATE, config.iceLocalCandidatesTable);
+        this.tableConfigs.put(ReportType.ICE_REMOTE_CANDIDATE, config.iceRemoteCandidatesTable);
+        this.tableConfigs.put(ReportType.MEDIA_SOURCE, config.mediaSourcesTable);
+        this.tableConfigs.put(ReportType.USER_MEDIA_ERROR, config.userMediaErrorsTable);
+        this.tableConfigs.put(ReportType.TRACK, config.trackReportsTable);
+        this.tableConfigs.put(ReportType.OBSERVER_EVENT, config.observerEventTable);
+        this.tableConfigs.put(ReportType.MEDIA_DEVICE, config.mediaDeviceTable);
+        this.tableConfigs.put(ReportType.CLIENT_DETAILS, config.clientDetailsTable);
+        this.tableConfigs.put(ReportType.EXTENSION, config.extensionTable);
+
+        SQLDialect dialect;
+        try {
+            dialect = SQLDialect.valueOf(config.SQLDialect);
+        } catch (Throwable t) {
+            logger.error("Cannot identify SQLDialect {}. Possible values are: {} and the config is case sensitive",
+                    config.SQLDialect, SQLDialect.values());
+            return null;
+        }
+
+        DatasourceProvider datasourceProvider = Application.context.createBean(DatasourceProvider.class);
+        var datasource = datasourceProvider.apply(config.datasource);
+        if (Objects.isNull(datasource)) {
+            logger.error("Cannot beam (up) datasource. JDBCSource cannot be built");
+            return null;
+        }
+        JOOQSchemaMapper jooqSchemaMapper;
+        Map<ReportType, Table<?>> fetchedTables;
+        try {
+            // the tables are only read, so they are fetched without checking or creating the schema
+            jooqSchemaMapper = this.makeSchemaMapperFor(dialect, config.database, datasource);
+            this.tableConfigs.entrySet()
+                    .forEach(entry -> jooqSchemaMapper.addTableConfig(entry.getKey(), entry.getValue()));
+            fetchedTables = jooqSchemaMapper.getTables();
+        } catch (Exception e) {
+            logger.error("Error occured while fetching the tables", e);
+            return null;
+        }
+        if (Objects.isNull(fetchedTables) || fetchedTables.isEmpty()) {
+            logger.warn("No tables were fetched");
+            return null;
+        }
+        Supplier<DSLContext> contextSupplier = () -> DSL.using(datasource, dialect);
+        JDBCSource result = new JDBCSource(datasource, contextSupplier)
+                .withParallelism(config.parallelism)
+                .withPageSize(config.pageSize)
+                .withFetchSize(config.fetchSize);
+        try {
+            this.tableConfigs.entrySet()
+                    .forEach(
+                            entry -> {
+                                ReportType reportType = entry.getKey();
+                                TableInfoConfig tableConfig = entry.getValue();
+                                Table<?> table = fetchedTables.get(reportType);
+                                if (Objects.isNull(table)) {
+                                    logger.warn("No table found for report type {}", reportType);
+                                    return;
+                                }
+                                if (Objects.isNull(tableConfig.autoIncrementPrimaryKeyName)) {
+                                    logger.warn("Table {} for report type {} has no auto increment primary key to be read by, it is skipped",
+                                            table.getName(), reportType);
+                                    return;
+                                }
+                                result.withRoute(
+                                        reportType,
+                                        table,
+                                        tableConfig.autoIncrementPrimaryKeyName,
+                                        jooqSchemaMapper.getSchema(reportType)
+                                );
+                            });
+        } catch (IllegalArgumentException ex) {
+            logger.error("Routes for JDBCSource cannot be built", ex);
+            return null;
+        }
+
+        return result;
+    }
+
+    private JOOQSchemaMapper makeSchemaMapperFor(SQLDialect dialect, String databaseName, DataSource dataSource) {
+        var context = DSL.using(dataSource, dialect);
+        switch (dialect) {
+            case MYSQL:
+                return new MYSQLSchemaMapper(() -> context, databaseName);
+            case POSTGRES:
+                return new PSQLSchemaMapper(() -> context);
+            default:
+                throw new RuntimeException("Schema Mapper is not implemented for SQL Dialect " + dialect.getName());
+        }
+    }
+
+    public static class Config {
+
+        public String database = null;
+
+        public String datasource = "default";
+
+        @NotNull
+        public String SQLDialect;
+
+        /**
+         * The number of key ranges every table is split into, and the number of ranges read at the same time
+         */
+        @Min(1)
+        public int parallelism = 4;
+
+        /**
+         * The number of rows a query reads after the last key read
+         */
+        @Min(1)
+        public int pageSize = 10000;
+
+        /**
+         * The number of rows the cursor of a query fetches at once
+         */
+        @Min(1)
+        public int fetchSize = 1000;
+
+        public TableInfoConfig initiatedCallsTable = TableInfoConfig.of(
+                "InitiatedCalls"
+        );
+
+        public TableInfoConfig finishedCallsTable = TableInfoConfig.of(
+                "FinishedCalls"
+        );
+
+        public TableInfoConfig joinedPeerConnectionsTable = TableInfoConfig.of(
+                "JoinedPeerConnections"
+        );
+
+        public TableInfoConfig detachedPeerConnectionsTable = TableInfoConfig.of(
+                "DetachedPeerConnections"
+        );
+
+        public TableInfoConfig remoteInboundRTPSamplesTable = TableInfoConfig.of(
+                "RemoteInboundRTPSamples"
+        );
+
+        public TableInfoConfig outboundRTPSamplesTable = TableInfoConfig.of(
+                "OutboundRTPSamples"
+        );
+
+        public TableInfoConfig inboundRTPSamplesTable = TableInfoConfig.of(
+                "InboundRTPSamples"
+        );
+
+        public TableInfoConfig iceCandidatePairsTable = TableInfoConfig.of(
+                "ICECandidatePairs"
+        );
+
+        public TableInfoConfig iceLocalCandidatesTable = TableInfoConfig.of(
+                "ICELocalCandidates"
+        );
+
+        public TableInfoConfig iceRemoteCandidatesTable = TableInfoConfig.of(
+                "ICERemoteCandidates"
+        );
+
+        public TableInfoConfig mediaSourcesTable = TableInfoConfig.of(
+                "MediaSources"
+        );
+
+        public TableInfoConfig trackReportsTable = TableInfoConfig.of(
+                "TrackReports"
+        );
+
+        public TableInfoConfig userMediaErrorsTable = TableInfoConfig.of(
+                "UserMediaErrors"
+        );
+
+        public TableInfoConfig observerEventTable = TableInfoConfig.of(
+                "ObserverEventReports"
+        );
+
+        public TableInfoConfig mediaDeviceTable = TableInfoConfig.of(
+                "MediaDevices"
+        );
+
+        public TableInfoConfig clientDetailsTable = TableInfoConfig.of(
+                "ClientDetails"
+        );
+
+        public TableInfoConfig extensionTable = TableInfoConfig.of(
+                "Extensions"
+        );
+
+    }
+}
@@ -0,0 +1,175 @@
+package org.observertc.webrtc.connector.sources.jdbc;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.specific.SpecificData;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.observertc.webrtc.schemas.reports.ReportType;
+
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Converts the rows of a table written by the JDBCSink back into reports.
+ *
+ * <p>The columns are matched with the fields of the report and its payload by their lowercase names, as the sink
+ * names them. The target and the converter of every column is resolved once, when the reader is made,
+ * so a row is converted by the positions of its columns. Columns not matching any field are not read.
+ *
+ * <p>The sink does not write the version and the service of the reports, the service is read only if the table
+ * has such columns, otherwise it gets the same default the BigQuery migration uses.
+ */
+class ReportRowReader {
+    static final int REPLAYED_REPORT_VERSION = 1;
+    static final String NOT_FOUND = "NOT FOUND";
+
+    private static final String TIMESTAMP_COLUMN = "timestamp";
+    private static final String MARKER_COLUMN = "marker";
+    private static final String SERVICE_UUID_COLUMN = "serviceuuid";
+    private static final String SERVICE_NAME_COLUMN = "servicename";
+
+    private final ReportType reportType;
+    private final Schema payloadSchema;
+    private final List<String> columns = new ArrayList<>();
+    // the position of the field in the payload every column is read into, or -1 for the fields of the report
+    private final List<Integer> payloadPositions = new ArrayList<>();
+    private final List<Function<Object, Object>> converters = new ArrayList<>();
+    private final Object[] payloadDefaults;
+    private final int timestampIndex;
+    private final int markerIndex;
+    private final int serviceUUIDIndex;
+    private final int serviceNameIndex;
+
+    /**
+     * @param tableColumns the names of the columns in the table
+     */
+    ReportRowReader(ReportType reportType, Schema payloadSchema, List<String> tableColumns) {
+        this.reportType = reportType;
+        this.payloadSchema = payloadSchema;
+        Map<String, String> tableColumnsByLowerCase = new HashMap<>();
+        for (String column : tableColumns) {
+            tableColumnsByLowerCase.put(column.toLowerCase(Locale.ROOT), column);
+        }
+        this.timestampIndex = this.addColumn(tableColumnsByLowerCase.get(TIMESTAMP_COLUMN), -1, value -> ((Number) value).longValue());
+        this.markerIndex = this.addColumn(tableColumnsByLowerCase.get(MARKER_COLUMN), -1, Object::toString);
+        this.serviceUUIDIndex = this.addColumn(tableColumnsByLowerCase.get(SERVICE_UUID_COLUMN), -1, Object::toString);
+        this.serviceNameIndex = this.addColumn(tableColumnsByLowerCase.get(SERVICE_NAME_COLUMN), -1, Object::toString);
+        List<Schema.Field> fields = payloadSchema.getFields();
+        this.payloadDefaults = new Object[fields.size()];
+        for (Schema.Field field : fields) {
+            String column = tableColumnsByLowerCase.get(field.name().toLowerCase(Locale.ROOT));
+            if (field.hasDefaultValue()) {
+                this.payloadDefaults[field.pos()] = SpecificData.get().getDefaultValue(field);
+            }
+            this.addColumn(column, field.pos(), makeConverter(field.schema()));
+        }
+    }
+
+    /**
+     * @return the names of the columns in the order {@link #read(Object[])} expects their values
+     */
+    List<String> getColumns() {
+        return this.columns;
+    }
+
+    Report read(ResultSet resultSet, Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = resultSet.getObject(i + 1);
+        }
+        return this.read(values);
+    }
+
+    /**
+     * @param values the values of the columns of a row, in the order of {@link #getColumns()}
+     */
+    Report read(Object[] values) {
+        IndexedRecord payload = (IndexedRecord) SpecificData.get().newRecord(null, this.payloadSchema);
+        for (int pos = 0; pos < this.payloadDefaults.length; ++pos) {
+            // the primitive fields of the payload cannot be set to null
+            if (Objects.nonNull(this.payloadDefaults[pos])) {
+                payload.put(pos, this.payloadDefaults[pos]);
+            }
+        }
+        for (int i = 0; i < values.length; ++i) {
+            int payloadPosition = this.payloadPositions.get(i);
+            if (payloadPosition < 0 || Objects.isNull(values[i])) {
+                continue;
+            }
+            payload.put(payloadPosition, this.converters.get(i).apply(values[i]));
+        }
+        String serviceUUID = (String) this.convert(values, this.serviceUUIDIndex);
+        Long timestamp = (Long) this.convert(values, this.timestampIndex);
+        return Report.newBuilder()
+                .setVersion(REPLAYED_REPORT_VERSION)
+                .setType(this.reportType)
+                .setServiceUUID(Objects.isNull(serviceUUID) ? NOT_FOUND : serviceUUID)
+                .setServiceName((String) this.convert(values, this.serviceNameIndex))
+                .setMarker((String) this.convert(values, this.markerIndex))
+                .setTimestamp(Objects.isNull(timestamp) ? 0L : timestamp)
+                .setPayload(payload)
+                .build();
+    }
+
+    private Object convert(Object[] values, int index) {
+        if (index < 0 || Objects.isNull(values[index])) {
+            return null;
+        }
+        return this.converters.get(index).apply(values[index]);
+    }
+
+    /**
+     * @return the index of the column, or -1 if the table does not have it
+     */
+    private int addColumn(String column, int payloadPosition, Function<Object, Object> converter) {
+        if (Objects.isNull(column) || this.columns.contains(column)) {
+            return -1;
+        }
+        this.columns.add(column);
+        this.payloadPositions.add(payloadPosition);
+        this.converters.add(converter);
+        return this.columns.size() - 1;
+    }
+
+    private static Function<Object, Object> makeConverter(Schema schema) {
+        switch (schema.getType()) {
+            case INT:
+                return value -> ((Number) value).intValue();
+            case LONG:
+                return value -> ((Number) value).longValue();
+            case FLOAT:
+                return value -> ((Number) value).floatValue();
+            case DOUBLE:
+                return value -> ((Number) value).doubleValue();
+            case BOOLEAN:
+                // MySQL has no boolean type, it gives the tinyint columns as numbers
+                return value -> value instanceof Number ? ((Number) value).intValue() != 0 : value;
+            case STRING:
+                return Object::toString;
+            case BYTES:
+                return value -> value instanceof byte[] ? ByteBuffer.wrap((byte[]) value) : value;
+            case ENUM:
+                Map<String, Object> symbols = new HashMap<>();
+                for (String symbol : schema.getEnumSymbols()) {
+                    symbols.put(symbol, SpecificData.get().createEnum(symbol, schema));
+                }
+                return value -> symbols.get(value.toString());
+            case UNION:
+                for (Schema type : schema.getTypes()) {
+                    if (type.getType() != Schema.Type.NULL) {
+                        return makeConverter(type);
+                    }
+                }
+                return value -> null;
+            default:
+                return value -> null;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package org.observertc.webrtc.connector.sources.kafka;
 
-import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Flowable;
 import org.apache.kafka.common.utils.Bytes;
 import org.observertc.webrtc.connector.sources.Source;
 import org.slf4j.Logger;
@@ -10,29 +10,113 @@ import reactor.kafka.receiver.KafkaReceiver;
 import reactor.kafka.receiver.ReceiverOptions;
 import reactor.kafka.receiver.ReceiverRecord;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.*;
 
 public class KafkaSource extends Source {
+    public enum CommitPolicy {
+        /**
+         * Offsets are acknowledged as soon as the records are received (at most once delivery)
+         */
+        ON_RECEIVE,
+        /**
+         * Offsets are acknowledged once the sink has written the batch contains the records (at least once delivery)
+         */
+        AFTER_SINK
+    }
+
     private final Properties properties;
+    private final OffsetTracker offsetTracker = new OffsetTracker();
     private String topic;
+    private CommitPolicy commitPolicy = CommitPolicy.ON_RECEIVE;
+    private Duration commitInterval = Duration.ofSeconds(5);
+    private int commitBatchSize = 0;
+    // the last emitted message and its partition, both are accessed only on the thread of the receiver
+    private byte[] lastMessage = null;
+    private int lastPartition = -1;
 
     public KafkaSource() {
         this.properties = new Properties();
     }
 
     @Override
-    protected Observable<byte[]> makeObservable() {
-        ReceiverOptions<UUID, Bytes> receiverOptions = ReceiverOptions.create(this.properties);
-        ReceiverOptions<UUID, Bytes> subscribedOptions = receiverOptions.subscription(Collections.singleton(this.topic));
-        Flux<ReceiverRecord<UUID, Bytes>> kafkaFlux = KafkaReceiver.create(subscribedOptions).receive();
-
-        return Observable.fromPublisher(kafkaFlux)
-            .map(record -> {
-                record.receiverOffset().acknowledge();
-                return record.value();
-            })
-            .filter(Objects::nonNull)
-            .map(Bytes::get);
+    protected Flowable<byte[]> makeFlowable() {
+        // the type of the values depends on the configured deserializer, byte arrays are emitted as they are
+        ReceiverOptions<Object, Object> receiverOptions = ReceiverOptions.create(this.properties);
+        ReceiverOptions<Object, Object> subscribedOptions = receiverOptions
+                .commitInterval(this.commitInterval)
+                .commitBatchSize(this.commitBatchSize)
+                .subscription(Collections.singleton(this.topic));
+        Flux<ReceiverRecord<Object, Object>> kafkaFlux = KafkaReceiver.create(subscribedOptions).receive();
+
+        // the receiver pauses the consumer when the pipeline does not request more records
+        boolean acknowledgeOnReceive = CommitPolicy.ON_RECEIVE.equals(this.commitPolicy);
+        return Flowable.fromPublisher(kafkaFlux)
+            .mapOptional(record -> {
+                byte[] message = toMessage(record.value());
+                if (acknowledgeOnReceive) {
+                    record.receiverOffset().acknowledge();
+                } else {
+                    this.offsetTracker.add(record.receiverOffset(), message);
+                }
+                this.lastMessage = message;
+                this.lastPartition = record.partition();
+                return Optional.ofNullable(message);
+            });
+    }
+
+    private static byte[] toMessage(Object value) {
+        if (Objects.isNull(value) || value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        if (value instanceof Bytes) {
+            return ((Bytes) value).get();
+        }
+        if (value instanceof ByteBuffer) {
+            ByteBuffer buffer = (ByteBuffer) value;
+            if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0 && buffer.remaining() == buffer.array().length) {
+                return buffer.array();
+            }
+            byte[] result = new byte[buffer.remaining()];
+            buffer.duplicate().get(result);
+            return result;
+        }
+        throw new IllegalStateException("KafkaSource cannot emit values of type " + value.getClass().getName()
+                + ", the value deserializer must produce byte[], Bytes, or ByteBuffer");
+    }
+
+    @Override
+    public int getPartition(byte[] message) {
+        if (message != this.lastMessage) {
+            return -1;
+        }
+        return this.lastPartition;
+    }
+
+    @Override
+    public boolean isAcknowledging() {
+        return CommitPolicy.AFTER_SINK.equals(this.commitPolicy);
+    }
+
+    @Override
+    public void acknowledge(List<byte[]> messages) {
+        this.offsetTracker.written(messages);
+    }
+
+    KafkaSource withCommitPolicy(CommitPolicy commitPolicy) {
+        this.commitPolicy = commitPolicy;
+        return this;
+    }
+
+    KafkaSource withCommitInterval(Duration commitInterval) {
+        this.commitInterval = commitInterval;
+        return this;
+    }
+
+    KafkaSource withCommitBatchSize(int commitBatchSize) {
+        this.commitBatchSize = commitBatchSize;
+        return this;
     }
 
     KafkaSource withProperty(String key, Object value) {
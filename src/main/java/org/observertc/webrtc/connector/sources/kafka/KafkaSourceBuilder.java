@@ -2,8 +2,7 @@ package org.observertc.webrtc.connector.sources.kafka;
 
 import io.micronaut.context.annotation.Prototype;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
-import org.apache.kafka.common.serialization.BytesDeserializer;
-import org.apache.kafka.common.serialization.UUIDDeserializer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.observertc.webrtc.connector.configbuilders.AbstractBuilder;
 import org.observertc.webrtc.connector.configbuilders.Builder;
 import org.observertc.webrtc.connector.configbuilders.ConfigConverter;
@@ -11,7 +10,9 @@ import org.observertc.webrtc.connector.sources.Source;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
@@ -30,7 +31,10 @@ public class KafkaSourceBuilder extends AbstractBuilder implements Builder<Sourc
         this.evaluateProperties(this.sourceName, flattenedProperties);
         flattenedProperties.entrySet().stream().forEach(entry -> result.withProperty(entry.getKey(), entry.getValue()));
 
-        result.forTopic(config.topic);
+        result.forTopic(config.topic)
+                .withCommitPolicy(config.commitPolicy)
+                .withCommitInterval(Duration.ofMillis(config.commitIntervalInMs))
+                .withCommitBatchSize(config.commitBatchSize);
         return result;
     }
 
@@ -45,8 +49,9 @@ public class KafkaSourceBuilder extends AbstractBuilder implements Builder<Sourc
         };
         check.accept(ConsumerConfig.CLIENT_ID_CONFIG, KafkaSource.class.getSimpleName() + new Random().nextInt(10000));
         check.accept(ConsumerConfig.GROUP_ID_CONFIG, KafkaSource.class.getSimpleName());
-        check.accept(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, UUIDDeserializer.class);
-        check.accept(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, BytesDeserializer.class);
+        // keys are not used, and values are passed to the decoder as they are received
+        check.accept(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        check.accept(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
         check.accept(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
     }
 
@@ -62,6 +67,21 @@ public class KafkaSourceBuilder extends AbstractBuilder implements Builder<Sourc
 
         @NotNull
         public String topic;
+
+        @NotNull
+        public KafkaSource.CommitPolicy commitPolicy = KafkaSource.CommitPolicy.ON_RECEIVE;
+
+        /**
+         * The period the acknowledged offsets are committed in
+         */
+        @Min(1)
+        public long commitIntervalInMs = 5000;
+
+        /**
+         * The number of acknowledged offsets triggers a commit before the interval elapses, 0 disables it
+         */
+        @Min(0)
+        public int commitBatchSize = 0;
     }
 
 }
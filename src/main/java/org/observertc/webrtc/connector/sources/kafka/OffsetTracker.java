@@ -0,0 +1,80 @@
+package org.observertc.webrtc.connector.sources.kafka;
+
+import org.apache.kafka.common.TopicPartition;
+import reactor.kafka.receiver.ReceiverOffset;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Tracks the offsets of the received records until their messages are written by the sink.
+ *
+ * <p>Lanes of a pipeline write the messages of a partition in a different order they have been received,
+ * and committing an offset commits all the previous ones of the partition as well. Hence an offset
+ * is acknowledged only if all the previous offsets of its partition have been written.
+ */
+class OffsetTracker {
+
+    private final Map<byte[], Entry> entries = new IdentityHashMap<>();
+    private final Map<TopicPartition, Deque<Entry>> partitions = new HashMap<>();
+
+    /**
+     * @param message the received message, or null if the record has no value, hence nothing is going to be written
+     */
+    synchronized void add(ReceiverOffset offset, byte[] message) {
+        Entry entry = new Entry(offset);
+        Deque<Entry> entries = this.partitions.computeIfAbsent(offset.topicPartition(), tp -> new ArrayDeque<>());
+        entries.addLast(entry);
+        if (Objects.isNull(message)) {
+            entry.written = true;
+            return;
+        }
+        this.entries.put(message, entry);
+    }
+
+    synchronized void written(List<byte[]> messages) {
+        Set<TopicPartition> touched = new HashSet<>();
+        for (byte[] message : messages) {
+            Entry entry = this.entries.remove(message);
+            if (Objects.isNull(entry)) {
+                continue;
+            }
+            entry.written = true;
+            touched.add(entry.offset.topicPartition());
+        }
+        for (TopicPartition topicPartition : touched) {
+            this.acknowledgeWrittenOffsets(this.partitions.get(topicPartition));
+        }
+    }
+
+    synchronized int size() {
+        return this.partitions.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    private void acknowledgeWrittenOffsets(Deque<Entry> entries) {
+        Entry last = null;
+        while (!entries.isEmpty() && entries.peekFirst().written) {
+            last = entries.pollFirst();
+        }
+        if (Objects.nonNull(last)) {
+            // the receiver commits the acknowledged offsets periodically, and the last one covers the previous ones
+            last.offset.acknowledge();
+        }
+    }
+
+    private static class Entry {
+        final ReceiverOffset offset;
+        boolean written = false;
+
+        Entry(ReceiverOffset offset) {
+            this.offset = offset;
+        }
+    }
+}
@@ -14,12 +14,39 @@ public class Filter extends Transformation {
     private static final Logger logger  = LoggerFactory.getLogger(Filter.class);
     private Predicate<Report> typeFilter = report -> true;
     private final List<Predicate<Report>> filters = new LinkedList<>();
+    private final List<Predicate<Report>> envelopeFilters = new LinkedList<>();
 
     Filter addPredicate(@NotNull Predicate<Report> predicate) {
         this.filters.add(predicate);
         return this;
     }
 
+    /**
+     * Adds a predicate testing only the fields of the report other than the payload.
+     * The decoder can evaluate these predicates before the payload is decoded, see {@link #testEnvelope(Report)}.
+     */
+    Filter addEnvelopePredicate(@NotNull Predicate<Report> predicate) {
+        this.envelopeFilters.add(predicate);
+        return this.addPredicate(predicate);
+    }
+
+    public boolean hasEnvelopePredicates() {
+        return !this.envelopeFilters.isEmpty();
+    }
+
+    /**
+     * @param envelope a report its payload is not decoded
+     * @return false if the filter drops the report regardless of its payload
+     */
+    public boolean testEnvelope(Report envelope) throws Throwable {
+        for (Predicate<Report> predicate : this.envelopeFilters) {
+            if (!predicate.test(envelope)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     protected Optional<Report> transform(Report report) throws Throwable {
         for (Predicate<Report> predicate : this.filters) {
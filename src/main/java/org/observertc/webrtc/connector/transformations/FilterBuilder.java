@@ -19,19 +19,23 @@ import java.util.regex.Pattern;
 public class FilterBuilder extends AbstractBuilder implements Builder<Transformation> {
     private static final Pattern TIME_REGEX_PATTERN = Pattern.compile("^from (\\d{4}-\\d{2}-\\d{2}) until (\\d{4}-\\d{2}-\\d{2})$");
     private static final Logger logger = LoggerFactory.getLogger(FilterBuilder.class);
+    private static final Predicate<Report> ALLOW_ALL = report -> true;
 
     @Override
     public Filter build() {
         Config config = this.convertAndValidate(Config.class);
         Filter result = new Filter();
 
+        // these predicates only test the envelope of the report, hence they can be evaluated before the payload is decoded
         Arrays.asList(
                 this.makeAllowanceFilter(Report::getType, str -> ReportType.valueOf(str), config.reportType),
                 this.makeAllowanceFilter(Report::getServiceName, Function.identity(), config.serviceName),
                 this.makeAllowanceFilter(Report::getServiceUUID, Function.identity(), config.serviceUUIDs),
                 this.makeAllowanceFilter(Report::getMarker, Function.identity(), config.marker),
                 this.makeTimeRangeAllowanceFilter(Report::getTimestamp, config.timestamps)
-        ).forEach(result::addPredicate);
+        ).stream()
+                .filter(predicate -> predicate != ALLOW_ALL)
+                .forEach(result::addEnvelopePredicate);
 
         if (!config.nullableCallNames) {
             ReportVisitor<Boolean> reportVisitor = this.makeNonNullCallNameFilter();
@@ -78,7 +82,7 @@ public class FilterBuilder extends AbstractBuilder implements Builder<Transforma
         java.util.function.Predicate<Long> includes = setup.apply(config.including);
         java.util.function.Predicate<Long> excludes = setup.apply(config.excluding);
         if (Objects.isNull(includes) && Objects.isNull(excludes)) {
-            return report -> true;
+            return ALLOW_ALL;
         }
 
         if (Objects.isNull(includes)) {
@@ -94,7 +98,7 @@ public class FilterBuilder extends AbstractBuilder implements Builder<Transforma
         Set<T> includes = this.collect(converter, config.including);
         Set<T> excludes = this.collect(converter, config.excluding);
         if (includes.size() < 1 && excludes.size() < 1) {
-            return report -> true;
+            return ALLOW_ALL;
         }
         if (includes.size() < 1){
             return this.makeAllowanceFilter(extractor, excludes::contains, null);
@@ -108,7 +112,7 @@ public class FilterBuilder extends AbstractBuilder implements Builder<Transforma
 
     private<T> Predicate<Report> makeAllowanceFilter(Function<Report, T> extractor, Function<T, Boolean> excMatcher, Function<T, Boolean> incMatcher) {
         if (Objects.isNull(excMatcher) && Objects.isNull(incMatcher)){
-            return report -> true;
+            return ALLOW_ALL;
         }
         if (Objects.isNull(excMatcher)){
             return report -> {
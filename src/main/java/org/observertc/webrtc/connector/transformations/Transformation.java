@@ -1,41 +1,67 @@
 package org.observertc.webrtc.connector.transformations;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
 import io.reactivex.rxjava3.annotations.NonNull;
-import io.reactivex.rxjava3.core.ObservableOperator;
-import io.reactivex.rxjava3.core.Observer;
-import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.core.FlowableOperator;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
 import io.reactivex.rxjava3.exceptions.ProtocolViolationException;
 import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import org.observertc.webrtc.connector.pipelines.PipelineMetrics;
 import org.observertc.webrtc.schemas.reports.Report;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
-public abstract class Transformation implements ObservableOperator<Report, Report> {
+public abstract class Transformation implements FlowableOperator<Report, Report> {
 
     private static final Logger logger = LoggerFactory.getLogger(Transformation.class);
+    private Counter passed;
+    private Counter dropped;
+    private Timer latency;
+
+    protected Transformation() {
+        this.withMetrics(PipelineMetrics.disabled());
+    }
+
+    /**
+     * Meters are tagged by the class name of the transformation, so transformations of the same type
+     * in a pipeline are measured together.
+     */
+    public Transformation withMetrics(PipelineMetrics metrics) {
+        String name = this.getClass().getSimpleName();
+        this.passed = metrics.makeTransformationCounter(name, true);
+        this.dropped = metrics.makeTransformationCounter(name, false);
+        this.latency = metrics.makeTransformationTimer(name);
+        return this;
+    }
 
     @Override
-    public @NonNull Observer<? super Report> apply(@NonNull Observer<? super Report> observer) throws Throwable {
-        final Observer<? super Report> downstream = observer;
+    public @NonNull Subscriber<? super Report> apply(@NonNull Subscriber<? super Report> subscriber) throws Throwable {
+        final Subscriber<? super Report> downstream = subscriber;
 
-        return new Observer<Report>() {
+        return new FlowableSubscriber<Report>() {
             private boolean done = false;
-            private Disposable upstream = null;
+            private Subscription upstream = null;
 
             @Override
-            public void onSubscribe(@NonNull Disposable d) {
+            public void onSubscribe(@NonNull Subscription s) {
                 if (Objects.nonNull(upstream)) {
+                    s.cancel();
                     RxJavaPlugins.onError(new ProtocolViolationException("Cannot have two upstream component"));
                     return;
                 }
-                if (Objects.isNull(d)) {
-                    logger.warn("Upstream is null {}", d);
+                if (Objects.isNull(s)) {
+                    logger.warn("Upstream is null {}", s);
                     return;
                 }
-                this.upstream = d;
+                this.upstream = s;
+                downstream.onSubscribe(s);
             }
 
             @Override
@@ -44,17 +70,22 @@ public abstract class Transformation implements ObservableOperator<Report, Repor
                     return;
                 }
                 Optional<Report> reportHolder;
+                long started = System.nanoTime();
                 try {
                     reportHolder = Transformation.this.transform(report);
                 } catch (Throwable t) {
-                    done = true;
                     this.onError(t);
                     return;
                 }
+                latency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
 
                 if (!reportHolder.isPresent()) {
+                    dropped.increment();
+                    // the filtered report was requested by the downstream, so we ask for another one
+                    upstream.request(1);
                     return;
                 }
+                passed.increment();
                 downstream.onNext(reportHolder.get());
             }
 
@@ -66,7 +97,7 @@ public abstract class Transformation implements ObservableOperator<Report, Repor
                 }
 
                 done = true;
-                upstream.dispose();
+                upstream.cancel();
                 downstream.onError(e);
             }
 
@@ -74,7 +105,6 @@ public abstract class Transformation implements ObservableOperator<Report, Repor
             public void onComplete() {
                 if (!done) {
                     done = true;
-                    upstream.dispose();
                     downstream.onComplete();
                 }
             }
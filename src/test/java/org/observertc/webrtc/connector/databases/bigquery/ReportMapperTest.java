@@ -85,4 +85,26 @@ class ReportMapperTest {
         Assertions.assertEquals(1, entry.size());
         Assertions.assertEquals(report.getVersion(), entry.get(myKey.toLowerCase()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldWriteColumnsInOrder() {
+        // Given
+        ReportMapper adapter = new ReportMapper();
+        ReportMapper embeddedReportMapper = new ReportMapper();
+        adapter.add("serviceUUID", Function.identity(), Function.identity());
+        adapter.add("payload", embeddedReportMapper);
+        embeddedReportMapper.add("callUUID", Function.identity(), Function.identity());
+        Report report = generator.initiatedCallReportSupplier().get();
+        Object[] row = new Object[2];
+
+        // When
+        int written = adapter.write(report, row, 0);
+
+        // Then
+        InitiatedCall initiatedCall = (InitiatedCall) report.getPayload();
+        Assertions.assertEquals(2, written);
+        Assertions.assertArrayEquals(new String[] { "serviceuuid", "calluuid" }, adapter.getColumnNames());
+        Assertions.assertEquals(report.getServiceUUID(), row[0]);
+        Assertions.assertEquals(initiatedCall.getCallUUID(), row[1]);
+    }
+}
@@ -0,0 +1,47 @@
+package org.observertc.webrtc.connector.deadletters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.observertc.webrtc.connector.decoders.AvroDecoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+class DeadLetterChannelTest {
+
+    @Test
+    public void shouldWriteUndecodableMessagesIntoFile(@TempDir Path directory) throws Exception {
+        // Given
+        byte[] message = new byte[]{1, 2, 3};
+        DeadLetterChannelBuilder builder = new DeadLetterChannelBuilder().withPipelineName("test");
+        builder.withConfiguration(Map.of(
+                "type", "FILE",
+                "path", directory.toString(),
+                "maxWaitingTimeInS", 0
+        ));
+        DeadLetterChannel deadLetters = builder.build();
+        AvroDecoder decoder = new AvroDecoder().withDeadLetters(deadLetters);
+
+        // When
+        Object decoded = decoder.decode(message);
+        deadLetters.close();
+
+        // Then
+        Assertions.assertNull(decoded);
+        List<Path> files = Files.list(directory).collect(Collectors.toList());
+        Assertions.assertEquals(1, files.size());
+        List<String> lines = Files.readAllLines(files.get(0));
+        Assertions.assertEquals(1, lines.size());
+        JsonNode deadLetter = new ObjectMapper().readTree(lines.get(0));
+        Assertions.assertEquals(DeadLetter.Stage.DECODER.name(), deadLetter.get("stage").asText());
+        Assertions.assertArrayEquals(message, Base64.getDecoder().decode(deadLetter.get("payload").asText()));
+        Assertions.assertFalse(deadLetter.get("error").asText().isEmpty());
+    }
+}
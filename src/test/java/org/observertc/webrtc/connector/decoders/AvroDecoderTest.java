@@ -1,12 +1,24 @@
 package org.observertc.webrtc.connector.decoders;
 
-import io.reactivex.rxjava3.core.Observable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.reactivex.rxjava3.core.Flowable;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.specific.SpecificData;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.connector.common.StringInterner;
+import org.observertc.webrtc.schemas.reports.JoinedPeerConnection;
 import org.observertc.webrtc.schemas.reports.Report;
 import org.observertc.webrtc.schemas.reports.ReportType;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -26,7 +38,7 @@ class AvroDecoderTest {
         byte[] bytes = report.toByteBuffer().array();
 
         // When
-        Observable.fromArray(bytes)
+        Flowable.fromArray(bytes)
                 .lift(new AvroDecoder())
                 .subscribe(decoded::set);
 
@@ -40,4 +52,92 @@ class AvroDecoderTest {
         Assertions.assertEquals(subject.getServiceUUID(), report.getServiceUUID());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldDecodeIntoTheReusedReport() throws IOException {
+        // Given
+        ReportGenerator generator = new ReportGenerator();
+        Report first = generator.initiatedCallReportSupplier().get();
+        Report second = generator.initiatedCallReportSupplier().get();
+        AvroDecoder decoder = new AvroDecoder();
+
+        // When
+        Report decodedFirst = decoder.decode(first.toByteBuffer().array());
+        String firstServiceUUID = decodedFirst.getServiceUUID();
+        Report decodedSecond = decoder.decode(second.toByteBuffer().array(), decodedFirst);
+
+        // Then
+        Assertions.assertEquals(first.getServiceUUID(), firstServiceUUID);
+        Assertions.assertSame(decodedFirst, decodedSecond);
+        Assertions.assertEquals(second, decodedSecond);
+    }
+
+    @Test
+    public void shouldDropReportsRejectedByTheEnvelopeFilter() throws IOException {
+        // Given
+        ReportGenerator generator = new ReportGenerator();
+        Report accepted = generator.initiatedCallReportSupplier().get();
+        Report rejected = generator.initiatedCallReportSupplier().get();
+        List<Report> envelopes = new ArrayList<>();
+        AvroDecoder decoder = new AvroDecoder().withEnvelopeFilter(envelope -> {
+            envelopes.add(Report.newBuilder(envelope).build());
+            return envelope.getServiceUUID().equals(accepted.getServiceUUID());
+        });
+
+        // When
+        Report decodedAccepted = decoder.decode(accepted.toByteBuffer().array());
+        Report decodedRejected = decoder.decode(rejected.toByteBuffer().array());
+
+        // Then
+        Assertions.assertEquals(accepted, decodedAccepted);
+        Assertions.assertNull(decodedRejected);
+        Assertions.assertEquals(2, envelopes.size());
+        Report envelope = envelopes.get(1);
+        Assertions.assertNull(envelope.getPayload());
+        Assertions.assertEquals(rejected.getServiceName(), envelope.getServiceName());
+        Assertions.assertEquals(rejected.getMarker(), envelope.getMarker());
+        Assertions.assertEquals(rejected.getTimestamp(), envelope.getTimestamp());
+        Assertions.assertEquals(rejected.getType(), envelope.getType());
+    }
+
+    @Test
+    public void shouldResolveReportsEncodedWithGivenWriterSchema() throws IOException {
+        // Given
+        Report report = new ReportGenerator().initiatedCallReportSupplier().get();
+        ObjectNode schemaJson = (ObjectNode) new ObjectMapper().readTree(Report.getClassSchema().toString());
+        ((ArrayNode) schemaJson.get("fields")).addObject()
+                .put("name", "observerVersion")
+                .put("type", "string");
+        Schema writerSchema = new Schema.Parser().parse(schemaJson.toString());
+        GenericData.Record record = new GenericData.Record(writerSchema);
+        Report.getClassSchema().getFields().forEach(field -> record.put(field.name(), report.get(field.pos())));
+        record.put("observerVersion", "2.0.0");
+        byte[] bytes = new BinaryMessageEncoder<GenericData.Record>(SpecificData.get(), writerSchema).encode(record).array();
+
+        // When
+        Report withoutWriterSchema = new AvroDecoder().decode(bytes);
+        Report withWriterSchema = new AvroDecoder().withWriterSchemas(List.of(writerSchema)).decode(bytes);
+
+        // Then
+        Assertions.assertNull(withoutWriterSchema);
+        Assertions.assertEquals(report, withWriterSchema);
+    }
+
+    @Test
+    public void shouldShareInternedStringsBetweenDecoders() throws IOException {
+        // Given
+        StringInterner stringInterner = new StringInterner(1024, 64);
+        Report report = new ReportGenerator().joinedPeerConnectionReportSupplier("callName").get();
+        byte[] bytes = report.toByteBuffer().array();
+
+        // When
+        Report first = new AvroDecoder().withStringInterner(stringInterner).decode(bytes);
+        Report second = new AvroDecoder().withStringInterner(stringInterner).decode(bytes);
+
+        // Then
+        Assertions.assertEquals(report, first);
+        Assertions.assertSame(first.getServiceName(), second.getServiceName());
+        Assertions.assertSame(first.getServiceUUID(), second.getServiceUUID());
+        Assertions.assertSame(((JoinedPeerConnection) first.getPayload()).getCallName(),
+                ((JoinedPeerConnection) second.getPayload()).getCallName());
+    }
+}
@@ -0,0 +1,35 @@
+package org.observertc.webrtc.connector.decoders;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.io.IOException;
+import java.util.Map;
+
+class DecoderBuilderTest {
+
+    @Test
+    public void shouldShareInternedStringsBetweenDecodersOfOneBuilder() throws IOException {
+        // Given
+        DecoderBuilder decoderBuilder = new DecoderBuilder();
+        decoderBuilder.withConfiguration(Map.of(
+                "type", AvroDecoder.class.getName(),
+                "config", Map.of("internedStrings", 1024)
+        ));
+        Report report = new ReportGenerator().joinedPeerConnectionReportSupplier("callName").get();
+        byte[] bytes = report.toByteBuffer().array();
+
+        // When
+        AvroDecoder firstLane = (AvroDecoder) decoderBuilder.build().get();
+        AvroDecoder secondLane = (AvroDecoder) decoderBuilder.build().get();
+        Report first = firstLane.decode(bytes);
+        Report second = secondLane.decode(bytes);
+
+        // Then
+        Assertions.assertNotSame(firstLane, secondLane);
+        Assertions.assertEquals(report, first);
+        Assertions.assertSame(first.getServiceName(), second.getServiceName());
+    }
+}
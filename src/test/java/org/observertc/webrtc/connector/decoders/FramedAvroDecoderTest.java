@@ -0,0 +1,151 @@
+package org.observertc.webrtc.connector.decoders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannelBuilder;
+import org.observertc.webrtc.connector.pipelines.PipelineMetrics;
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+class FramedAvroDecoderTest {
+
+    @Test
+    public void shouldDecodeGzippedLengthPrefixedReports() throws IOException {
+        // Given
+        List<Report> reports = this.makeReports();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            for (Report report : reports) {
+                byte[] frame = report.toByteBuffer().array();
+                output.writeInt(frame.length);
+                output.write(frame);
+            }
+        }
+
+        // When
+        List<Report> decoded = new FramedAvroDecoder().decode(bytes.toByteArray());
+
+        // Then
+        Assertions.assertEquals(reports, decoded);
+    }
+
+    @Test
+    public void shouldDecodeZstdCompressedContainer() throws IOException {
+        // Given
+        List<Report> reports = this.makeReports();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataFileWriter<Report> writer = new DataFileWriter<>(new SpecificDatumWriter<>(Report.class))) {
+            writer.setCodec(CodecFactory.zstandardCodec(3));
+            writer.create(Report.getClassSchema(), bytes);
+            for (Report report : reports) {
+                writer.append(report);
+            }
+        }
+
+        // When
+        List<Report> decoded = new FramedAvroDecoder().decode(bytes.toByteArray());
+
+        // Then
+        Assertions.assertEquals(reports, decoded);
+    }
+
+    @Test
+    public void shouldNotDecodeAnyReportOfMessageWithInvalidFrameLength() throws IOException {
+        // Given
+        List<Report> reports = this.makeReports();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            for (Report report : reports) {
+                byte[] frame = report.toByteBuffer().array();
+                output.writeInt(frame.length);
+                output.write(frame);
+            }
+            output.writeInt(Integer.MAX_VALUE - 8);
+            output.write(new byte[]{1, 2, 3});
+        }
+        MeterRegistry registry = new SimpleMeterRegistry();
+        FramedAvroDecoder decoder = new FramedAvroDecoder()
+                .withMaxFrameSize(Integer.MAX_VALUE)
+                .withMetrics(new PipelineMetrics(registry, "testPipeline"));
+
+        // When
+        List<Report> decoded = decoder.decode(bytes.toByteArray());
+
+        // Then
+        Assertions.assertTrue(decoded.isEmpty());
+        Assertions.assertEquals(1.0, registry.get("connector.decoder.failures").counter().count());
+    }
+
+    @Test
+    public void shouldSendMessageWithCorruptFrameToDeadLettersAsAWhole(@TempDir Path directory) throws IOException {
+        // Given
+        List<Report> reports = this.makeReports();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            for (int i = 0; i < reports.size(); ++i) {
+                byte[] frame = reports.get(i).toByteBuffer().array();
+                if (i == 1) {
+                    // the fingerprint of the middle frame refers to an unknown schema
+                    frame[2] ^= 0xFF;
+                }
+                output.writeInt(frame.length);
+                output.write(frame);
+            }
+        }
+        byte[] message = bytes.toByteArray();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        PipelineMetrics metrics = new PipelineMetrics(registry, "testPipeline");
+        DeadLetterChannelBuilder deadLetterChannelBuilder = new DeadLetterChannelBuilder().withMetrics(metrics);
+        deadLetterChannelBuilder.withConfiguration(Map.of("type", "FILE", "path", directory.toString()));
+        DeadLetterChannel deadLetters = deadLetterChannelBuilder.build();
+        FramedAvroDecoder decoder = new FramedAvroDecoder()
+                .withMetrics(metrics)
+                .withDeadLetters(deadLetters);
+
+        // When
+        List<Report> decoded = decoder.decode(message);
+        deadLetters.close();
+
+        // Then
+        Assertions.assertTrue(decoded.isEmpty());
+        Assertions.assertEquals(1.0, registry.get("connector.decoder.failures").counter().count());
+        List<String> lines = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                lines.addAll(Files.readAllLines(file));
+            }
+        }
+        Assertions.assertEquals(1, lines.size());
+        byte[] payload = new ObjectMapper().readTree(lines.get(0)).get("payload").binaryValue();
+        Assertions.assertArrayEquals(message, payload);
+    }
+
+    private List<Report> makeReports() {
+        ReportGenerator generator = new ReportGenerator();
+        return List.of(
+                generator.initiatedCallReportSupplier().get(),
+                generator.initiatedCallReportSupplier().get(),
+                generator.initiatedCallReportSupplier().get()
+        );
+    }
+}
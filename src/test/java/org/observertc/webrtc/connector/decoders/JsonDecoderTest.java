@@ -0,0 +1,54 @@
+package org.observertc.webrtc.connector.decoders;
+
+import org.apache.avro.generic.GenericData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class JsonDecoderTest {
+
+    @Test
+    public void shouldDecodeArrayOfReports() {
+        // Given
+        ReportGenerator generator = new ReportGenerator();
+        List<Report> reports = List.of(
+                generator.initiatedCallReportSupplier().get(),
+                generator.joinedPeerConnectionReportSupplier().get(),
+                generator.extensionStatReportSupplier("type", "payload").get()
+        );
+        String json = reports.stream()
+                .map(GenericData.get()::toString)
+                .collect(Collectors.joining(",", "[", "]"));
+
+        // When
+        List<Report> decoded = new JsonDecoder().decode(json.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        Assertions.assertEquals(reports, decoded);
+    }
+
+    @Test
+    public void shouldDecodePayloadPrecedingType() {
+        // Given
+        Report report = new ReportGenerator().finishedCallReportSupplier().get();
+        String json = "{\"payload\": " + GenericData.get().toString(report.getPayload()) +
+                ", \"version\": " + report.getVersion() +
+                ", \"serviceUUID\": \"" + report.getServiceUUID() + "\"" +
+                ", \"serviceName\": \"" + report.getServiceName() + "\"" +
+                ", \"marker\": " + (report.getMarker() == null ? "null" : "\"" + report.getMarker() + "\"") +
+                ", \"timestamp\": " + report.getTimestamp() +
+                ", \"unknown\": {\"field\": [1, 2]}" +
+                ", \"type\": \"" + report.getType() + "\"}";
+
+        // When
+        List<Report> decoded = new JsonDecoder().decode(json.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        Assertions.assertEquals(List.of(report), decoded);
+    }
+}
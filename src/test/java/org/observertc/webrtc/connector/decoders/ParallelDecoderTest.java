@@ -0,0 +1,86 @@
+package org.observertc.webrtc.connector.decoders;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+class ParallelDecoderTest {
+
+    @Test
+    public void shouldEmitReportsInTheOrderOfTheMessages() throws Exception {
+        // Given
+        ReportGenerator generator = new ReportGenerator();
+        List<Report> reports = new ArrayList<>();
+        List<byte[]> messages = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            Report report = generator.initiatedCallReportSupplier().get();
+            reports.add(report);
+            messages.add(report.toByteBuffer().array());
+            if (i % 100 == 0) {
+                messages.add(new byte[]{1, 2, 3});
+            }
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Scheduler scheduler = Schedulers.from(executor);
+        List<byte[]> tracked = new ArrayList<>();
+        ParallelDecoder decoder = new ParallelDecoder(AvroDecoder::new, 4, 16);
+
+        // When
+        List<Report> decoded = decoder
+                .decode(Flowable.fromIterable(messages).observeOn(scheduler), scheduler, tracked::add)
+                .toList()
+                .blockingGet();
+        executor.shutdown();
+
+        // Then
+        Assertions.assertEquals(reports, decoded);
+        Assertions.assertEquals(messages, tracked);
+    }
+
+    @Test
+    public void shouldDecodeMessagesOfLanesOnSharedPool() throws Exception {
+        // Given
+        ReportGenerator generator = new ReportGenerator();
+        List<Report> reports = new ArrayList<>();
+        List<byte[]> messages = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            Report report = generator.initiatedCallReportSupplier().get();
+            reports.add(report);
+            messages.add(report.toByteBuffer().array());
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        ExecutorService firstLane = Executors.newSingleThreadExecutor();
+        ExecutorService secondLane = Executors.newSingleThreadExecutor();
+        Scheduler firstScheduler = Schedulers.from(firstLane);
+        Scheduler secondScheduler = Schedulers.from(secondLane);
+        ParallelDecoder firstDecoder = new ParallelDecoder(AvroDecoder::new, 2, 16).withExecutor(pool);
+        ParallelDecoder secondDecoder = new ParallelDecoder(AvroDecoder::new, 2, 16).withExecutor(pool);
+
+        // When
+        Single<List<Report>> first = firstDecoder
+                .decode(Flowable.fromIterable(messages).observeOn(firstScheduler), firstScheduler, message -> {})
+                .toList();
+        Single<List<Report>> second = secondDecoder
+                .decode(Flowable.fromIterable(messages).observeOn(secondScheduler), secondScheduler, message -> {})
+                .toList();
+        List<List<Report>> decoded = Single.zip(first.subscribeOn(Schedulers.io()), second.subscribeOn(Schedulers.io()), List::of)
+                .blockingGet();
+        pool.shutdown();
+        firstLane.shutdown();
+        secondLane.shutdown();
+
+        // Then
+        Assertions.assertEquals(reports, decoded.get(0));
+        Assertions.assertEquals(reports, decoded.get(1));
+    }
+}
@@ -0,0 +1,80 @@
+package org.observertc.webrtc.connector.pipelines;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+class LaneRouterTest {
+
+    static ReportGenerator generator = new ReportGenerator();
+
+    @Test
+    public void shouldRouteSameServiceToSameLane() throws IOException {
+        // Given
+        LaneRouter router = new LaneRouter(4, ParallelismConfig.PartitionKey.SERVICE_UUID);
+        Report report = generator.initiatedCallReportSupplier().get();
+        Report sameService = Report.newBuilder(generator.finishedCallReportSupplier().get())
+                .setServiceUUID(report.getServiceUUID())
+                .build();
+
+        // When
+        int lane = router.applyAsInt(report.toByteBuffer().array());
+        int sameServiceLane = router.applyAsInt(sameService.toByteBuffer().array());
+
+        // Then
+        Assertions.assertEquals(lane, sameServiceLane);
+    }
+
+    @Test
+    public void shouldRouteRoundRobin() {
+        // Given
+        LaneRouter router = new LaneRouter(3, ParallelismConfig.PartitionKey.ROUND_ROBIN);
+        byte[] bytes = "notAnAvroReport".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        int first = router.applyAsInt(bytes);
+        int second = router.applyAsInt(bytes);
+        int third = router.applyAsInt(bytes);
+        int fourth = router.applyAsInt(bytes);
+
+        // Then
+        Assertions.assertEquals(0, first);
+        Assertions.assertEquals(1, second);
+        Assertions.assertEquals(2, third);
+        Assertions.assertEquals(0, fourth);
+    }
+
+    @Test
+    public void shouldRouteToTheOnlyLane() throws IOException {
+        // Given
+        LaneRouter router = new LaneRouter(1, ParallelismConfig.PartitionKey.SERVICE_UUID);
+        Report report = generator.initiatedCallReportSupplier().get();
+
+        // When
+        int lane = router.applyAsInt(report.toByteBuffer().array());
+
+        // Then
+        Assertions.assertEquals(0, lane);
+    }
+
+    @Test
+    public void shouldRouteBySourcePartition() {
+        // Given
+        byte[] first = "first".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "second".getBytes(StandardCharsets.UTF_8);
+        LaneRouter router = new LaneRouter(4, ParallelismConfig.PartitionKey.SOURCE_PARTITION)
+                .withSourcePartitions(bytes -> bytes == first ? 6 : 3);
+
+        // When
+        int firstLane = router.applyAsInt(first);
+        int secondLane = router.applyAsInt(second);
+
+        // Then
+        Assertions.assertEquals(2, firstLane);
+        Assertions.assertEquals(3, secondLane);
+    }
+}
@@ -0,0 +1,255 @@
+package org.observertc.webrtc.connector.pipelines;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.connector.decoders.AvroDecoder;
+import org.observertc.webrtc.connector.decoders.FramedAvroDecoder;
+import org.observertc.webrtc.connector.sinks.Sink;
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LaneTest {
+
+    static ReportGenerator generator = new ReportGenerator();
+
+    @Test
+    public void shouldNotRequestMoreThanMaxInFlightItemsWhileSinkIsBlocked() throws Exception {
+        // Given
+        byte[] bytes = generator.initiatedCallReportSupplier().get().toByteBuffer().array();
+        AtomicLong requested = new AtomicLong(0);
+        Flowable<byte[]> source = Flowable.range(0, 100000)
+                .map(i -> bytes)
+                .doOnRequest(requested::addAndGet);
+        CountDownLatch sinkCalled = new CountDownLatch(1);
+        CountDownLatch sinkReleased = new CountDownLatch(1);
+        Sink sink = new Sink() {
+            @Override
+            public void onNext(List<Report> reports) {
+                sinkCalled.countDown();
+                try {
+                    sinkReleased.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        BufferConfig bufferConfig = new BufferConfig();
+        bufferConfig.maxItems = 10;
+        bufferConfig.maxWaitingTimeInS = 0;
+        bufferConfig.maxInFlightItems = 100;
+        Lane lane = new Lane(0).withDecoder(new AvroDecoder()).withSink(sink);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ExecutorService sinkExecutor = Executors.newSingleThreadExecutor();
+
+        // When
+        lane.attach(source, Schedulers.from(executor), sinkExecutor, bufferConfig, PipelineMetrics.disabled(), () -> {});
+        sinkCalled.await(10, TimeUnit.SECONDS);
+        Thread.sleep(200);
+
+        // Then
+        Assertions.assertEquals(bufferConfig.maxInFlightItems, requested.get());
+        sinkReleased.countDown();
+        executor.shutdownNow();
+        sinkExecutor.shutdownNow();
+    }
+
+    @Test
+    public void shouldRecordMetricsOfTheStages() throws Exception {
+        // Given
+        byte[] bytes = generator.initiatedCallReportSupplier().get().toByteBuffer().array();
+        Flowable<byte[]> source = Flowable.fromArray(bytes, new byte[]{1, 2, 3}, bytes, bytes);
+        Sink sink = new Sink() {
+            @Override
+            public void onNext(List<Report> reports) {
+
+            }
+        };
+        BufferConfig bufferConfig = new BufferConfig();
+        bufferConfig.maxItems = 2;
+        bufferConfig.maxWaitingTimeInS = 0;
+        MeterRegistry registry = new SimpleMeterRegistry();
+        PipelineMetrics metrics = new PipelineMetrics(registry, "testPipeline");
+        Lane lane = new Lane(0).withDecoder(new AvroDecoder()).withSink(sink);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ExecutorService sinkExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch terminated = new CountDownLatch(1);
+
+        // When
+        lane.attach(source, Schedulers.from(executor), sinkExecutor, bufferConfig, metrics, terminated::countDown);
+        terminated.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        sinkExecutor.shutdown();
+        sinkExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        Assertions.assertEquals(1.0, registry.get("connector.decoder.failures").tag(PipelineMetrics.PIPELINE_TAG, "testPipeline").counter().count());
+        Assertions.assertEquals(1.0, registry.get("connector.buffer.flushes").tag(PipelineMetrics.REASON_TAG, PipelineMetrics.FLUSH_REASON_FULL).counter().count());
+        Assertions.assertEquals(1.0, registry.get("connector.buffer.flushes").tag(PipelineMetrics.REASON_TAG, PipelineMetrics.FLUSH_REASON_COMPLETED).counter().count());
+        Assertions.assertEquals(0.0, registry.get("connector.buffer.items").gauge().value());
+        Assertions.assertEquals(2, registry.get("connector.sink.batch.latency").timer().count());
+        Assertions.assertEquals(3.0, registry.get("connector.sink.rows").tag(PipelineMetrics.REPORT_TYPE_TAG, "INITIATED_CALL").counter().count());
+    }
+
+    @Test
+    public void shouldAcknowledgeMessagesAfterTheyAreWritten() throws Exception {
+        // Given
+        byte[] first = generator.initiatedCallReportSupplier().get().toByteBuffer().array();
+        byte[] invalid = new byte[]{1, 2, 3};
+        byte[] second = generator.finishedCallReportSupplier().get().toByteBuffer().array();
+        List<Integer> writtenBatchSizes = new CopyOnWriteArrayList<>();
+        List<List<byte[]>> acknowledged = new CopyOnWriteArrayList<>();
+        Sink sink = new Sink() {
+            @Override
+            public void onNext(List<Report> reports) {
+                writtenBatchSizes.add(reports.size());
+            }
+        };
+        BufferConfig bufferConfig = new BufferConfig();
+        bufferConfig.maxItems = 1;
+        bufferConfig.maxWaitingTimeInS = 0;
+        Lane lane = new Lane(0).withDecoder(new AvroDecoder()).withSink(sink).withAcknowledgement(acknowledged::add);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ExecutorService sinkExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch terminated = new CountDownLatch(1);
+
+        // When
+        lane.attach(Flowable.fromArray(first, invalid, second), Schedulers.from(executor), sinkExecutor, bufferConfig, PipelineMetrics.disabled(), terminated::countDown);
+        terminated.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        sinkExecutor.shutdown();
+        sinkExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        Assertions.assertEquals(List.of(1, 1), writtenBatchSizes);
+        Assertions.assertEquals(2, acknowledged.size());
+        Assertions.assertEquals(List.of(first), acknowledged.get(0));
+        Assertions.assertEquals(List.of(invalid, second), acknowledged.get(1));
+    }
+
+    @Test
+    public void shouldAcknowledgeMessageAfterAllOfItsReportsAreWritten() throws Exception {
+        // Given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            for (int i = 0; i < 5; ++i) {
+                byte[] frame = generator.initiatedCallReportSupplier().get().toByteBuffer().array();
+                output.writeInt(frame.length);
+                output.write(frame);
+            }
+        }
+        byte[] framed = bytes.toByteArray();
+        byte[] single = generator.finishedCallReportSupplier().get().toByteBuffer().array();
+        List<Integer> writtenBatchSizes = new CopyOnWriteArrayList<>();
+        List<List<byte[]>> acknowledged = new CopyOnWriteArrayList<>();
+        Sink sink = new Sink() {
+            @Override
+            public void onNext(List<Report> reports) {
+                writtenBatchSizes.add(reports.size());
+            }
+        };
+        BufferConfig bufferConfig = new BufferConfig();
+        bufferConfig.maxItems = 2;
+        bufferConfig.maxWaitingTimeInS = 0;
+        Lane lane = new Lane(0).withDecoder(new FramedAvroDecoder()).withSink(sink).withAcknowledgement(acknowledged::add);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ExecutorService sinkExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch terminated = new CountDownLatch(1);
+
+        // When
+        lane.attach(Flowable.fromArray(framed, single), Schedulers.from(executor), sinkExecutor, bufferConfig, PipelineMetrics.disabled(), terminated::countDown);
+        terminated.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        sinkExecutor.shutdown();
+        sinkExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        Assertions.assertEquals(List.of(2, 2, 2), writtenBatchSizes);
+        Assertions.assertEquals(3, acknowledged.size());
+        Assertions.assertTrue(acknowledged.get(0).isEmpty());
+        Assertions.assertTrue(acknowledged.get(1).isEmpty());
+        Assertions.assertEquals(List.of(framed, single), acknowledged.get(2));
+    }
+
+    @Test
+    public void shouldWriteReportsOfSourceWithoutDecoding() throws Exception {
+        // Given
+        List<Report> reports = List.of(
+                generator.initiatedCallReportSupplier().get(),
+                generator.finishedCallReportSupplier().get()
+        );
+        List<Report> written = new CopyOnWriteArrayList<>();
+        Sink sink = new Sink() {
+            @Override
+            public void onNext(List<Report> reports) {
+                written.addAll(reports);
+            }
+        };
+        BufferConfig bufferConfig = new BufferConfig();
+        bufferConfig.maxWaitingTimeInS = 0;
+        Lane lane = new Lane(0).withDecoder(new AvroDecoder()).withSink(sink);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ExecutorService sinkExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch terminated = new CountDownLatch(1);
+
+        // When
+        lane.attachReports(Flowable.fromIterable(reports), Schedulers.from(executor), sinkExecutor, bufferConfig, PipelineMetrics.disabled(), terminated::countDown);
+        terminated.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        sinkExecutor.shutdown();
+        sinkExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        Assertions.assertEquals(reports, written);
+        Assertions.assertSame(reports.get(0), written.get(0));
+    }
+
+    @Test
+    public void shouldAcknowledgeReportsOfSourceAfterTheyAreWritten() throws Exception {
+        // Given
+        List<Report> reports = List.of(
+                generator.initiatedCallReportSupplier().get(),
+                generator.finishedCallReportSupplier().get(),
+                generator.initiatedCallReportSupplier().get()
+        );
+        List<List<Report>> acknowledged = new CopyOnWriteArrayList<>();
+        Sink sink = new Sink() {
+            @Override
+            public void onNext(List<Report> reports) {
+
+            }
+        };
+        BufferConfig bufferConfig = new BufferConfig();
+        bufferConfig.maxItems = 2;
+        bufferConfig.maxWaitingTimeInS = 0;
+        Lane lane = new Lane(0).withDecoder(new AvroDecoder()).withSink(sink).withReportAcknowledgement(acknowledged::add);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ExecutorService sinkExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch terminated = new CountDownLatch(1);
+
+        // When
+        lane.attachReports(Flowable.fromIterable(reports), Schedulers.from(executor), sinkExecutor, bufferConfig, PipelineMetrics.disabled(), terminated::countDown);
+        terminated.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        sinkExecutor.shutdown();
+        sinkExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        Assertions.assertEquals(2, acknowledged.size());
+        Assertions.assertEquals(reports.subList(0, 2), acknowledged.get(0));
+        Assertions.assertEquals(reports.subList(2, 3), acknowledged.get(1));
+    }
+}
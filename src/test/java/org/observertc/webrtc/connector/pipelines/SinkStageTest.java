@@ -0,0 +1,116 @@
+package org.observertc.webrtc.connector.pipelines;
+
+import io.reactivex.rxjava3.core.Flowable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.connector.sinks.Sink;
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class SinkStageTest {
+
+    static ReportGenerator generator = new ReportGenerator();
+
+    @Test
+    public void shouldAcknowledgeBatchesInTheOrderTheyReceived() throws Exception {
+        // Given
+        List<Report> first = List.of(generator.initiatedCallReportSupplier().get());
+        List<Report> second = List.of(generator.finishedCallReportSupplier().get());
+        CountDownLatch firstReleased = new CountDownLatch(1);
+        CountDownLatch secondWritten = new CountDownLatch(1);
+        Sink sink = new Sink() {
+            @Override
+            public void onNext(List<Report> reports) {
+                if (reports == first) {
+                    try {
+                        firstReleased.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                } else {
+                    secondWritten.countDown();
+                }
+            }
+        }.withMaxInFlight(2);
+        List<List<Report>> acknowledged = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        SinkStage sinkStage = new SinkStage(sink, executor).withAcknowledgement(acknowledged::add);
+
+        // When
+        new Thread(() -> Flowable.fromArray(first, second).subscribe(sinkStage)).start();
+        secondWritten.await(10, TimeUnit.SECONDS);
+        int acknowledgedBeforeFirstWritten = acknowledged.size();
+        firstReleased.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        Assertions.assertEquals(0, acknowledgedBeforeFirstWritten);
+        Assertions.assertEquals(List.of(first, second), acknowledged);
+    }
+
+    @Test
+    public void shouldWaitForBatchesInFlightAfterTheSinkFailed() throws Exception {
+        // Given
+        List<Report> first = List.of(generator.initiatedCallReportSupplier().get());
+        List<Report> second = List.of(generator.finishedCallReportSupplier().get());
+        RuntimeException error = new RuntimeException("the first batch cannot be written");
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CountDownLatch sinkFailed = new CountDownLatch(1);
+        AtomicBoolean secondWritten = new AtomicBoolean(false);
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        Sink sink = new Sink() {
+            @Override
+            public void onNext(List<Report> reports) {
+                try {
+                    if (reports == first) {
+                        secondStarted.await();
+                        throw error;
+                    }
+                    secondStarted.countDown();
+                    sinkFailed.await();
+                    Thread.sleep(100);
+                    secondWritten.set(true);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                errors.add(e);
+                sinkFailed.countDown();
+                super.onError(e);
+            }
+        }.withMaxInFlight(2);
+        List<List<Report>> acknowledged = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        SinkStage sinkStage = new SinkStage(sink, executor).withAcknowledgement(acknowledged::add);
+        AtomicBoolean secondWrittenWhenCompleted = new AtomicBoolean(false);
+        CountDownLatch completed = new CountDownLatch(1);
+
+        // When
+        new Thread(() -> {
+            Flowable.fromArray(first, second).subscribe(sinkStage);
+            secondWrittenWhenCompleted.set(secondWritten.get());
+            completed.countDown();
+        }).start();
+        boolean completedInTime = completed.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        Assertions.assertTrue(completedInTime);
+        Assertions.assertTrue(secondWrittenWhenCompleted.get());
+        Assertions.assertEquals(List.of(error), errors);
+        Assertions.assertTrue(acknowledged.isEmpty());
+    }
+}
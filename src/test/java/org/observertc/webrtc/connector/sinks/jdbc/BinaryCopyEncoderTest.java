@@ -0,0 +1,53 @@
+package org.observertc.webrtc.connector.sinks.jdbc;
+
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class BinaryCopyEncoderTest {
+
+    @Test
+    public void shouldEncodeRow() throws IOException {
+        // Given
+        List<Field> fields = List.of(
+                DSL.field("timestamp", SQLDataType.BIGINT),
+                DSL.field("marker", SQLDataType.VARCHAR(255)),
+                DSL.field("bytessent", SQLDataType.INTEGER)
+        );
+        Object[] values = new Object[] { 42L, "ab", null };
+        BinaryCopyEncoder encoder = new BinaryCopyEncoder(fields);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+
+        // When
+        encoder.writeHeader(output);
+        encoder.writeRow(output, values);
+        encoder.writeTrailer(output);
+
+        // Then
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        byte[] signature = new byte[11];
+        buffer.get(signature);
+        Assertions.assertEquals("PGCOPY\n\377\r\n\0", new String(signature, StandardCharsets.ISO_8859_1));
+        Assertions.assertEquals(0, buffer.getInt());
+        Assertions.assertEquals(0, buffer.getInt());
+        Assertions.assertEquals(3, buffer.getShort());
+        Assertions.assertEquals(8, buffer.getInt());
+        Assertions.assertEquals(42L, buffer.getLong());
+        Assertions.assertEquals(2, buffer.getInt());
+        Assertions.assertEquals('a', buffer.get());
+        Assertions.assertEquals('b', buffer.get());
+        Assertions.assertEquals(-1, buffer.getInt());
+        Assertions.assertEquals(-1, buffer.getShort());
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+}
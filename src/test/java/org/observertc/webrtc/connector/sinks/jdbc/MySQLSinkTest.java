@@ -0,0 +1,154 @@
+package org.observertc.webrtc.connector.sinks.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannelBuilder;
+import org.observertc.webrtc.connector.pipelines.PipelineMetrics;
+import org.observertc.webrtc.connector.sinks.Sink;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+class MySQLSinkTest {
+
+    private static MySQLContainer<?> mysql;
+    private static HikariDataSource dataSource;
+
+    private final ReportGenerator reportGenerator = new ReportGenerator();
+
+    @BeforeAll
+    static void setup() {
+        Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+        mysql = new MySQLContainer<>(DockerImageName.parse("mysql:5.7"));
+        mysql.start();
+        dataSource = new HikariDataSourceBuilder()
+                .withURL(mysql.getJdbcUrl())
+                .withDriverClassName(mysql.getDriverClassName())
+                .withUsername(mysql.getUsername())
+                .withPassword(mysql.getPassword())
+                .build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        if (Objects.nonNull(dataSource)) {
+            dataSource.close();
+        }
+        if (Objects.nonNull(mysql)) {
+            mysql.stop();
+        }
+    }
+
+    @Test
+    public void shouldInsertInValuesMode() {
+        // Given
+        String tableName = "ValuesInitiatedCalls";
+        Sink sink = this.makeSink(JDBCSink.InsertMode.VALUES, tableName, DeadLetterChannel.disabled());
+
+        // When
+        sink.onNext(this.makeInitiatedCallReports(1, 10));
+        sink.onComplete();
+
+        // Then
+        Assertions.assertEquals(10, this.countRows(tableName));
+    }
+
+    @Test
+    public void shouldInsertInBatchMode() {
+        // Given
+        String tableName = "BatchInitiatedCalls";
+        Sink sink = this.makeSink(JDBCSink.InsertMode.BATCH, tableName, DeadLetterChannel.disabled());
+
+        // When
+        sink.onNext(this.makeInitiatedCallReports(1, 10));
+        sink.onNext(this.makeInitiatedCallReports(11, 10));
+        sink.onComplete();
+
+        // Then
+        Assertions.assertEquals(20, this.countRows(tableName));
+    }
+
+    @Test
+    public void shouldSendViolatingBatchToDeadLettersInBatchMode(@TempDir Path directory) {
+        // Given
+        String tableName = "RejectedBatchInitiatedCalls";
+        MeterRegistry registry = new SimpleMeterRegistry();
+        DeadLetterChannel deadLetters = this.makeDeadLetters(registry, directory);
+        Sink sink = this.makeSink(JDBCSink.InsertMode.BATCH, tableName, deadLetters);
+        List<Report> reports = this.makeInitiatedCallReports(1, 3);
+        List<Report> violatingReports = new ArrayList<>(this.makeInitiatedCallReports(4, 1));
+        violatingReports.add(reports.get(0));
+
+        // When
+        sink.onNext(reports);
+        sink.onNext(violatingReports);
+        sink.onNext(this.makeInitiatedCallReports(5, 1));
+        sink.onComplete();
+        deadLetters.close();
+
+        // Then
+        Assertions.assertEquals(4, this.countRows(tableName));
+        Assertions.assertEquals(2.0, registry.get("connector.deadletters").counter().count());
+    }
+
+    private Sink makeSink(JDBCSink.InsertMode insertMode, String initiatedCallsTableName, DeadLetterChannel deadLetters) {
+        // the timestamp is the primary key, so a report written twice violates the constraint
+        Map<String, Object> initiatedCallsTable = new HashMap<>();
+        initiatedCallsTable.put("tableName", initiatedCallsTableName);
+        initiatedCallsTable.put("autoIncrementPrimaryKeyName", null);
+        initiatedCallsTable.put("primaryKeyColumns", List.of("timestamp"));
+        Map<String, Object> config = Map.of(
+                "SQLDialect", SQLDialect.MYSQL.name(),
+                "database", mysql.getDatabaseName(),
+                "insertMode", insertMode.name(),
+                "initiatedCallsTable", initiatedCallsTable
+        );
+        JDBCSinkBuilder builder = new JDBCSinkBuilder().withDataSource(dataSource);
+        builder.withConfiguration(config);
+        Sink sink = builder.build();
+        Assertions.assertNotNull(sink);
+        return sink.withDeadLetters(deadLetters);
+    }
+
+    private DeadLetterChannel makeDeadLetters(MeterRegistry registry, Path directory) {
+        PipelineMetrics metrics = new PipelineMetrics(registry, "testPipeline");
+        DeadLetterChannelBuilder deadLetterChannelBuilder = new DeadLetterChannelBuilder().withMetrics(metrics);
+        deadLetterChannelBuilder.withConfiguration(Map.of("type", "FILE", "path", directory.toString()));
+        return deadLetterChannelBuilder.build();
+    }
+
+    private List<Report> makeInitiatedCallReports(long firstTimestamp, int count) {
+        Supplier<Report> reportSupplier = this.reportGenerator.initiatedCallReportSupplier();
+        return LongStream.range(firstTimestamp, firstTimestamp + count)
+                .mapToObj(timestamp -> Report.newBuilder(reportSupplier.get()).setTimestamp(timestamp).build())
+                .collect(Collectors.toList());
+    }
+
+    private int countRows(String tableName) {
+        DSLContext context = DSL.using(dataSource, SQLDialect.MYSQL);
+        return context.selectCount().from(DSL.table(DSL.name(tableName))).fetchOne(0, int.class);
+    }
+}
@@ -1,103 +1,213 @@
-//package org.observertc.webrtc.connector.sinks.jdbc;
-//
-//import io.micronaut.context.ApplicationContext;
-//import io.micronaut.context.annotation.Replaces;
-//import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
-//import org.jooq.SQLDialect;
-//import org.jooq.impl.DSL;
-//import org.junit.ClassRule;
-//import org.junit.Ignore;
-//import org.junit.jupiter.api.AfterAll;
-//import org.junit.jupiter.api.Assertions;
-//import org.junit.jupiter.api.BeforeAll;
-//import org.junit.jupiter.api.Test;
-//import org.junit.platform.commons.logging.Logger;
-//import org.junit.platform.commons.logging.LoggerFactory;
-//import org.observertc.webrtc.connector.Application;
-//import org.observertc.webrtc.connector.ReportGenerator;
-//import org.observertc.webrtc.connector.common.DatasourceProvider;
-//import org.observertc.webrtc.connector.sinks.Sink;
-//import org.testcontainers.containers.PostgreSQLContainer;
-//import org.testcontainers.utility.DockerImageName;
-//
-//import javax.annotation.PostConstruct;
-//import javax.inject.Inject;
-//import javax.inject.Singleton;
-//import javax.sql.DataSource;
-//import java.util.List;
-//import java.util.Map;
-//
-//@MicronautTest
-//public class PostgresSinkTest {
-//
-//    private static final Logger logger = LoggerFactory.getLogger(PostgresSinkTest.class);
-//
-//    @ClassRule
-//    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
-//
-//    private static DataSource dataSource;
-//
-//    @Inject
-//    ApplicationContext applicationContext;
-//
-//    @BeforeAll
-//    static void setup() {
-//        postgres.start();
-//        dataSource = new HikariDataSourceBuilder()
-//                .withURL(postgres.getJdbcUrl())
-//                .withDriverClassName(postgres.getDriverClassName())
-//                .withUsername(postgres.getUsername())
-//                .withPassword(postgres.getPassword())
-//                .build();
-//    }
-//
-//    @AfterAll
-//    static void teardown() {
-//        postgres.stop();
-//    }
-//
-//    @Inject
-//    ReportGenerator reportGenerator;
-//
-//    // TODO: fix it
-//    @Ignore
-//    @Test
-//    void shouldInsert_1() {
-//        Sink sink = this.makeJDBCSink();
-//        var reportSupplier = reportGenerator.initiatedCallReportSupplier("callName");
-//        var initiatedCallsTableName = new JDBCSinkBuilder.Config().initiatedCallsTable.tableName;
-//        var context = DSL.using(dataSource, SQLDialect.POSTGRES);
-//
-//        sink.onNext(List.of(reportSupplier.get()));
-//
-//        Assertions.assertEquals(1, context.selectCount().from(initiatedCallsTableName));
-//    }
-//
-//    @Replaces(DatasourceProvider.class)
-//    @Singleton
-//    public class MockedDatasourceProvider extends DatasourceProvider {
-//
-//        @PostConstruct
-//        void init() {
-//
-//        }
-//
-//        @Override
-//        public DataSource apply(String datasourceName) {
-//            return dataSource;
-//        }
-//    }
-//
-//    private Sink makeJDBCSink() {
-//        Application.context = applicationContext;
-//        var builder = new JDBCSinkBuilder();
-//        builder.withConfiguration(this.getConfig());
-//        return builder.build();
-//    }
-//
-//    private Map<String, Object> getConfig() {
-//        return Map.of(
-//                "SQLDialect", SQLDialect.POSTGRES.name()
-//        );
-//    }
-//}
+package org.observertc.webrtc.connector.sinks.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannel;
+import org.observertc.webrtc.connector.deadletters.DeadLetterChannelBuilder;
+import org.observertc.webrtc.connector.pipelines.PipelineMetrics;
+import org.observertc.webrtc.connector.sinks.Sink;
+import org.observertc.webrtc.schemas.reports.FinishedCall;
+import org.observertc.webrtc.schemas.reports.InitiatedCall;
+import org.observertc.webrtc.schemas.reports.MediaDevice;
+import org.observertc.webrtc.schemas.reports.MediaDeviceKind;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.observertc.webrtc.schemas.reports.ReportType;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+class PostgresSinkTest {
+
+    private static PostgreSQLContainer<?> postgres;
+    private static HikariDataSource dataSource;
+
+    private final ReportGenerator reportGenerator = new ReportGenerator();
+
+    @BeforeAll
+    static void setup() {
+        Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:13"));
+        postgres.start();
+        dataSource = new HikariDataSourceBuilder()
+                .withURL(postgres.getJdbcUrl())
+                .withDriverClassName(postgres.getDriverClassName())
+                .withUsername(postgres.getUsername())
+                .withPassword(postgres.getPassword())
+                .build();
+    }
+
+    @AfterAll
+    static void teardown() {
+        if (Objects.nonNull(dataSource)) {
+            dataSource.close();
+        }
+        if (Objects.nonNull(postgres)) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    public void shouldInsertInValuesMode() {
+        // Given
+        String tableName = "ValuesInitiatedCalls";
+        Sink sink = this.makeSink(JDBCSink.InsertMode.VALUES, tableName, DeadLetterChannel.disabled());
+
+        // When
+        sink.onNext(this.makeInitiatedCallReports(1, 10));
+        sink.onComplete();
+
+        // Then
+        Assertions.assertEquals(10, this.countRows(tableName));
+    }
+
+    @Test
+    public void shouldInsertInBatchMode() {
+        // Given
+        String tableName = "BatchInitiatedCalls";
+        Sink sink = this.makeSink(JDBCSink.InsertMode.BATCH, tableName, DeadLetterChannel.disabled());
+
+        // When
+        sink.onNext(this.makeInitiatedCallReports(1, 10));
+        sink.onNext(this.makeInitiatedCallReports(11, 10));
+        sink.onComplete();
+
+        // Then
+        Assertions.assertEquals(20, this.countRows(tableName));
+    }
+
+    @Test
+    public void shouldSendViolatingBatchToDeadLettersInBatchMode(@TempDir Path directory) {
+        // Given
+        String tableName = "RejectedBatchInitiatedCalls";
+        MeterRegistry registry = new SimpleMeterRegistry();
+        DeadLetterChannel deadLetters = this.makeDeadLetters(registry, directory);
+        Sink sink = this.makeSink(JDBCSink.InsertMode.BATCH, tableName, deadLetters);
+        List<Report> reports = this.makeInitiatedCallReports(1, 3);
+        List<Report> violatingReports = new ArrayList<>(this.makeInitiatedCallReports(4, 1));
+        violatingReports.add(reports.get(0));
+
+        // When
+        sink.onNext(reports);
+        sink.onNext(violatingReports);
+        sink.onNext(this.makeInitiatedCallReports(5, 1));
+        sink.onComplete();
+        deadLetters.close();
+
+        // Then
+        Assertions.assertEquals(4, this.countRows(tableName));
+        Assertions.assertEquals(2.0, registry.get("connector.deadletters").counter().count());
+    }
+
+    @Test
+    public void shouldCopyReportsOfSeveralTypes() {
+        // Given
+        String initiatedCallsTableName = "CopiedInitiatedCalls";
+        String finishedCallsTableName = "CopiedFinishedCalls";
+        String mediaDevicesTableName = "CopiedMediaDevices";
+        Sink sink = this.makeSink(JDBCSink.InsertMode.COPY, Map.of(
+                "initiatedCallsTable", makeTableConfig(initiatedCallsTableName),
+                "finishedCallsTable", makeTableConfig(finishedCallsTableName),
+                "mediaDeviceTable", makeTableConfig(mediaDevicesTableName)
+        ), DeadLetterChannel.disabled());
+        Report initiatedCall = this.makeInitiatedCallReports(1, 1).get(0);
+        Report finishedCall = Report.newBuilder(this.reportGenerator.finishedCallReportSupplier("callName", "callName", "callName").get())
+                .setTimestamp(2L)
+                .build();
+        MediaDevice mediaDevice = MediaDevice.newBuilder()
+                .setPeerConnectionUUID(UUID.randomUUID().toString())
+                .setDeviceId("deviceId")
+                .setKind(MediaDeviceKind.AUDIO_INPUT)
+                .build();
+        Report mediaDeviceReport = Report.newBuilder(initiatedCall)
+                .setType(ReportType.MEDIA_DEVICE)
+                .setTimestamp(3L)
+                .setPayload(mediaDevice)
+                .build();
+
+        // When
+        sink.onNext(List.of(initiatedCall, finishedCall, mediaDeviceReport));
+        sink.onComplete();
+
+        // Then
+        DSLContext context = DSL.using(dataSource, SQLDialect.POSTGRES);
+        Record initiatedCallRow = context.select().from(DSL.table(DSL.name(initiatedCallsTableName))).fetchOne();
+        Assertions.assertEquals(1L, initiatedCallRow.get("timestamp", Long.class));
+        Assertions.assertEquals("marker", initiatedCallRow.get("marker", String.class));
+        Assertions.assertEquals(((InitiatedCall) initiatedCall.getPayload()).getCallUUID(), initiatedCallRow.get("callUUID", String.class));
+        Assertions.assertNull(initiatedCallRow.get("callName"));
+        Record finishedCallRow = context.select().from(DSL.table(DSL.name(finishedCallsTableName))).fetchOne();
+        Assertions.assertEquals(((FinishedCall) finishedCall.getPayload()).getCallUUID(), finishedCallRow.get("callUUID", String.class));
+        Assertions.assertEquals("callName", finishedCallRow.get("callName", String.class));
+        Record mediaDeviceRow = context.select().from(DSL.table(DSL.name(mediaDevicesTableName))).fetchOne();
+        Assertions.assertEquals(mediaDevice.getPeerConnectionUUID(), mediaDeviceRow.get("peerConnectionUUID", String.class));
+        Assertions.assertEquals("deviceId", mediaDeviceRow.get("deviceId", String.class));
+        Assertions.assertEquals(MediaDeviceKind.AUDIO_INPUT.name(), mediaDeviceRow.get("kind", String.class));
+        Assertions.assertNull(mediaDeviceRow.get("label"));
+    }
+
+    private Sink makeSink(JDBCSink.InsertMode insertMode, String initiatedCallsTableName, DeadLetterChannel deadLetters) {
+        return this.makeSink(insertMode, Map.of("initiatedCallsTable", makeTableConfig(initiatedCallsTableName)), deadLetters);
+    }
+
+    private Sink makeSink(JDBCSink.InsertMode insertMode, Map<String, Object> tableConfigs, DeadLetterChannel deadLetters) {
+        Map<String, Object> config = new HashMap<>(tableConfigs);
+        config.put("SQLDialect", SQLDialect.POSTGRES.name());
+        config.put("insertMode", insertMode.name());
+        JDBCSinkBuilder builder = new JDBCSinkBuilder().withDataSource(dataSource);
+        builder.withConfiguration(config);
+        Sink sink = builder.build();
+        Assertions.assertNotNull(sink);
+        return sink.withDeadLetters(deadLetters);
+    }
+
+    private static Map<String, Object> makeTableConfig(String tableName) {
+        // the timestamp is the primary key, so a report written twice violates the constraint
+        Map<String, Object> result = new HashMap<>();
+        result.put("tableName", tableName);
+        result.put("autoIncrementPrimaryKeyName", null);
+        result.put("primaryKeyColumns", List.of("timestamp"));
+        return result;
+    }
+
+    private DeadLetterChannel makeDeadLetters(MeterRegistry registry, Path directory) {
+        PipelineMetrics metrics = new PipelineMetrics(registry, "testPipeline");
+        DeadLetterChannelBuilder deadLetterChannelBuilder = new DeadLetterChannelBuilder().withMetrics(metrics);
+        deadLetterChannelBuilder.withConfiguration(Map.of("type", "FILE", "path", directory.toString()));
+        return deadLetterChannelBuilder.build();
+    }
+
+    private List<Report> makeInitiatedCallReports(long firstTimestamp, int count) {
+        Supplier<Report> reportSupplier = this.reportGenerator.initiatedCallReportSupplier();
+        return LongStream.range(firstTimestamp, firstTimestamp + count)
+                .mapToObj(timestamp -> Report.newBuilder(reportSupplier.get()).setTimestamp(timestamp).build())
+                .collect(Collectors.toList());
+    }
+
+    private int countRows(String tableName) {
+        DSLContext context = DSL.using(dataSource, SQLDialect.POSTGRES);
+        return context.selectCount().from(DSL.table(DSL.name(tableName))).fetchOne(0, int.class);
+    }
+}
@@ -0,0 +1,89 @@
+package org.observertc.webrtc.connector.sources.bigquerysources;
+
+import com.google.cloud.bigquery.JobId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.schemas.reports.Report;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+class MigrationCheckpointsTest {
+
+    @Test
+    public void shouldResumeRangesFromTheirPersistedPages(@TempDir Path directory) throws IOException {
+        // Given
+        Path checkpointFile = directory.resolve("checkpoints.json");
+        MigrationCheckpoints checkpoints = MigrationCheckpoints.load(checkpointFile);
+        List<MigrationCheckpoints.Progress> planned = checkpoints.plan("project.dataset.table", List.of(new long[]{20, 30}, new long[]{10, 20}));
+
+        // When
+        checkpoints.progressed(planned.get(0), JobId.newBuilder().setJob("job").setLocation("EU").build(), "token");
+        checkpoints.completed(planned.get(1));
+        List<MigrationCheckpoints.Progress> resumed = MigrationCheckpoints.load(checkpointFile).getWorkers("project.dataset.table");
+
+        // Then
+        Assertions.assertEquals(2, resumed.size());
+        Assertions.assertEquals(10L, resumed.get(0).from);
+        Assertions.assertTrue(resumed.get(0).completed);
+        Assertions.assertEquals(20L, resumed.get(1).from);
+        Assertions.assertEquals(30L, resumed.get(1).to);
+        Assertions.assertFalse(resumed.get(1).completed);
+        Assertions.assertEquals("job", resumed.get(1).jobId);
+        Assertions.assertEquals("EU", resumed.get(1).jobLocation);
+        Assertions.assertEquals("token", resumed.get(1).pageToken);
+        Assertions.assertTrue(MigrationCheckpoints.load(checkpointFile).getWorkers("project.dataset.other").isEmpty());
+    }
+
+    @Test
+    public void shouldResumeFromFirstPageHavingReportsInFlight(@TempDir Path directory) throws IOException {
+        // Given
+        ReportGenerator generator = new ReportGenerator();
+        Report first = generator.initiatedCallReportSupplier().get();
+        Report second = generator.initiatedCallReportSupplier().get();
+        Report third = generator.initiatedCallReportSupplier().get();
+        Path checkpointFile = directory.resolve("checkpoints.json");
+        MigrationCheckpoints checkpoints = MigrationCheckpoints.load(checkpointFile);
+        MigrationCheckpoints.Progress worker = checkpoints.plan("project.dataset.table", Collections.singletonList(null)).get(0);
+
+        // When
+        checkpoints.emitted(worker, null, null, first);
+        checkpoints.emitted(worker, null, null, second);
+        checkpoints.emitted(worker, null, "token", third);
+        checkpoints.finished(worker);
+        checkpoints.written(List.of(first, third));
+        MigrationCheckpoints.Progress withSecondInFlight = MigrationCheckpoints.load(checkpointFile).getWorkers("project.dataset.table").get(0);
+        checkpoints.written(List.of(second));
+        MigrationCheckpoints.Progress withNothingInFlight = MigrationCheckpoints.load(checkpointFile).getWorkers("project.dataset.table").get(0);
+
+        // Then
+        Assertions.assertFalse(withSecondInFlight.completed);
+        Assertions.assertNull(withSecondInFlight.pageToken);
+        Assertions.assertTrue(withNothingInFlight.completed);
+    }
+
+    @Test
+    public void shouldMoveCheckpointToPageOnceReportsBeforeItAreWritten(@TempDir Path directory) throws IOException {
+        // Given
+        ReportGenerator generator = new ReportGenerator();
+        Report first = generator.initiatedCallReportSupplier().get();
+        Report second = generator.initiatedCallReportSupplier().get();
+        Path checkpointFile = directory.resolve("checkpoints.json");
+        MigrationCheckpoints checkpoints = MigrationCheckpoints.load(checkpointFile);
+        MigrationCheckpoints.Progress worker = checkpoints.plan("project.dataset.table", Collections.singletonList(null)).get(0);
+
+        // When
+        checkpoints.emitted(worker, null, null, first);
+        checkpoints.emitted(worker, null, "token", second);
+        checkpoints.written(List.of(first));
+        MigrationCheckpoints.Progress resumed = MigrationCheckpoints.load(checkpointFile).getWorkers("project.dataset.table").get(0);
+
+        // Then
+        Assertions.assertFalse(resumed.completed);
+        Assertions.assertEquals("token", resumed.pageToken);
+    }
+}
@@ -0,0 +1,69 @@
+package org.observertc.webrtc.connector.sources.file;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+class CheckpointsTest {
+
+    @Test
+    public void shouldPersistOffsetsWrittenContinuously(@TempDir Path directory) throws IOException {
+        // Given
+        Path checkpointFile = directory.resolve("checkpoints.json");
+        Path file = Files.createFile(directory.resolve("reports"));
+        Checkpoints checkpoints = Checkpoints.load(checkpointFile, Duration.ofHours(1));
+        byte[] first = new byte[]{1};
+        byte[] second = new byte[]{2};
+        byte[] third = new byte[]{3};
+        checkpoints.emitted(first, file, 10);
+        checkpoints.emitted(second, file, 20);
+        checkpoints.emitted(third, file, 30);
+        checkpoints.completed();
+
+        // When
+        checkpoints.written(List.of(second));
+        long offsetBeforeFirstWritten = Checkpoints.load(checkpointFile, Duration.ofHours(1)).get(file);
+        checkpoints.written(List.of(first));
+        long offsetBeforeThirdWritten = Checkpoints.load(checkpointFile, Duration.ofHours(1)).get(file);
+        checkpoints.written(List.of(third));
+        long offsetAfterAllWritten = Checkpoints.load(checkpointFile, Duration.ofHours(1)).get(file);
+
+        // Then
+        Assertions.assertEquals(0, offsetBeforeFirstWritten);
+        Assertions.assertEquals(0, offsetBeforeThirdWritten);
+        Assertions.assertEquals(30, offsetAfterAllWritten);
+        Assertions.assertEquals(30, checkpoints.get(file));
+    }
+
+    @Test
+    public void shouldPersistOffsetsOfExistingFilesOnlyOnTheInterval(@TempDir Path directory) throws IOException {
+        // Given
+        Path checkpointFile = directory.resolve("checkpoints.json");
+        Path existing = Files.writeString(directory.resolve("existing"), "existing");
+        Path deleted = Files.writeString(directory.resolve("deleted"), "deleted");
+        Checkpoints checkpoints = Checkpoints.load(checkpointFile, Duration.ofHours(1));
+        byte[] first = new byte[]{1};
+        byte[] second = new byte[]{2};
+        checkpoints.emitted(first, existing, 8);
+        checkpoints.emitted(second, deleted, 7);
+
+        // When
+        checkpoints.written(List.of(first, second));
+        boolean persistedWhenWritten = Files.exists(checkpointFile);
+        Files.delete(deleted);
+        checkpoints.persist();
+        Checkpoints persisted = Checkpoints.load(checkpointFile, Duration.ofHours(1));
+
+        // Then
+        Assertions.assertFalse(persistedWhenWritten);
+        Assertions.assertEquals(8, persisted.get(existing));
+        Assertions.assertEquals(0, persisted.get(deleted));
+        Assertions.assertEquals(0, checkpoints.get(deleted));
+    }
+}
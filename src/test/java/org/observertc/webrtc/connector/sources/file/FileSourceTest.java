@@ -2,18 +2,35 @@ package org.observertc.webrtc.connector.sources.file;
 
 
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.reactivex.rxjava3.disposables.Disposable;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.specific.SpecificDatumWriter;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.observertc.webrtc.connector.ReportGenerator;
+import org.observertc.webrtc.connector.decoders.AvroDecoder;
 import org.observertc.webrtc.connector.sources.Source;
+import org.observertc.webrtc.schemas.reports.Report;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @MicronautTest
 public class FileSourceTest {
@@ -38,6 +55,82 @@ public class FileSourceTest {
         Assert.assertEquals(writtenText, new String(lastReadBytes.get()));
     }
 
+    @Test
+    public void shouldSplitContainersOfSubdirectoriesReadInParallel() throws InterruptedException, IOException {
+        // Given
+        // not in the shared temporary folder, so the other tests do not read the containers
+        Path directory = Files.createTempDirectory("containers");
+        ReportGenerator generator = new ReportGenerator();
+        List<Report> reports = List.of(
+                generator.initiatedCallReportSupplier().get(),
+                generator.joinedPeerConnectionReportSupplier().get(),
+                generator.finishedCallReportSupplier().get()
+        );
+        this.writeContainer(Files.createDirectory(directory.resolve("first")).resolve("reports.avro"), reports.subList(0, 2));
+        this.writeContainer(Files.createDirectory(directory.resolve("second")).resolve("reports.avro"), reports.subList(2, 3));
+        Source source = new FileSource()
+                .setPath(directory.toString())
+                .setParallelism(2)
+                .setSplitContainers(true);
+        List<byte[]> messages = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        // When
+        source.subscribe(messages::add, error -> {}, completed::countDown);
+        source.run();
+        completed.await(10, TimeUnit.SECONDS);
+
+        // Then
+        AvroDecoder decoder = new AvroDecoder();
+        Set<Report> decoded = messages.stream().map(decoder::decode).collect(Collectors.toSet());
+        Assert.assertEquals(Set.copyOf(reports), decoded);
+        this.delete(directory);
+    }
+
+    @Test
+    public void shouldEmitWatchedFileOnceItIsNotModifiedForTheQuietPeriod() throws InterruptedException, IOException {
+        // Given
+        Path directory = Files.createTempDirectory("watched");
+        Path file = directory.resolve("message.json");
+        Files.writeString(file, "{\"first\": ");
+        Source source = new FileSource()
+                .setPath(directory.toString())
+                .setWatch(true)
+                .setQuietPeriodInS(1);
+        List<byte[]> messages = new CopyOnWriteArrayList<>();
+
+        // When
+        Disposable subscription = source.subscribe(messages::add);
+        source.run();
+        Thread.sleep(300);
+        Files.writeString(file, "\"second\"}", StandardOpenOption.APPEND);
+        Thread.sleep(3000);
+        subscription.dispose();
+
+        // Then
+        Assert.assertEquals(1, messages.size());
+        Assert.assertEquals("{\"first\": \"second\"}", new String(messages.get(0), StandardCharsets.UTF_8));
+        this.delete(directory);
+    }
+
+    private void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private void writeContainer(Path file, List<Report> reports) throws IOException {
+        try (DataFileWriter<Report> writer = new DataFileWriter<>(new SpecificDatumWriter<>(Report.class))) {
+            writer.setCodec(CodecFactory.deflateCodec(6));
+            writer.create(Report.getClassSchema(), file.toFile());
+            for (Report report : reports) {
+                writer.append(report);
+            }
+        }
+    }
+
     private String writeToFile(String text) throws IOException {
         File tempFile = Path.of(temporaryFolder.getPath(), "tempFile").toFile();
         byte data[] = text.getBytes(StandardCharsets.UTF_8);
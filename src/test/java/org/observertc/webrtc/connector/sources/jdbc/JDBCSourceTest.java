@@ -0,0 +1,110 @@
+package org.observertc.webrtc.connector.sources.jdbc;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertValuesStep4;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.observertc.webrtc.schemas.reports.InitiatedCall;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.observertc.webrtc.schemas.reports.ReportType;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+class JDBCSourceTest {
+
+    private static PostgreSQLContainer<?> postgres;
+    private static HikariDataSource dataSource;
+
+    @BeforeAll
+    static void setup() {
+        Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:13"));
+        postgres.start();
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(postgres.getJdbcUrl());
+        config.setDriverClassName(postgres.getDriverClassName());
+        config.setUsername(postgres.getUsername());
+        config.setPassword(postgres.getPassword());
+        dataSource = new HikariDataSource(config);
+    }
+
+    @AfterAll
+    static void teardown() {
+        if (Objects.nonNull(dataSource)) {
+            dataSource.close();
+        }
+        if (Objects.nonNull(postgres)) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    public void shouldReplayEveryRowExactlyOnce() {
+        // Given
+        String tableName = "ReplayedInitiatedCalls";
+        DSLContext context = DSL.using(dataSource, SQLDialect.POSTGRES);
+        context.createTable(tableName)
+                .column("recordid", SQLDataType.BIGINT.identity(true))
+                .column("timestamp", SQLDataType.BIGINT)
+                .column("marker", SQLDataType.VARCHAR(255))
+                .column("callUUID", SQLDataType.VARCHAR(255))
+                .column("callName", SQLDataType.VARCHAR(255).nullable(true))
+                .constraints(DSL.constraint("pk-" + tableName).primaryKey("recordid"))
+                .execute();
+        Table<Record> table = DSL.table(DSL.name(tableName));
+        Field<Long> key = DSL.field(DSL.name("recordid"), Long.class);
+        InsertValuesStep4<Record, Long, String, String, String> insert = context.insertInto(table,
+                DSL.field(DSL.name("timestamp"), Long.class),
+                DSL.field(DSL.name("marker"), String.class),
+                DSL.field(DSL.name("callUUID"), String.class),
+                DSL.field(DSL.name("callName"), String.class));
+        for (long timestamp = 1; timestamp <= 250; ++timestamp) {
+            insert.values(timestamp, "marker", UUID.randomUUID().toString(), null);
+        }
+        insert.execute();
+        // gaps in the keys
+        context.deleteFrom(table).where(key.mod(7L).eq(0L)).execute();
+        Set<String> expectedCallUUIDs = new HashSet<>(context.select(DSL.field(DSL.name("callUUID"), String.class))
+                .from(table)
+                .fetch()
+                .getValues(0, String.class));
+        Table<?> fetchedTable = context.meta().getTables().stream()
+                .filter(t -> t.getName().equals(tableName))
+                .findFirst()
+                .get();
+        JDBCSource source = new JDBCSource(dataSource, () -> DSL.using(dataSource, SQLDialect.POSTGRES))
+                .withParallelism(3)
+                .withPageSize(20)
+                .withFetchSize(7)
+                .withRoute(ReportType.INITIATED_CALL, fetchedTable, "recordid", InitiatedCall.getClassSchema());
+
+        // When
+        List<Report> reports = source.makeReports().toList().blockingGet();
+
+        // Then
+        List<String> replayedCallUUIDs = reports.stream()
+                .map(report -> ((InitiatedCall) report.getPayload()).getCallUUID())
+                .collect(Collectors.toList());
+        Assertions.assertEquals(expectedCallUUIDs.size(), replayedCallUUIDs.size());
+        Assertions.assertEquals(expectedCallUUIDs, new HashSet<>(replayedCallUUIDs));
+    }
+}
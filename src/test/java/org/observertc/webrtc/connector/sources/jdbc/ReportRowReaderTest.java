@@ -0,0 +1,46 @@
+package org.observertc.webrtc.connector.sources.jdbc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.observertc.webrtc.schemas.reports.InboundRTP;
+import org.observertc.webrtc.schemas.reports.MediaType;
+import org.observertc.webrtc.schemas.reports.Report;
+import org.observertc.webrtc.schemas.reports.ReportType;
+
+import java.util.List;
+
+class ReportRowReaderTest {
+
+    @Test
+    public void shouldMakeReportsFromTheColumnsOfTheRows() {
+        // Given
+        ReportRowReader reader = new ReportRowReader(ReportType.INBOUND_RTP, InboundRTP.getClassSchema(),
+                List.of("MEDIAUNITID", "timestamp", "ssrc", "packetsreceived", "mediatype", "isremote", "marker", "notafield"));
+        List<String> columns = reader.getColumns();
+        Object[] values = new Object[columns.size()];
+        values[columns.indexOf("timestamp")] = 1234L;
+        values[columns.indexOf("marker")] = "marker";
+        values[columns.indexOf("MEDIAUNITID")] = "mediaUnit";
+        values[columns.indexOf("ssrc")] = 42;
+        values[columns.indexOf("packetsreceived")] = 10L;
+        values[columns.indexOf("mediatype")] = "VIDEO";
+        values[columns.indexOf("isremote")] = 1;
+
+        // When
+        Report report = reader.read(values);
+
+        // Then
+        Assertions.assertFalse(columns.contains("notafield"));
+        Assertions.assertEquals(ReportType.INBOUND_RTP, report.getType());
+        Assertions.assertEquals(1234L, report.getTimestamp());
+        Assertions.assertEquals("marker", report.getMarker());
+        Assertions.assertEquals(ReportRowReader.NOT_FOUND, report.getServiceUUID());
+        InboundRTP payload = (InboundRTP) report.getPayload();
+        Assertions.assertEquals("mediaUnit", payload.getMediaUnitId());
+        Assertions.assertEquals(42L, payload.getSsrc());
+        Assertions.assertEquals(10, payload.getPacketsReceived());
+        Assertions.assertEquals(MediaType.VIDEO, payload.getMediaType());
+        Assertions.assertTrue(payload.getIsRemote());
+        Assertions.assertNull(payload.getBytesReceived());
+    }
+}
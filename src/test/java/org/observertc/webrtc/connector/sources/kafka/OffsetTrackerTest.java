@@ -0,0 +1,63 @@
+package org.observertc.webrtc.connector.sources.kafka;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.ReceiverOffset;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class OffsetTrackerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("reports", 0);
+
+    @Test
+    public void shouldAcknowledgeOnlyContinuouslyWrittenOffsets() {
+        // Given
+        List<Long> acknowledged = new CopyOnWriteArrayList<>();
+        OffsetTracker offsetTracker = new OffsetTracker();
+        byte[] first = new byte[]{1};
+        byte[] second = new byte[]{2};
+        byte[] third = new byte[]{3};
+        offsetTracker.add(this.makeOffset(0, acknowledged), first);
+        offsetTracker.add(this.makeOffset(1, acknowledged), second);
+        offsetTracker.add(this.makeOffset(2, acknowledged), null);
+        offsetTracker.add(this.makeOffset(3, acknowledged), third);
+
+        // When
+        offsetTracker.written(List.of(second, third));
+        int acknowledgedBeforeFirstWritten = acknowledged.size();
+        offsetTracker.written(List.of(first));
+
+        // Then
+        Assertions.assertEquals(0, acknowledgedBeforeFirstWritten);
+        Assertions.assertEquals(List.of(3L), acknowledged);
+        Assertions.assertEquals(0, offsetTracker.size());
+    }
+
+    private ReceiverOffset makeOffset(long offset, List<Long> acknowledged) {
+        return new ReceiverOffset() {
+            @Override
+            public TopicPartition topicPartition() {
+                return PARTITION;
+            }
+
+            @Override
+            public long offset() {
+                return offset;
+            }
+
+            @Override
+            public void acknowledge() {
+                acknowledged.add(offset);
+            }
+
+            @Override
+            public Mono<Void> commit() {
+                return Mono.empty();
+            }
+        };
+    }
+}
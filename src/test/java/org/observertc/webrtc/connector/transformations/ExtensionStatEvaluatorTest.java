@@ -1,6 +1,6 @@
 package org.observertc.webrtc.connector.transformations;
 
-import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Flowable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.observertc.webrtc.connector.ReportGenerator;
@@ -23,7 +23,7 @@ public class ExtensionStatEvaluatorTest {
         ExtensionStatEvaluator filter = new ExtensionStatEvaluator().withConfig(config);
 
         // When
-        Observable.fromArray(generator.extensionStatReportSupplier("type", "payload").get())
+        Flowable.fromArray(generator.extensionStatReportSupplier("type", "payload").get())
                 .lift(filter)
                 .subscribe(reports::add);
 
@@ -1,6 +1,6 @@
 package org.observertc.webrtc.connector.transformations;
 
-import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Flowable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.observertc.webrtc.connector.ReportGenerator;
@@ -29,7 +29,7 @@ class FilterBuilderTest {
         Filter filter = filterBuilder.build();
 
         // When
-        Observable.fromArray(generator.emptyReportSupplier(allowedType).get(),
+        Flowable.fromArray(generator.emptyReportSupplier(allowedType).get(),
                 generator.emptyReportSupplier(notAllowedType).get())
                 .lift(filter)
                 .subscribe(reports::add);
@@ -50,7 +50,7 @@ class FilterBuilderTest {
         Filter filter = filterBuilder.build();
 
         // When
-        Observable.fromArray(generator.emptyReportSupplier(allowedType).get(),
+        Flowable.fromArray(generator.emptyReportSupplier(allowedType).get(),
                 generator.emptyReportSupplier(notAllowedType).get())
                 .lift(filter)
                 .subscribe(reports::add);
@@ -75,7 +75,7 @@ class FilterBuilderTest {
         Filter filter = filterBuilder.build();
 
         // When
-        Observable.fromArray(generator.emptyReportWithTimestamp(ReportType.INITIATED_CALL, excludedTimestamp).get(),
+        Flowable.fromArray(generator.emptyReportWithTimestamp(ReportType.INITIATED_CALL, excludedTimestamp).get(),
                 generator.emptyReportWithTimestamp(ReportType.INITIATED_CALL, notExcludedTimestamp).get(),
                 generator.emptyReportWithTimestamp(ReportType.INITIATED_CALL, excludedTimestamp2).get(),
                 generator.emptyReportWithTimestamp(ReportType.INITIATED_CALL, notExcludedTimestamp2).get())
@@ -103,7 +103,7 @@ class FilterBuilderTest {
         Filter filter = filterBuilder.build();
 
         // When
-        Observable.fromArray(generator.emptyReportWithTimestamp(ReportType.INITIATED_CALL, includedTimestamp).get(),
+        Flowable.fromArray(generator.emptyReportWithTimestamp(ReportType.INITIATED_CALL, includedTimestamp).get(),
                 generator.emptyReportWithTimestamp(ReportType.INITIATED_CALL, notIncludedTimestamp).get(),
                 generator.emptyReportWithTimestamp(ReportType.INITIATED_CALL, includedTimestamp2).get(),
                 generator.emptyReportWithTimestamp(ReportType.INITIATED_CALL, notIncludedTimestamp2).get())
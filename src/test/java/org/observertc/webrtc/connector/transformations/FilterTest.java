@@ -1,6 +1,6 @@
 package org.observertc.webrtc.connector.transformations;
 
-import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Flowable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.observertc.webrtc.connector.ReportGenerator;
@@ -23,7 +23,7 @@ public class FilterTest {
         Filter filter = new Filter().addPredicate(report -> report.getType().equals(allowedType));
 
         // When
-        Observable.fromArray(generator.emptyReportSupplier(allowedType).get(),
+        Flowable.fromArray(generator.emptyReportSupplier(allowedType).get(),
                 generator.emptyReportSupplier(notAllowedType).get())
                 .lift(filter)
                 .subscribe(reports::add);